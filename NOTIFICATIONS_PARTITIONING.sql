@@ -0,0 +1,195 @@
+-- ============================================
+-- PARTITIONING NOTIFICATIONS & KOMPRESI ARSIP
+-- ============================================
+-- Dijalankan sekali oleh DBA setelah aplikasi membuat tabel
+-- notifications dan notifications_archive (ddl-auto).
+--
+-- 1. notifications dipartisi per bulan berdasarkan created_at.
+--    NotificationArchiver memindahkan baris lama ke arsip per
+--    batch; bulan yang sudah kosong di-MERGE tanpa memindahkan
+--    data (operasi metadata saja). Partisi tidak di-SWITCH keluar
+--    karena index per user sengaja tidak aligned (lihat bawah).
+-- 2. notifications_archive dikompresi PAGE (jarang dibaca,
+--    teks notifikasi berulang sehingga rasio kompresi tinggi).
+-- 3. Procedure usp_notifications_maintain_partitions menjaga
+--    sliding window: menyiapkan partisi bulan depan dan
+--    menggabungkan partisi lama yang sudah kosong.
+--    Jadwalkan bulanan lewat SQL Server Agent.
+--
+-- Index per user (user_id, id) dipakai untuk cursor pagination
+-- dan tetap non-aligned di [PRIMARY]: query per user cukup satu
+-- seek, bukan satu seek per partisi. Konsekuensinya SWITCH /
+-- TRUNCATE PARTITION tidak bisa dipakai, tetapi MERGE partisi
+-- kosong tetap metadata saja.
+-- ============================================
+
+USE loanova_db;
+GO
+
+-- ============================================
+-- 1. PARTITION FUNCTION & SCHEME (per bulan)
+-- ============================================
+IF NOT EXISTS (SELECT * FROM sys.partition_functions WHERE name = 'pf_notifications_month')
+BEGIN
+    DECLARE @first DATE = DATEFROMPARTS(YEAR(DATEADD(MONTH, -24, GETDATE())),
+                                        MONTH(DATEADD(MONTH, -24, GETDATE())), 1);
+    DECLARE @boundaries NVARCHAR(MAX) = N'';
+    DECLARE @i INT = 0;
+
+    -- 24 bulan ke belakang sampai 3 bulan ke depan
+    WHILE @i <= 27
+    BEGIN
+        SET @boundaries = @boundaries
+            + CASE WHEN @i = 0 THEN N'' ELSE N', ' END
+            + N'''' + CONVERT(NVARCHAR(10), DATEADD(MONTH, @i, @first), 23) + N'''';
+        SET @i = @i + 1;
+    END
+
+    EXEC (N'CREATE PARTITION FUNCTION pf_notifications_month (DATETIME2(6)) '
+        + N'AS RANGE RIGHT FOR VALUES (' + @boundaries + N')');
+    PRINT 'Partition function pf_notifications_month created';
+END
+GO
+
+IF NOT EXISTS (SELECT * FROM sys.partition_schemes WHERE name = 'ps_notifications_month')
+BEGIN
+    CREATE PARTITION SCHEME ps_notifications_month
+        AS PARTITION pf_notifications_month ALL TO ([PRIMARY]);
+    PRINT 'Partition scheme ps_notifications_month created';
+END
+GO
+
+-- ============================================
+-- 2. PARTISI TABEL NOTIFICATIONS
+-- ============================================
+-- Primary key (id) dari Hibernate diganti menjadi
+-- (id, created_at) agar aligned; id tetap unik karena IDENTITY.
+IF NOT EXISTS (
+    SELECT * FROM sys.indexes
+    WHERE object_id = OBJECT_ID('notifications') AND name = 'cix_notifications_created_at'
+)
+BEGIN
+    DECLARE @pk SYSNAME = (
+        SELECT name FROM sys.key_constraints
+        WHERE parent_object_id = OBJECT_ID('notifications') AND type = 'PK'
+    );
+    IF @pk IS NOT NULL
+        EXEC (N'ALTER TABLE notifications DROP CONSTRAINT ' + @pk);
+
+    CREATE CLUSTERED INDEX cix_notifications_created_at
+        ON notifications (created_at, id)
+        ON ps_notifications_month (created_at);
+
+    ALTER TABLE notifications
+        ADD CONSTRAINT pk_notifications PRIMARY KEY NONCLUSTERED (id, created_at)
+        ON ps_notifications_month (created_at);
+
+    -- Non-aligned: cursor per user tetap satu seek
+    CREATE INDEX idx_notifications_user_id
+        ON notifications (user_id, id)
+        WITH (DROP_EXISTING = ON)
+        ON [PRIMARY];
+
+    CREATE INDEX idx_notifications_user_unread
+        ON notifications (user_id, is_read)
+        WITH (DROP_EXISTING = ON)
+        ON ps_notifications_month (created_at);
+
+    CREATE INDEX idx_notifications_read_created
+        ON notifications (is_read, created_at)
+        WITH (DROP_EXISTING = ON)
+        ON ps_notifications_month (created_at);
+
+    PRINT 'Table notifications partitioned by month';
+END
+ELSE
+BEGIN
+    PRINT 'Table notifications already partitioned';
+END
+GO
+
+-- ============================================
+-- 3. KOMPRESI TABEL ARSIP
+-- ============================================
+IF EXISTS (
+    SELECT * FROM sys.partitions p
+    WHERE p.object_id = OBJECT_ID('notifications_archive')
+    AND p.data_compression_desc <> 'PAGE'
+)
+BEGIN
+    ALTER INDEX ALL ON notifications_archive REBUILD WITH (DATA_COMPRESSION = PAGE);
+    PRINT 'Table notifications_archive compressed (PAGE)';
+END
+GO
+
+-- ============================================
+-- 4. SLIDING WINDOW
+-- ============================================
+CREATE OR ALTER PROCEDURE usp_notifications_maintain_partitions
+    @months_ahead INT = 3
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    -- Siapkan partisi bulan depan (SPLIT partisi kosong = metadata saja)
+    DECLARE @next DATE = DATEFROMPARTS(YEAR(GETDATE()), MONTH(GETDATE()), 1);
+    DECLARE @last DATE = DATEADD(MONTH, @months_ahead, @next);
+    WHILE @next <= @last
+    BEGIN
+        IF NOT EXISTS (
+            SELECT * FROM sys.partition_range_values v
+            JOIN sys.partition_functions f ON f.function_id = v.function_id
+            WHERE f.name = 'pf_notifications_month' AND CAST(v.value AS DATE) = @next
+        )
+        BEGIN
+            ALTER PARTITION SCHEME ps_notifications_month NEXT USED [PRIMARY];
+            ALTER PARTITION FUNCTION pf_notifications_month() SPLIT RANGE (@next);
+            PRINT 'Boundary added: ' + CONVERT(VARCHAR(10), @next, 23);
+        END
+        SET @next = DATEADD(MONTH, 1, @next);
+    END
+
+    -- Gabungkan boundary paling lama selama dua partisi pertama kosong
+    -- (semua notifikasinya sudah dipindah ke arsip)
+    DECLARE @oldest SQL_VARIANT;
+    WHILE 1 = 1
+    BEGIN
+        SELECT TOP 1 @oldest = v.value
+        FROM sys.partition_range_values v
+        JOIN sys.partition_functions f ON f.function_id = v.function_id
+        WHERE f.name = 'pf_notifications_month'
+        ORDER BY v.boundary_id;
+
+        IF @oldest IS NULL
+            OR CAST(@oldest AS DATE) >= DATEADD(MONTH, -1, CAST(GETDATE() AS DATE))
+            OR EXISTS (
+                SELECT * FROM sys.partitions p
+                WHERE p.object_id = OBJECT_ID('notifications')
+                AND p.index_id = 1
+                AND p.partition_number IN (1, 2)
+                AND p.rows > 0
+            )
+            BREAK;
+
+        DECLARE @oldestBoundary DATETIME2(6) = CAST(@oldest AS DATETIME2(6));
+        ALTER PARTITION FUNCTION pf_notifications_month() MERGE RANGE (@oldestBoundary);
+        PRINT 'Boundary merged: ' + CONVERT(VARCHAR(10), CAST(@oldest AS DATE), 23);
+        SET @oldest = NULL;
+    END
+END
+GO
+
+-- Verifikasi jumlah baris per partisi
+SELECT
+    p.partition_number,
+    v.value AS lower_boundary,
+    p.rows
+FROM sys.partitions p
+JOIN sys.indexes i ON i.object_id = p.object_id AND i.index_id = p.index_id
+LEFT JOIN sys.partition_range_values v
+    ON v.function_id = (SELECT function_id FROM sys.partition_functions
+                        WHERE name = 'pf_notifications_month')
+    AND v.boundary_id = p.partition_number - 1
+WHERE p.object_id = OBJECT_ID('notifications') AND i.index_id = 1
+ORDER BY p.partition_number;
+GO
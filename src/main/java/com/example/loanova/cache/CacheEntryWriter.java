@@ -0,0 +1,140 @@
+package com.example.loanova.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * CACHE ENTRY WRITER - Update cache per key setelah commit, pengganti {@code allEntries = true}.
+ *
+ * <p>Setiap data referensi punya dua cache: item per id (mis. {@code branch::5}) dan satu entry
+ * list dari method {@code @Cacheable} tanpa parameter (key {@link SimpleKey#EMPTY}). Saat write,
+ * item di-put/evict langsung, sedangkan list di-evict (tidak di-read-modify-write, karena writer
+ * yang commit berurutan bisa membaca list lama dari L1 dan saling menimpa). Evict (list maupun
+ * key lewat {@link #evict(String, Collection)}) dilakukan dua kali: segera setelah commit, lalu
+ * sekali lagi setelah jeda singkat untuk membuang nilai yang sempat dimuat ulang dari snapshot
+ * database sebelum commit (delayed double delete).
+ *
+ * <p>Semua perubahan dijalankan setelah transaksi commit agar cache tidak pernah berisi data yang
+ * kemudian di-rollback.
+ */
+@Slf4j
+public class CacheEntryWriter {
+
+  private static final Object LIST_KEY = SimpleKey.EMPTY;
+
+  private final CacheManager cacheManager;
+  private final Duration secondEvictDelay;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "cache-second-evict");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public CacheEntryWriter(CacheManager cacheManager, Duration secondEvictDelay) {
+    this.cacheManager = cacheManager;
+    this.secondEvictDelay = secondEvictDelay;
+  }
+
+  /** Put item ke cache per-id dan evict list agar dimuat ulang dengan elemen terbaru. */
+  public void upsert(String itemCache, String listCache, Long id, Object item) {
+    afterCommit(
+        () -> {
+          cache(itemCache).put(id, item);
+          evictListTwice(listCache);
+        });
+  }
+
+  /**
+   * Put item ke cache per-id saja, list tidak disentuh. Untuk write bervolume tinggi yang tidak
+   * perlu langsung terlihat di list (mis. registrasi customer); list menyusul saat TTL-nya habis.
+   */
+  public void put(String itemCache, Long id, Object item) {
+    afterCommit(() -> cache(itemCache).put(id, item));
+  }
+
+  /** Evict item per-id dan list-nya (mis. setelah soft delete). */
+  public void remove(String itemCache, String listCache, Long id) {
+    afterCommit(
+        () -> {
+          cache(itemCache).evict(id);
+          evictListTwice(listCache);
+        });
+  }
+
+  /**
+   * Evict beberapa key tertentu setelah commit, diulang sekali setelah jeda (sama seperti list)
+   * agar nilai yang dimuat dari snapshot sebelum commit tidak tertahan sampai TTL.
+   */
+  public void evict(String cacheName, Collection<?> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    List<?> snapshot = List.copyOf(keys);
+    afterCommit(() -> evictTwice(cache(cacheName), snapshot));
+  }
+
+  /** Evict entry list setelah commit (untuk perubahan yang menyentuh banyak elemen). */
+  public void evictList(String listCache) {
+    afterCommit(() -> evictListTwice(listCache));
+  }
+
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void evictListTwice(String listCache) {
+    evictTwice(cache(listCache), List.of(LIST_KEY));
+  }
+
+  private void evictTwice(Cache cache, List<?> keys) {
+    keys.forEach(cache::evict);
+    scheduler.schedule(
+        () -> runQuietly(() -> keys.forEach(cache::evict)),
+        secondEvictDelay.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private Cache cache(String name) {
+    Cache cache = cacheManager.getCache(name);
+    if (cache == null) {
+      throw new IllegalStateException("Cache tidak tersedia: " + name);
+    }
+    return cache;
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              runQuietly(action);
+            }
+          });
+    } else {
+      runQuietly(action);
+    }
+  }
+
+  // Data sudah commit: gagal update cache tidak boleh menggagalkan request, entry lama tetap
+  // kadaluarsa lewat TTL
+  private static void runQuietly(Runnable action) {
+    try {
+      action.run();
+    } catch (RuntimeException e) {
+      log.warn("Gagal memperbarui cache setelah commit: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.loanova.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * CACHE INVALIDATION BUS - Broadcast invalidasi L1 antar node lewat Redis pub/sub.
+ *
+ * <p>Format pesan: {@code <nodeId>|<cacheName>|<key>} untuk evict satu key, atau {@code
+ * <nodeId>|<cacheName>|} (key kosong) untuk clear. Pesan dari node sendiri diabaikan karena L1
+ * lokal sudah diperbarui sebelum publish. Selain cache Spring, bus ini juga dipakai untuk
+ * invalidasi Hibernate second-level cache (lihat {@link EntityCacheCoordinator}); tiap handler
+ * mengabaikan nama cache yang bukan miliknya.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+  public static final String CHANNEL = "cache:invalidation";
+
+  private final StringRedisTemplate redisTemplate;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final List<Consumer<Invalidation>> handlers = new CopyOnWriteArrayList<>();
+
+  public CacheInvalidationBus(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  void onInvalidation(Consumer<Invalidation> handler) {
+    handlers.add(handler);
+  }
+
+  public void publishEvict(String cacheName, String key) {
+    publish(cacheName + "|" + key);
+  }
+
+  public void publishClear(String cacheName) {
+    publish(cacheName + "|");
+  }
+
+  private void publish(String payload) {
+    try {
+      redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + payload);
+    } catch (RuntimeException e) {
+      // L1 node lain tetap kadaluarsa sendiri lewat TTL pendek
+      log.warn("Gagal broadcast invalidasi cache: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    String[] parts = body.split("\\|", 3);
+    if (parts.length < 3 || parts[0].equals(nodeId)) {
+      return;
+    }
+    Invalidation invalidation = new Invalidation(parts[1], parts[2].isEmpty() ? null : parts[2]);
+    handlers.forEach(handler -> handler.accept(invalidation));
+  }
+
+  /** Satu pesan invalidasi; key null berarti seluruh cache. */
+  record Invalidation(String cacheName, String key) {}
+}
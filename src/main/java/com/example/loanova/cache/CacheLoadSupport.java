@@ -0,0 +1,133 @@
+package com.example.loanova.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * CACHE LOAD SUPPORT - Utilitas bersama untuk proteksi stampede pada TwoLevelCache: lock Redis
+ * singkat per key (single-flight level cluster), pembacaan sisa TTL entry L2, dan worker pool
+ * kecil untuk refresh di background.
+ */
+@Slf4j
+public class CacheLoadSupport {
+
+  private static final String LOCK_PREFIX = "cache_lock:";
+
+  // Hapus lock hanya jika masih milik pemanggil (lock bisa sudah kadaluarsa & diambil node lain)
+  private static final DefaultRedisScript<Long> UNLOCK_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('del', KEYS[1]) else return 0 end",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final Duration lockTtl;
+  private final Duration lockWait;
+  private final double beta;
+  private final ExecutorService refreshExecutor;
+
+  public CacheLoadSupport(
+      StringRedisTemplate redisTemplate,
+      Duration lockTtl,
+      Duration lockWait,
+      double beta,
+      int refreshThreads) {
+    this.redisTemplate = redisTemplate;
+    this.lockTtl = lockTtl;
+    this.lockWait = lockWait;
+    this.beta = beta;
+
+    AtomicInteger threadCount = new AtomicInteger();
+    this.refreshExecutor =
+        new ThreadPoolExecutor(
+            refreshThreads,
+            refreshThreads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(1000),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  /** Coba ambil lock loader untuk satu key; return token pemilik atau null jika gagal. */
+  String tryLock(String cacheName, String key) {
+    String token = UUID.randomUUID().toString();
+    try {
+      Boolean acquired =
+          redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, lockTtl);
+      return Boolean.TRUE.equals(acquired) ? token : null;
+    } catch (RuntimeException e) {
+      // Redis bermasalah: jangan blokir loader, cukup andalkan single-flight lokal
+      log.warn("Gagal mengambil lock cache {}::{}: {}", cacheName, key, e.getMessage());
+      return token;
+    }
+  }
+
+  void unlock(String cacheName, String key, String token) {
+    releaseLock(redisTemplate, lockKey(cacheName, key), token);
+  }
+
+  /**
+   * Lepas lock Redis hanya jika masih dipegang {@code owner}, atomik lewat satu script. Dipakai
+   * juga oleh job terjadwal; get lalu delete terpisah bisa menghapus lock instance lain jika TTL
+   * habis di antaranya. Gagal melepas cukup dicatat, lock kadaluarsa sendiri lewat TTL.
+   */
+  public static void releaseLock(StringRedisTemplate redisTemplate, String lockKey, String owner) {
+    try {
+      redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), owner);
+    } catch (RuntimeException e) {
+      log.warn("Gagal melepas lock {}: {}", lockKey, e.getMessage());
+    }
+  }
+
+  /** Sisa TTL key Redis dalam ms; -1 jika tanpa expiry, -2 jika key tidak ada / gagal dibaca. */
+  long remainingTtlMillis(String redisKey) {
+    try {
+      Long ttl = redisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+      return ttl == null ? -2 : ttl;
+    } catch (RuntimeException e) {
+      return -2;
+    }
+  }
+
+  /**
+   * XFetch (probabilistic early expiration): makin dekat ke expiry dan makin mahal loader-nya
+   * (delta), makin besar peluang refresh lebih awal. Refresh antar request/node jadi tersebar
+   * sehingga tidak semua miss bersamaan saat TTL habis.
+   */
+  boolean shouldRefreshEarly(long nowMillis, long deltaMillis, long expiresAtMillis) {
+    double gap = -deltaMillis * beta * Math.log(Math.random());
+    return nowMillis + gap >= expiresAtMillis;
+  }
+
+  /** Batas tunggu node yang kalah lock sebelum memuat sendiri. */
+  Duration lockWait() {
+    return lockWait;
+  }
+
+  void submitRefresh(Runnable task) {
+    refreshExecutor.execute(task);
+  }
+
+  public void shutdown() {
+    refreshExecutor.shutdown();
+  }
+
+  private static String lockKey(String cacheName, String key) {
+    return LOCK_PREFIX + cacheName + "::" + key;
+  }
+}
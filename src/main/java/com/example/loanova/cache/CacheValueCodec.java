@@ -0,0 +1,37 @@
+package com.example.loanova.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * CACHE VALUE CODEC - Encoding value cache di Redis. JSON tetap bisa dibaca lewat redis-cli,
+ * sedangkan CBOR/SMILE lebih ringkas dan lebih cepat di-parse.
+ */
+public enum CacheValueCodec {
+  JSON,
+  CBOR,
+  SMILE;
+
+  /**
+   * ObjectMapper tanpa default typing: tipe value sudah diketahui per cache sehingga tidak perlu
+   * menyimpan {@code @class} di setiap objek/elemen list.
+   */
+  public ObjectMapper objectMapper() {
+    ObjectMapper mapper =
+        switch (this) {
+          case JSON -> new ObjectMapper();
+          case CBOR -> new CBORMapper();
+          case SMILE -> new SmileMapper();
+        };
+    mapper.registerModule(new JavaTimeModule());
+    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    mapper.setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
+    return mapper;
+  }
+}
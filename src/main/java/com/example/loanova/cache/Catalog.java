@@ -0,0 +1,22 @@
+package com.example.loanova.cache;
+
+/**
+ * CATALOG - Data referensi yang di-versioning untuk HTTP conditional request (ETag/Last-Modified).
+ * Setiap write ke salah satu catalog menaikkan versinya lewat {@link CatalogVersions}.
+ */
+public enum Catalog {
+  PLAFONDS("plafonds"),
+  BRANCHES("branches"),
+  ROLES("roles"),
+  PERMISSIONS("permissions");
+
+  private final String key;
+
+  Catalog(String key) {
+    this.key = key;
+  }
+
+  public String key() {
+    return key;
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.loanova.cache;
+
+import com.example.loanova.cache.CatalogVersions.CatalogVersion;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * CATALOG RESPONSE CACHE - Cache in-process berisi byte JSON final (dan versi gzip-nya) untuk
+ * endpoint catalog publik, per versi catalog.
+ *
+ * <p>Selama versi catalog sama, request hanya menyalin byte yang sudah jadi ke output stream: tanpa
+ * deserialisasi dari Redis, tanpa membungkus ApiResponse, tanpa serialisasi ulang, dan tanpa gzip
+ * ulang. Byte dibangun ulang sekali ketika versi berubah (satu thread per catalog, request lain
+ * menunggu hasil yang sama). Timestamp di ApiResponse adalah waktu snapshot dibangun.
+ */
+public class CatalogResponseCache {
+
+  private final JsonMapper jsonMapper;
+  private final int gzipMinBytes;
+  private final Map<Catalog, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<Catalog, Object> locks = new ConcurrentHashMap<>();
+
+  public CatalogResponseCache(JsonMapper jsonMapper, int gzipMinBytes) {
+    this.jsonMapper = jsonMapper;
+    this.gzipMinBytes = gzipMinBytes;
+  }
+
+  /**
+   * Ambil byte response untuk versi catalog ini, bangun dari {@code body} jika belum ada. Versi null
+   * (Redis tidak tersedia) berarti byte dibangun tanpa disimpan.
+   */
+  public Entry get(Catalog catalog, CatalogVersion version, Supplier<?> body) {
+    if (version == null) {
+      return build(null, body.get());
+    }
+    Entry entry = entries.get(catalog);
+    if (entry != null && entry.etag().equals(version.etag())) {
+      return entry;
+    }
+    synchronized (locks.computeIfAbsent(catalog, key -> new Object())) {
+      entry = entries.get(catalog);
+      if (entry == null || !entry.etag().equals(version.etag())) {
+        entry = build(version.etag(), body.get());
+        entries.put(catalog, entry);
+      }
+      return entry;
+    }
+  }
+
+  /** Cek header Accept-Encoding; {@code gzip;q=0} dianggap menolak gzip. */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String token : acceptEncoding.split(",")) {
+      String[] parts = token.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  private Entry build(String etag, Object body) {
+    byte[] json = jsonMapper.writeValueAsBytes(body);
+    return new Entry(etag, json, json.length >= gzipMinBytes ? gzip(json) : null);
+  }
+
+  private static byte[] gzip(byte[] content) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+      gzip.write(content);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * Response siap kirim untuk satu versi catalog.
+   *
+   * @param gzip Versi gzip dari {@code json}, null jika payload terlalu kecil untuk dikompres
+   */
+  public record Entry(String etag, byte[] json, byte[] gzip) {}
+}
@@ -0,0 +1,136 @@
+package com.example.loanova.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * CATALOG VERSIONS - Counter versi per catalog di Redis ({@code catalog_version:<catalog>}, hash
+ * field {@code version} dan {@code modified}) sebagai dasar ETag dan Last-Modified.
+ *
+ * <p>Versi dinaikkan setelah commit setiap write ke catalog, bukan dihitung dari hash body, jadi
+ * request yang catalog-nya tidak berubah bisa dijawab 304 tanpa menyentuh service, cache, maupun
+ * database. Versi terakhir juga disimpan lokal selama {@code localTtl} dan diperbarui lewat
+ * {@link CacheInvalidationBus} ketika node lain menaikkan versi.
+ */
+@Slf4j
+@SuppressWarnings("rawtypes")
+public class CatalogVersions {
+
+  static final String CACHE_NAME = "catalog-version";
+  private static final String KEY_PREFIX = "catalog_version:";
+
+  // Inisialisasi versi 1 jika belum ada, lalu kembalikan {version, modified}
+  private static final DefaultRedisScript<List> READ_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('exists', KEYS[1]) == 0 then "
+              + "redis.call('hset', KEYS[1], 'version', 1, 'modified', ARGV[1]) end "
+              + "return redis.call('hmget', KEYS[1], 'version', 'modified')",
+          List.class);
+
+  private static final DefaultRedisScript<List> BUMP_SCRIPT =
+      new DefaultRedisScript<>(
+          "local v = redis.call('hincrby', KEYS[1], 'version', 1) "
+              + "redis.call('hset', KEYS[1], 'modified', ARGV[1]) "
+              + "return {tostring(v), ARGV[1]}",
+          List.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final CacheInvalidationBus invalidationBus;
+  private final Duration localTtl;
+  private final Map<Catalog, Snapshot> local = new ConcurrentHashMap<>();
+
+  public CatalogVersions(
+      StringRedisTemplate redisTemplate, CacheInvalidationBus invalidationBus, Duration localTtl) {
+    this.redisTemplate = redisTemplate;
+    this.invalidationBus = invalidationBus;
+    this.localTtl = localTtl;
+    invalidationBus.onInvalidation(this::onRemoteInvalidation);
+  }
+
+  /** Versi catalog saat ini, atau null jika Redis tidak bisa dibaca (lewati conditional GET). */
+  public CatalogVersion current(Catalog catalog) {
+    long now = System.currentTimeMillis();
+    Snapshot snapshot = local.get(catalog);
+    if (snapshot != null && now - snapshot.fetchedAt() < localTtl.toMillis()) {
+      return snapshot.version();
+    }
+    try {
+      CatalogVersion version =
+          toVersion(catalog, execute(READ_SCRIPT, catalog, String.valueOf(now)));
+      local.put(catalog, new Snapshot(version, now));
+      return version;
+    } catch (RuntimeException e) {
+      log.warn("Gagal membaca versi catalog {}: {}", catalog.key(), e.getMessage());
+      return null;
+    }
+  }
+
+  /** Naikkan versi catalog setelah transaksi berjalan commit. */
+  public void bump(Catalog catalog) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              bumpNow(catalog);
+            }
+          });
+    } else {
+      bumpNow(catalog);
+    }
+  }
+
+  private void bumpNow(Catalog catalog) {
+    long now = System.currentTimeMillis();
+    try {
+      CatalogVersion version =
+          toVersion(catalog, execute(BUMP_SCRIPT, catalog, String.valueOf(now)));
+      local.put(catalog, new Snapshot(version, now));
+    } catch (RuntimeException e) {
+      // Versi lama bisa membuat client menerima 304 untuk data yang sudah berubah
+      local.remove(catalog);
+      log.error("Gagal menaikkan versi catalog {}: {}", catalog.key(), e.getMessage());
+    }
+    invalidationBus.publishEvict(CACHE_NAME, catalog.name());
+  }
+
+  private void onRemoteInvalidation(CacheInvalidationBus.Invalidation invalidation) {
+    if (!CACHE_NAME.equals(invalidation.cacheName())) {
+      return;
+    }
+    if (invalidation.key() == null) {
+      local.clear();
+    } else {
+      local.remove(Catalog.valueOf(invalidation.key()));
+    }
+  }
+
+  private List<?> execute(DefaultRedisScript<List> script, Catalog catalog, String now) {
+    return redisTemplate.execute(script, List.of(KEY_PREFIX + catalog.key()), now);
+  }
+
+  private static CatalogVersion toVersion(Catalog catalog, List<?> values) {
+    long version = Long.parseLong(String.valueOf(values.get(0)));
+    long modified = Long.parseLong(String.valueOf(values.get(1)));
+    // Header HTTP-date hanya presisi detik
+    long lastModified = modified / 1000 * 1000;
+    return new CatalogVersion("W/\"" + catalog.key() + "-" + version + "\"", lastModified);
+  }
+
+  /**
+   * Versi satu catalog.
+   *
+   * @param etag Weak ETag (payload ApiResponse berisi timestamp, jadi tidak identik per byte)
+   * @param lastModified Waktu write terakhir (epoch ms, dibulatkan ke detik)
+   */
+  public record CatalogVersion(String etag, long lastModified) {}
+
+  private record Snapshot(CatalogVersion version, long fetchedAt) {}
+}
@@ -0,0 +1,139 @@
+package com.example.loanova.cache;
+
+import com.example.loanova.entity.BaseEntity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ENTITY CACHE COORDINATOR - Menjaga Hibernate second-level cache tetap koheren antar node dan
+ * konsisten dengan soft delete.
+ *
+ * <p>L2 cache JCache (Caffeine) bersifat lokal per node. Setiap insert/update/delete entity
+ * referensi yang di-cache di-broadcast setelah commit lewat {@link CacheInvalidationBus}; node lain
+ * meng-evict entity (beserta koleksinya) dan query cache.
+ *
+ * <p>Soft delete: {@code @SQLRestriction("deleted_at IS NULL")} hanya berlaku di SQL, sedangkan hit
+ * L2 by id tidak melewati SQL. Karena itu entity yang ter-cache dalam kondisi deleted (setelah
+ * {@code softDelete()} atau dimuat lewat query native {@code findByIdIncludeDeleted}) langsung
+ * di-evict sehingga {@code findById} berikutnya kembali ke database dan tetap menghasilkan empty.
+ */
+@Slf4j
+public class EntityCacheCoordinator {
+
+  static final String CACHE_NAME = "hibernate-l2";
+
+  private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+  private final CacheInvalidationBus invalidationBus;
+
+  public EntityCacheCoordinator(
+      ObjectProvider<EntityManagerFactory> entityManagerFactory,
+      CacheInvalidationBus invalidationBus) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.invalidationBus = invalidationBus;
+    invalidationBus.onInvalidation(this::onRemoteInvalidation);
+  }
+
+  /** Entity ter-cache di-insert/update/delete di transaksi berjalan. */
+  void entityChanged(Object entity) {
+    Class<?> type = entity.getClass();
+    Object id = identifier(entity);
+    boolean deleted = isSoftDeleted(entity);
+    afterCommit(
+        () -> {
+          if (deleted) {
+            evictLocal(type, id);
+          }
+          invalidationBus.publishEvict(CACHE_NAME, type.getName() + "#" + id);
+        });
+  }
+
+  /** Entity ter-cache dimuat; entity soft-deleted tidak boleh tertinggal di L2. */
+  void entityLoaded(Object entity) {
+    if (!isSoftDeleted(entity)) {
+      return;
+    }
+    Class<?> type = entity.getClass();
+    Object id = identifier(entity);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              evictLocal(type, id);
+            }
+          });
+    } else {
+      evictLocal(type, id);
+    }
+  }
+
+  private void onRemoteInvalidation(CacheInvalidationBus.Invalidation invalidation) {
+    if (!CACHE_NAME.equals(invalidation.cacheName())) {
+      return;
+    }
+    try {
+      Cache cache = cache();
+      if (invalidation.key() == null) {
+        cache.evictAllRegions();
+        return;
+      }
+      int separator = invalidation.key().lastIndexOf('#');
+      Class<?> type = Class.forName(invalidation.key().substring(0, separator));
+      evictLocal(type, parseId(type, invalidation.key().substring(separator + 1)));
+      // Query cache node ini tidak tahu tabelnya berubah (update timestamps juga lokal)
+      cache.evictQueryRegions();
+    } catch (ClassNotFoundException | RuntimeException e) {
+      log.warn("Gagal memproses invalidasi L2 {}: {}", invalidation.key(), e.getMessage());
+    }
+  }
+
+  private void evictLocal(Class<?> type, Object id) {
+    Cache cache = cache();
+    cache.evictEntityData(type, id);
+    EntityType<?> entityType = entityManagerFactory.getObject().getMetamodel().entity(type);
+    for (PluralAttribute<?, ?, ?> collection : entityType.getPluralAttributes()) {
+      cache.evictCollectionData(type.getName() + "." + collection.getName(), id);
+    }
+  }
+
+  private Object parseId(Class<?> type, String raw) {
+    Class<?> idType =
+        entityManagerFactory.getObject().getMetamodel().entity(type).getIdType().getJavaType();
+    if (idType == Integer.class) {
+      return Integer.valueOf(raw);
+    }
+    return idType == Long.class ? Long.valueOf(raw) : raw;
+  }
+
+  private Object identifier(Object entity) {
+    return entityManagerFactory.getObject().getPersistenceUnitUtil().getIdentifier(entity);
+  }
+
+  private Cache cache() {
+    return entityManagerFactory.getObject().getCache().unwrap(Cache.class);
+  }
+
+  private static boolean isSoftDeleted(Object entity) {
+    return entity instanceof BaseEntity baseEntity && baseEntity.isDeleted();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.loanova.cache;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * REFERENCE ENTITY CACHE LISTENER - JPA entity listener untuk entity referensi yang disimpan di
+ * Hibernate second-level cache (Branch, Plafond, Role, Permission).
+ *
+ * <p>Instance dibuat oleh Spring lewat bean container Hibernate sehingga bisa menerima {@link
+ * EntityCacheCoordinator} lewat constructor.
+ */
+public class ReferenceEntityCacheListener {
+
+  private final EntityCacheCoordinator coordinator;
+
+  public ReferenceEntityCacheListener(EntityCacheCoordinator coordinator) {
+    this.coordinator = coordinator;
+  }
+
+  @PostPersist
+  void afterPersist(Object entity) {
+    coordinator.entityChanged(entity);
+  }
+
+  @PostUpdate
+  void afterUpdate(Object entity) {
+    coordinator.entityChanged(entity);
+  }
+
+  @PostRemove
+  void afterRemove(Object entity) {
+    coordinator.entityChanged(entity);
+  }
+
+  @PostLoad
+  void afterLoad(Object entity) {
+    coordinator.entityLoaded(entity);
+  }
+}
@@ -0,0 +1,424 @@
+package com.example.loanova.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * TWO LEVEL CACHE - Cache dengan L1 in-process (Caffeine) di depan L2 Redis.
+ *
+ * <p>Read: L1 → L2 → loader. Write/evict: L2 dulu, lalu L1 lokal, lalu broadcast invalidasi ke
+ * node lain lewat {@link CacheInvalidationBus} agar L1 mereka tidak menyajikan data lama. Key L1
+ * memakai representasi String yang sama dengan key Redis sehingga invalidasi dari node lain bisa
+ * dicocokkan.
+ *
+ * <p>Untuk {@code @Cacheable(sync = true)} (method {@link #get(Object, Callable)}):
+ *
+ * <ul>
+ *   <li>Single-flight: per node hanya satu loader per key, request lain menunggu hasil yang sama;
+ *       antar node dijaga lock Redis singkat, node yang kalah menunggu nilai muncul di L2.
+ *   <li>Refresh-ahead: entry L1 menyimpan batas segar (min TTL L1, expiry L2) dan durasi loader;
+ *       mendekati batas tersebut refresh dipicu lebih awal secara probabilistik (XFetch).
+ *   <li>Stale-while-revalidate: entry yang lewat batas segar tapi masih dalam stale window
+ *       langsung disajikan, sementara refresh berjalan di background.
+ * </ul>
+ *
+ * <p>Refresh background tidak pernah memanggil {@code valueLoader} milik request lain (invocation
+ * itu terikat ke interceptor chain dan konteks thread pemanggil). Refresh memanggil ulang method
+ * service lewat proxy memakai refresher yang didaftarkan per cache; cache tanpa refresher
+ * memperlakukan entry stale sebagai miss dan memuat ulang di thread pemanggil.
+ */
+@Slf4j
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+  private static final long DEFAULT_LOAD_MILLIS = 50;
+  private static final long LOCK_POLL_MIN_MILLIS = 10;
+  private static final long LOCK_POLL_MAX_MILLIS = 50;
+
+  // Nama cache yang sedang di-refresh oleh thread ini (lewat refresher)
+  private static final ThreadLocal<String> REFRESHING = new ThreadLocal<>();
+
+  private final String name;
+  private final Cache<String, Entry> l1;
+  private final org.springframework.cache.Cache l2;
+  private final CacheInvalidationBus invalidationBus;
+  private final CacheLoadSupport loadSupport;
+  private final Duration freshTtl;
+  private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+  // Estimasi durasi loader terakhir, dipakai XFetch untuk entry yang diisi dari L2
+  private volatile long lastLoadMillis = DEFAULT_LOAD_MILLIS;
+
+  private volatile Function<Object, ?> refresher;
+
+  private final Counter l1Hits;
+  private final Counter l1Misses;
+  private final Counter l2Hits;
+  private final Counter l2Misses;
+  private final Counter earlyRefreshes;
+  private final Counter staleServed;
+  private final Counter loads;
+
+  public TwoLevelCache(
+      String name,
+      Cache<String, Entry> l1,
+      org.springframework.cache.Cache l2,
+      CacheInvalidationBus invalidationBus,
+      CacheLoadSupport loadSupport,
+      Duration freshTtl,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.l1 = l1;
+    this.l2 = l2;
+    this.invalidationBus = invalidationBus;
+    this.loadSupport = loadSupport;
+    this.freshTtl = freshTtl;
+    this.l1Hits = tierCounter(meterRegistry, "l1", "hit");
+    this.l1Misses = tierCounter(meterRegistry, "l1", "miss");
+    this.l2Hits = tierCounter(meterRegistry, "l2", "hit");
+    this.l2Misses = tierCounter(meterRegistry, "l2", "miss");
+    this.earlyRefreshes = loadCounter(meterRegistry, "early_refresh");
+    this.staleServed = loadCounter(meterRegistry, "stale_served");
+    this.loads = loadCounter(meterRegistry, "load");
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return l1;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    String l1Key = l1Key(key);
+    Entry local = l1.getIfPresent(l1Key);
+    if (local != null && local.isFresh(System.currentTimeMillis())) {
+      l1Hits.increment();
+      return new SimpleValueWrapper(local.value());
+    }
+    l1Misses.increment();
+
+    Entry remote = readL2(key, l1Key);
+    return remote != null ? new SimpleValueWrapper(remote.value()) : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper != null ? wrapper.get() : null;
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    String l1Key = l1Key(key);
+    if (name.equals(REFRESHING.get())) {
+      // Dipanggil dari refresher: lewati L1, revalidasi dengan loader milik invocation ini
+      return (T)
+          join(key, valueLoader, singleFlight(l1Key, () -> revalidate(key, l1Key, valueLoader)));
+    }
+
+    long now = System.currentTimeMillis();
+    Entry local = l1.getIfPresent(l1Key);
+    boolean canRefresh = refresher != null;
+
+    if (local != null && (canRefresh || local.isFresh(now))) {
+      l1Hits.increment();
+      if (!local.isFresh(now)) {
+        // Stale-while-revalidate: sajikan nilai lama, refresh di background
+        staleServed.increment();
+        refreshAsync(key, l1Key);
+      } else if (canRefresh
+          && loadSupport.shouldRefreshEarly(now, local.loadMillis(), local.freshUntil())) {
+        earlyRefreshes.increment();
+        refreshAsync(key, l1Key);
+      }
+      return (T) local.value();
+    }
+    l1Misses.increment();
+
+    return (T)
+        join(
+            key, valueLoader, singleFlight(l1Key, () -> loadThroughL2(key, l1Key, valueLoader)));
+  }
+
+  /**
+   * Mendaftarkan refresher untuk refresh background: memanggil ulang method {@code @Cacheable}
+   * lewat proxy service untuk key tertentu.
+   */
+  void setRefresher(Function<Object, ?> refresher) {
+    this.refresher = refresher;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    if (value == null) {
+      evict(key);
+      return;
+    }
+    l2.put(key, value);
+    l1.put(l1Key(key), newEntry(value, lastLoadMillis, l2ExpiresAtAfterWrite(key, value)));
+    invalidationBus.publishEvict(name, l1Key(key));
+  }
+
+  @Override
+  public void evict(Object key) {
+    l2.evict(key);
+    l1.invalidate(l1Key(key));
+    invalidationBus.publishEvict(name, l1Key(key));
+  }
+
+  @Override
+  public void clear() {
+    l2.clear();
+    l1.invalidateAll();
+    invalidationBus.publishClear(name);
+  }
+
+  /** Dipanggil saat node lain mengubah key ini: cukup buang dari L1 lokal. */
+  void evictLocal(String l1Key) {
+    l1.invalidate(l1Key);
+  }
+
+  /** Dipanggil saat node lain mengosongkan cache ini. */
+  void clearLocal() {
+    l1.invalidateAll();
+  }
+
+  static String l1Key(Object key) {
+    return String.valueOf(key);
+  }
+
+  /** L1 miss: ambil dari L2, atau jalankan loader di bawah lock cluster. */
+  private Entry loadThroughL2(Object key, String l1Key, Callable<?> valueLoader) {
+    Entry remote = readL2(key, l1Key);
+    if (remote != null) {
+      return remote;
+    }
+
+    String token = loadSupport.tryLock(name, l1Key);
+    if (token == null) {
+      // Node lain sedang memuat key ini: tunggu hasilnya muncul di L2
+      Entry awaited = awaitL2(key, l1Key);
+      if (awaited != null) {
+        return awaited;
+      }
+      return load(key, l1Key, valueLoader);
+    }
+
+    try {
+      return load(key, l1Key, valueLoader);
+    } finally {
+      loadSupport.unlock(name, l1Key, token);
+    }
+  }
+
+  /** Refresh background lewat refresher; gagal refresh = tetap pakai nilai lama. */
+  private void refreshAsync(Object key, String l1Key) {
+    Function<Object, ?> target = refresher;
+    if (target == null || inFlight.containsKey(l1Key)) {
+      return;
+    }
+    loadSupport.submitRefresh(
+        () -> {
+          REFRESHING.set(name);
+          try {
+            target.apply(key);
+          } catch (RuntimeException e) {
+            log.warn("Refresh cache {}::{} gagal: {}", name, l1Key, e.getMessage());
+          } finally {
+            REFRESHING.remove();
+          }
+        });
+  }
+
+  /**
+   * Revalidasi entry L1: jika L2 masih jauh dari expiry cukup salin dari L2 (tanpa DB). Loader
+   * hanya dijalankan jika L2 hilang atau XFetch memutuskan refresh lebih awal, dan hanya oleh node
+   * yang mendapat lock.
+   */
+  private Entry revalidate(Object key, String l1Key, Callable<?> valueLoader) {
+    long now = System.currentTimeMillis();
+    Entry remote = readL2(key, l1Key);
+    if (remote != null
+        && !loadSupport.shouldRefreshEarly(now, lastLoadMillis, remote.l2ExpiresAt())) {
+      return remote;
+    }
+
+    String token = loadSupport.tryLock(name, l1Key);
+    if (token == null) {
+      // Node lain sedang memuat; nilai baru akan sampai lewat L2 / invalidasi
+      if (remote != null) {
+        return remote;
+      }
+      // L2 kosong: future ini bisa dipakai request sync, jangan selesaikan dengan entry kosong
+      Entry awaited = awaitL2(key, l1Key);
+      return awaited != null ? awaited : load(key, l1Key, valueLoader);
+    }
+    try {
+      return load(key, l1Key, valueLoader);
+    } finally {
+      loadSupport.unlock(name, l1Key, token);
+    }
+  }
+
+  private Entry load(Object key, String l1Key, Callable<?> valueLoader) {
+    long start = System.currentTimeMillis();
+    Object value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+    long loadMillis = Math.max(1, System.currentTimeMillis() - start);
+    lastLoadMillis = loadMillis;
+    loads.increment();
+
+    if (value == null) {
+      return new Entry(null, 0, 0, 0);
+    }
+    l2.put(key, value);
+    Entry entry = newEntry(value, loadMillis, l2ExpiresAtAfterWrite(key, value));
+    l1.put(l1Key, entry);
+    invalidationBus.publishEvict(name, l1Key);
+    return entry;
+  }
+
+  private Entry readL2(Object key, String l1Key) {
+    ValueWrapper remote = l2.get(key);
+    if (remote == null || remote.get() == null) {
+      l2Misses.increment();
+      return null;
+    }
+    l2Hits.increment();
+
+    long l2ExpiresAt = Long.MAX_VALUE;
+    if (l2 instanceof RedisCache redisCache) {
+      String redisKey = redisCache.getCacheConfiguration().getKeyPrefixFor(name) + l1Key;
+      long ttl = loadSupport.remainingTtlMillis(redisKey);
+      if (ttl >= 0) {
+        l2ExpiresAt = System.currentTimeMillis() + ttl;
+      }
+    }
+    Entry entry = newEntry(remote.get(), lastLoadMillis, l2ExpiresAt);
+    l1.put(l1Key, entry);
+    return entry;
+  }
+
+  /**
+   * Tunggu singkat (dibatasi {@code cache.stampede.lock-wait}) sampai node pemegang lock menulis
+   * L2. Jika belum muncul, pemanggil memuat sendiri daripada menahan thread request.
+   */
+  private Entry awaitL2(Object key, String l1Key) {
+    long deadline = System.currentTimeMillis() + loadSupport.lockWait().toMillis();
+    long pause = LOCK_POLL_MIN_MILLIS;
+    while (System.currentTimeMillis() + pause <= deadline) {
+      try {
+        Thread.sleep(pause);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      ValueWrapper remote = l2.get(key);
+      if (remote != null && remote.get() != null) {
+        return readL2(key, l1Key);
+      }
+      pause = Math.min(pause * 2, LOCK_POLL_MAX_MILLIS);
+    }
+    return null;
+  }
+
+  private Object join(Object key, Callable<?> valueLoader, CompletableFuture<Entry> future) {
+    try {
+      return future.join().value();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ValueRetrievalException retrievalException) {
+        throw retrievalException;
+      }
+      throw new ValueRetrievalException(key, valueLoader, cause);
+    }
+  }
+
+  private CompletableFuture<Entry> singleFlight(String l1Key, Supplier<Entry> loader) {
+    CompletableFuture<Entry> created = new CompletableFuture<>();
+    CompletableFuture<Entry> existing = inFlight.putIfAbsent(l1Key, created);
+    if (existing != null) {
+      return existing;
+    }
+    try {
+      created.complete(loader.get());
+    } catch (RuntimeException e) {
+      created.completeExceptionally(e);
+    } finally {
+      inFlight.remove(l1Key, created);
+    }
+    return created;
+  }
+
+  private long l2ExpiresAtAfterWrite(Object key, Object value) {
+    if (l2 instanceof RedisCache redisCache) {
+      Duration ttl = redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+      if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+        return System.currentTimeMillis() + ttl.toMillis();
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  private Entry newEntry(Object value, long loadMillis, long l2ExpiresAt) {
+    long freshUntil = Math.min(System.currentTimeMillis() + freshTtl.toMillis(), l2ExpiresAt);
+    return new Entry(value, freshUntil, loadMillis, l2ExpiresAt);
+  }
+
+  private Counter tierCounter(MeterRegistry registry, String tier, String result) {
+    return Counter.builder("cache.tier.gets")
+        .description("Cache lookup per tier (L1 Caffeine, L2 Redis)")
+        .tag("cache", name)
+        .tag("tier", tier)
+        .tag("result", result)
+        .register(registry);
+  }
+
+  private Counter loadCounter(MeterRegistry registry, String type) {
+    return Counter.builder("cache.loads")
+        .description("Loader cache: load, refresh lebih awal, dan nilai stale yang disajikan")
+        .tag("cache", name)
+        .tag("type", type)
+        .register(registry);
+  }
+
+  /**
+   * Entry L1 beserta metadata refresh.
+   *
+   * @param freshUntil Batas segar (epoch ms); setelahnya entry hanya disajikan sebagai stale
+   * @param loadMillis Durasi loader (delta XFetch)
+   * @param l2ExpiresAt Perkiraan expiry entry di Redis (epoch ms)
+   */
+  record Entry(Object value, long freshUntil, long loadMillis, long l2ExpiresAt) {
+    boolean isFresh(long nowMillis) {
+      return nowMillis < freshUntil;
+    }
+  }
+}
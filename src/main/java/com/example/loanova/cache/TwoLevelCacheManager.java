@@ -0,0 +1,99 @@
+package com.example.loanova.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * TWO LEVEL CACHE MANAGER - Membungkus CacheManager Redis (L2) dengan L1 Caffeine per cache.
+ *
+ * <p>Ukuran dan TTL L1 diatur per nama cache ({@link L1Spec}); cache tanpa spec memakai default.
+ * TTL L1 sengaja lebih pendek dari L2 sebagai pengaman jika pesan invalidasi pub/sub hilang.
+ * Setelah TTL lewat, entry masih disimpan selama stale window untuk stale-while-revalidate.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+  private final CacheManager l2CacheManager;
+  private final CacheInvalidationBus invalidationBus;
+  private final CacheLoadSupport loadSupport;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, L1Spec> specs;
+  private final L1Spec defaultSpec;
+  private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+  public TwoLevelCacheManager(
+      CacheManager l2CacheManager,
+      CacheInvalidationBus invalidationBus,
+      CacheLoadSupport loadSupport,
+      MeterRegistry meterRegistry,
+      Map<String, L1Spec> specs,
+      L1Spec defaultSpec) {
+    this.l2CacheManager = l2CacheManager;
+    this.invalidationBus = invalidationBus;
+    this.loadSupport = loadSupport;
+    this.meterRegistry = meterRegistry;
+    this.specs = specs;
+    this.defaultSpec = defaultSpec;
+    invalidationBus.onInvalidation(this::onRemoteInvalidation);
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    return caches.computeIfAbsent(name, this::createCache);
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return Collections.unmodifiableSet(caches.keySet());
+  }
+
+  /**
+   * Mendaftarkan refresher background untuk satu cache. Refresher harus memanggil method
+   * {@code @Cacheable(sync = true)} lewat proxy service (bukan repository langsung) agar nilai yang
+   * ditulis sama persis dengan hasil request biasa.
+   */
+  public void registerRefresher(String name, Function<Object, ?> refresher) {
+    ((TwoLevelCache) getCache(name)).setRefresher(refresher);
+  }
+
+  private TwoLevelCache createCache(String name) {
+    Cache l2 = l2CacheManager.getCache(name);
+    if (l2 == null) {
+      throw new IllegalStateException("Cache L2 tidak tersedia: " + name);
+    }
+    L1Spec spec = specs.getOrDefault(name, defaultSpec);
+    com.github.benmanes.caffeine.cache.Cache<String, TwoLevelCache.Entry> l1 =
+        Caffeine.newBuilder()
+            .maximumSize(spec.maximumSize())
+            .expireAfterWrite(spec.ttl().plus(spec.staleWindow()))
+            .build();
+    return new TwoLevelCache(
+        name, l1, l2, invalidationBus, loadSupport, spec.ttl(), meterRegistry);
+  }
+
+  private void onRemoteInvalidation(CacheInvalidationBus.Invalidation invalidation) {
+    TwoLevelCache cache = caches.get(invalidation.cacheName());
+    if (cache == null) {
+      return;
+    }
+    if (invalidation.key() == null) {
+      cache.clearLocal();
+    } else {
+      cache.evictLocal(invalidation.key());
+    }
+  }
+
+  /**
+   * Batas ukuran dan TTL L1 untuk satu cache.
+   *
+   * @param staleWindow Lama entry boleh disajikan basi (sambil refresh background) setelah TTL
+   */
+  public record L1Spec(long maximumSize, Duration ttl, Duration staleWindow) {}
+}
@@ -0,0 +1,87 @@
+package com.example.loanova.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * TYPED REDIS SERIALIZER - Serializer value cache untuk satu tipe yang sudah diketahui (misal
+ * {@code List<PlafondResponse>}), tanpa metadata kelas di payload.
+ *
+ * <p>Format: 1 byte header lalu payload. Header 0 = payload mentah, header 1 = payload dikompresi
+ * LZ4 (diawali 4 byte panjang asli). Kompresi hanya dipakai jika payload melewati threshold dan
+ * hasilnya memang lebih kecil.
+ */
+public class TypedRedisSerializer<T> implements RedisSerializer<T> {
+
+  private static final byte RAW = 0;
+  private static final byte LZ4 = 1;
+
+  private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+
+  private final ObjectWriter writer;
+  private final ObjectReader reader;
+  private final int compressionThreshold;
+  private final LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+  private final LZ4FastDecompressor decompressor = LZ4_FACTORY.fastDecompressor();
+
+  public TypedRedisSerializer(ObjectMapper mapper, JavaType type, int compressionThreshold) {
+    this.writer = mapper.writerFor(type);
+    this.reader = mapper.readerFor(type);
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  @Override
+  public byte[] serialize(T value) throws SerializationException {
+    if (value == null) {
+      return new byte[0];
+    }
+
+    byte[] payload;
+    try {
+      payload = writer.writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new SerializationException("Gagal serialisasi value cache", e);
+    }
+
+    if (compressionThreshold >= 0 && payload.length >= compressionThreshold) {
+      byte[] compressed = new byte[compressor.maxCompressedLength(payload.length)];
+      int length = compressor.compress(payload, 0, payload.length, compressed, 0);
+      if (length + 4 < payload.length) {
+        return ByteBuffer.allocate(1 + 4 + length)
+            .put(LZ4)
+            .putInt(payload.length)
+            .put(compressed, 0, length)
+            .array();
+      }
+    }
+
+    return ByteBuffer.allocate(1 + payload.length).put(RAW).put(payload).array();
+  }
+
+  @Override
+  public T deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+
+    try {
+      if (bytes[0] == LZ4) {
+        int originalLength = ByteBuffer.wrap(bytes, 1, 4).getInt();
+        byte[] payload = decompressor.decompress(bytes, 5, originalLength);
+        return reader.readValue(payload);
+      }
+      return reader.readValue(bytes, 1, bytes.length - 1);
+    } catch (IOException | RuntimeException e) {
+      throw new SerializationException("Gagal deserialisasi value cache", e);
+    }
+  }
+}
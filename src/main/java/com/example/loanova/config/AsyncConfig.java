@@ -0,0 +1,53 @@
+package com.example.loanova.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * ASYNC CONFIG - Executor terbatas untuk listener domain event setelah commit dan pool thread
+ * {@code @Scheduled}.
+ *
+ * <p>Antrian dibatasi {@code domain-event.executor.queue-capacity}; jika penuh, listener dijalankan
+ * di thread yang mem-publish (CallerRunsPolicy) sehingga event tidak hilang dan beban balik ke
+ * request. Metric pool tersedia di {@code executor.*} dengan tag name=domainEventExecutor.
+ *
+ * <p>Default Spring hanya satu thread scheduler; job panjang (fan-out pengumuman, arsip notifikasi,
+ * orphan collector, arsip dokumen) akan saling menunggu dan menunda poll pendek seperti outbox.
+ * Pool scheduler diatur lewat {@code scheduling.pool-size}.
+ */
+@Configuration
+public class AsyncConfig {
+
+  public static final String DOMAIN_EVENT_EXECUTOR = "domainEventExecutor";
+
+  @Bean(name = DOMAIN_EVENT_EXECUTOR)
+  public ThreadPoolTaskExecutor domainEventExecutor(
+      @Value("${domain-event.executor.core-size:2}") int coreSize,
+      @Value("${domain-event.executor.max-size:8}") int maxSize,
+      @Value("${domain-event.executor.queue-capacity:1000}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(coreSize);
+    executor.setMaxPoolSize(maxSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("domain-event-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+
+  @Bean
+  public ThreadPoolTaskScheduler taskScheduler(
+      @Value("${scheduling.pool-size:8}") int poolSize) {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(poolSize);
+    scheduler.setThreadNamePrefix("scheduling-");
+    scheduler.setWaitForTasksToCompleteOnShutdown(true);
+    scheduler.setAwaitTerminationSeconds(30);
+    return scheduler;
+  }
+}
@@ -0,0 +1,148 @@
+package com.example.loanova.config;
+
+import com.example.loanova.cache.CacheEntryWriter;
+import com.example.loanova.cache.CacheInvalidationBus;
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.cache.CatalogResponseCache;
+import com.example.loanova.cache.CatalogVersions;
+import com.example.loanova.cache.TwoLevelCacheManager;
+import com.example.loanova.cache.TwoLevelCacheManager.L1Spec;
+import com.example.loanova.service.BranchService;
+import com.example.loanova.service.PlafondService;
+import com.example.loanova.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * CACHE CONFIG - CacheManager dua tingkat: L1 Caffeine (in-process) di depan L2 Redis.
+ *
+ * <p>Hit L1 tidak butuh network maupun deserialisasi, cocok untuk data referensi seperti plafond
+ * dan branch. Invalidasi L1 antar node dikirim lewat Redis pub/sub. Hit ratio per tier tersedia di
+ * metric {@code cache.tier.gets} (tag cache, tier, result).
+ *
+ * <p>Read {@code @Cacheable(sync = true)} dilindungi dari stampede: single-flight per node, lock
+ * Redis singkat antar node, refresh-ahead probabilistik, dan stale-while-revalidate. Jumlah load,
+ * refresh awal, dan nilai stale tersedia di metric {@code cache.loads}.
+ */
+@Configuration
+public class CacheConfig {
+
+  @Bean
+  public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate redisTemplate) {
+    return new CacheInvalidationBus(redisTemplate);
+  }
+
+  @Bean
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory factory, CacheInvalidationBus cacheInvalidationBus) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(factory);
+    container.addMessageListener(
+        cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+    return container;
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public CacheLoadSupport cacheLoadSupport(
+      StringRedisTemplate redisTemplate,
+      @Value("${cache.stampede.lock-ttl:PT5S}") Duration lockTtl,
+      @Value("${cache.stampede.lock-wait:PT0.2S}") Duration lockWait,
+      @Value("${cache.stampede.beta:1.0}") double beta,
+      @Value("${cache.stampede.refresh-threads:2}") int refreshThreads) {
+    return new CacheLoadSupport(redisTemplate, lockTtl, lockWait, beta, refreshThreads);
+  }
+
+  /**
+   * Refresher background per cache: memanggil ulang method service lewat proxy sehingga transaksi
+   * dan interceptor lain tetap berlaku saat refresh.
+   */
+  @Bean
+  public SmartInitializingSingleton cacheRefreshers(
+      CacheManager cacheManager,
+      PlafondService plafondService,
+      BranchService branchService,
+      UserService userService) {
+    return () -> {
+      TwoLevelCacheManager manager = (TwoLevelCacheManager) cacheManager;
+      manager.registerRefresher("plafonds", key -> plafondService.getAllPlafonds());
+      manager.registerRefresher("plafond", key -> plafondService.getPlafondById((Long) key));
+      manager.registerRefresher("branches", key -> branchService.getAllBranches());
+      manager.registerRefresher("branch", key -> branchService.getBranchById((Long) key));
+      manager.registerRefresher("users", key -> userService.getAllUser());
+      manager.registerRefresher("user", key -> userService.getUserById((Long) key));
+    };
+  }
+
+  @Bean
+  @Primary
+  public CacheManager cacheManager(
+      RedisCacheManager redisCacheManager,
+      CacheInvalidationBus cacheInvalidationBus,
+      CacheLoadSupport cacheLoadSupport,
+      MeterRegistry meterRegistry,
+      @Value("${cache.l1.default-max-size:1000}") long defaultMaxSize,
+      @Value("${cache.l1.default-ttl:PT30S}") Duration defaultTtl,
+      @Value("${cache.l1.default-stale-window:PT10S}") Duration defaultStaleWindow) {
+    Map<String, L1Spec> specs = new HashMap<>();
+
+    // Data referensi (jarang berubah): L1 lebih lama
+    L1Spec referenceSpec = new L1Spec(500, Duration.ofMinutes(5), Duration.ofMinutes(1));
+    specs.put("plafond", referenceSpec);
+    specs.put("plafonds", referenceSpec);
+    specs.put("branch", referenceSpec);
+    specs.put("branches", referenceSpec);
+
+    // Data user: lebih sering berubah, L1 singkat
+    L1Spec userSpec = new L1Spec(5000, Duration.ofMinutes(1), Duration.ofSeconds(10));
+    specs.put("user", userSpec);
+    specs.put("users", userSpec);
+    specs.put("user-branch", userSpec);
+    specs.put("user-id", userSpec);
+
+    // Timeline aplikasi: immutable kecuali append (di-evict lewat invalidation bus)
+    specs.put("application-timeline", new L1Spec(2000, Duration.ofMinutes(5), Duration.ZERO));
+
+    return new TwoLevelCacheManager(
+        redisCacheManager,
+        cacheInvalidationBus,
+        cacheLoadSupport,
+        meterRegistry,
+        specs,
+        new L1Spec(defaultMaxSize, defaultTtl, defaultStaleWindow));
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public CacheEntryWriter cacheEntryWriter(
+      CacheManager cacheManager,
+      @Value("${cache.list.second-evict-delay:PT1S}") Duration secondEvictDelay) {
+    return new CacheEntryWriter(cacheManager, secondEvictDelay);
+  }
+
+  @Bean
+  public CatalogVersions catalogVersions(
+      StringRedisTemplate redisTemplate,
+      CacheInvalidationBus cacheInvalidationBus,
+      @Value("${cache.catalog-version.local-ttl:PT5S}") Duration localTtl) {
+    return new CatalogVersions(redisTemplate, cacheInvalidationBus, localTtl);
+  }
+
+  @Bean
+  public CatalogResponseCache catalogResponseCache(
+      JsonMapper jsonMapper, @Value("${cache.catalog-response.gzip-min-bytes:512}") int gzipMin) {
+    return new CatalogResponseCache(jsonMapper, gzipMin);
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.loanova.config;
+
+import com.example.loanova.cache.CacheInvalidationBus;
+import com.example.loanova.cache.EntityCacheCoordinator;
+import com.example.loanova.entity.Branch;
+import com.example.loanova.entity.Permission;
+import com.example.loanova.entity.Plafond;
+import com.example.loanova.entity.Role;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HIBERNATE CACHE CONFIG - Second-level cache (JCache, provider Caffeine) untuk entity referensi
+ * yang jarang berubah: Branch, Plafond, Role (beserta permissions) dan Permission, plus query cache
+ * untuk lookup natural key seperti {@code findByRoleName} dan {@code findByName}.
+ *
+ * <p>Region dibuat eksplisit dengan batas ukuran dan TTL; region update-timestamps sengaja tanpa
+ * expiry sesuai syarat query cache Hibernate. Statistik Hibernate diaktifkan sehingga hit rate per
+ * region tersedia di metric {@code hibernate.second.level.cache.requests} dan {@code
+ * hibernate.cache.query.requests}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+  private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+  private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateJCacheManager(
+      @Value("${hibernate.l2.max-size:1000}") long maxSize,
+      @Value("${hibernate.l2.ttl:PT1H}") Duration ttl) {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    CacheManager cacheManager =
+        provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+    List<String> regions =
+        List.of(
+            Branch.class.getName(),
+            Plafond.class.getName(),
+            Role.class.getName(),
+            Role.class.getName() + ".permissions",
+            Permission.class.getName(),
+            QUERY_RESULTS_REGION);
+    for (String region : regions) {
+      if (cacheManager.getCache(region) == null) {
+        cacheManager.createCache(region, boundedRegion(maxSize, ttl));
+      }
+    }
+    if (cacheManager.getCache(UPDATE_TIMESTAMPS_REGION) == null) {
+      cacheManager.createCache(
+          UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>().setStoreByValue(false));
+    }
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+      CacheManager hibernateJCacheManager,
+      @Value("${hibernate.l2.statistics:true}") boolean statistics) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+      properties.put(ConfigSettings.CACHE_MANAGER, hibernateJCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+      properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+    };
+  }
+
+  @Bean
+  public EntityCacheCoordinator entityCacheCoordinator(
+      ObjectProvider<EntityManagerFactory> entityManagerFactory,
+      CacheInvalidationBus cacheInvalidationBus) {
+    return new EntityCacheCoordinator(entityManagerFactory, cacheInvalidationBus);
+  }
+
+  private static CaffeineConfiguration<Object, Object> boundedRegion(long maxSize, Duration ttl) {
+    // Store-by-reference: entry Hibernate sudah berupa data terdisassemble, tidak perlu di-copy
+    return new CaffeineConfiguration<>()
+        .setStoreByValue(false)
+        .setMaximumSize(OptionalLong.of(maxSize))
+        .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+  }
+}
@@ -1,57 +1,65 @@
 package com.example.loanova.config;
 
+import com.example.loanova.cache.CacheValueCodec;
+import com.example.loanova.cache.TypedRedisSerializer;
+import com.example.loanova.dto.response.ApplicationHistoryResponse;
+import com.example.loanova.dto.response.BranchResponse;
+import com.example.loanova.dto.response.PlafondResponse;
+import com.example.loanova.dto.response.UserResponse;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import tools.jackson.databind.jsontype.PolymorphicTypeValidator;
 
 @Configuration
 public class RedisConfig {
 
-  @Bean
-  public ObjectMapper redisObjectMapper() {
-    ObjectMapper mapper = new ObjectMapper();
-
-    // Registrasi modul untuk handling Java 8 Time (LocalDateTime, dll)
-    mapper.registerModule(new JavaTimeModule());
-    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-    // Konfigurasi visibilitas agar Jackson bisa akses field tanpa getter/setter jika perlu
-    mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-
-    // PENTING: Mengaktifkan default typing agar info kelas disimpan dalam JSON (@class)
+  /**
+   * Serializer fallback untuk cache yang belum didaftarkan tipenya: JSON dengan info kelas
+   * ({@code @class}) lewat default typing. Memakai Jackson 3; java.time ditulis ISO-8601 dan
+   * properti tak dikenal diabaikan (default Jackson 3), field dibaca langsung tanpa getter/setter.
+   */
+  public static GenericJacksonJsonRedisSerializer legacyValueSerializer() {
+    // PENTING: default typing agar info kelas disimpan dalam JSON (@class)
     // Ini solusi untuk error ClassCastException pada List
     PolymorphicTypeValidator ptv =
         BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build();
-    mapper.activateDefaultTyping(
-        ptv, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
-
-    return mapper;
+    return GenericJacksonJsonRedisSerializer.builder()
+        .enableDefaultTyping(ptv)
+        .customize(
+            builder ->
+                builder.changeDefaultVisibility(
+                    visibility ->
+                        visibility.withVisibility(
+                            PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY)))
+        .build();
   }
 
+  /** L2 (Redis). Dipakai lewat TwoLevelCacheManager di CacheConfig, bukan langsung. */
   @Bean
-  public RedisCacheManager cacheManager(
-      RedisConnectionFactory factory, ObjectMapper redisObjectMapper) {
-    // Gunakan serializer yang sudah dikonfigurasi dengan ObjectMapper kita
-    GenericJackson2JsonRedisSerializer serializer =
-        new GenericJackson2JsonRedisSerializer(redisObjectMapper);
+  public RedisCacheManager redisCacheManager(
+      RedisConnectionFactory factory,
+      @Value("${cache.redis.codec:json}") CacheValueCodec codec,
+      @Value("${cache.redis.compression-threshold:1024}") int compressionThreshold) {
+    // Fallback untuk cache yang belum didaftarkan tipenya (format lama dengan @class)
+    GenericJacksonJsonRedisSerializer serializer = legacyValueSerializer();
 
     // 1. Konfigurasi DEFAULT (Misalnya 1 jam)
     RedisCacheConfiguration defaultConfig =
@@ -64,18 +72,54 @@ public class RedisConfig {
             .serializeValuesWith(
                 RedisSerializationContext.SerializationPair.fromSerializer(serializer));
 
-    // 2. Konfigurasi Khusus per Nama Cache (Custom TTL)
+    // 2. Cache dengan tipe value yang diketahui: serializer typed tanpa @class, encoding sesuai
+    // codec. Prefix key memuat nama codec agar entry format lain tidak ikut terbaca.
+    ObjectMapper typedMapper = codec.objectMapper();
+    TypeFactory types = typedMapper.getTypeFactory();
+    RedisCacheConfiguration typedDefaults =
+        defaultConfig.computePrefixWith(
+            cacheName -> "v2:" + codec.name().toLowerCase() + ":" + cacheName + "::");
+    BiFunction<JavaType, Duration, RedisCacheConfiguration> typed =
+        (type, ttl) ->
+            typedDefaults
+                .entryTtl(ttl)
+                .serializeValuesWith(
+                    RedisSerializationContext.SerializationPair.fromSerializer(
+                        new TypedRedisSerializer<>(typedMapper, type, compressionThreshold)));
+
     Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
     // Mengatur TTL 20 Menit untuk User
-    RedisCacheConfiguration userCacheConfig = defaultConfig.entryTtl(Duration.ofMinutes(20));
-    cacheConfigurations.put("user", userCacheConfig);
-    cacheConfigurations.put("users", userCacheConfig);
+    Duration userTtl = Duration.ofMinutes(20);
+    cacheConfigurations.put("user", typed.apply(types.constructType(UserResponse.class), userTtl));
+    cacheConfigurations.put(
+        "users",
+        typed.apply(types.constructCollectionType(List.class, UserResponse.class), userTtl));
+    cacheConfigurations.put("user-branch", typed.apply(types.constructType(Long.class), userTtl));
+    cacheConfigurations.put("user-id", typed.apply(types.constructType(Long.class), userTtl));
 
     // 3. Konfigurasi untuk Branch (10 Menit)
-    RedisCacheConfiguration branchCacheConfig = defaultConfig.entryTtl(Duration.ofMinutes(10));
-    cacheConfigurations.put("branch", branchCacheConfig);
-    cacheConfigurations.put("branches", branchCacheConfig);
+    Duration branchTtl = Duration.ofMinutes(10);
+    cacheConfigurations.put(
+        "branch", typed.apply(types.constructType(BranchResponse.class), branchTtl));
+    cacheConfigurations.put(
+        "branches",
+        typed.apply(types.constructCollectionType(List.class, BranchResponse.class), branchTtl));
+
+    // 4. Plafond (1 Jam)
+    Duration plafondTtl = Duration.ofHours(1);
+    cacheConfigurations.put(
+        "plafond", typed.apply(types.constructType(PlafondResponse.class), plafondTtl));
+    cacheConfigurations.put(
+        "plafonds",
+        typed.apply(types.constructCollectionType(List.class, PlafondResponse.class), plafondTtl));
+
+    // 5. Timeline loan application (hanya bertambah, di-evict saat history baru ditulis)
+    cacheConfigurations.put(
+        "application-timeline",
+        typed.apply(
+            types.constructCollectionType(List.class, ApplicationHistoryResponse.class),
+            Duration.ofMinutes(30)));
 
     return RedisCacheManager.builder(factory)
         .cacheDefaults(defaultConfig)
@@ -2,6 +2,7 @@ package com.example.loanova.config;
 
 import com.example.loanova.exception.CustomAccessDeniedHandler;
 import com.example.loanova.exception.CustomAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -87,6 +88,11 @@ public class SecurityConfig {
                                         "/swagger-ui.html")
                                 .permitAll()
 
+                                // Dispatch ASYNC (selesainya stream SSE) sudah diotorisasi
+                                // saat request awal; context stateless tidak tersedia lagi
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                .permitAll()
+
                                 // Protected endpoints - Harus login (punya valid JWT token)
                                 // Semua endpoint lain butuh authentication
                                 // Contoh: /api/users, /api/branches, dll
@@ -0,0 +1,58 @@
+package com.example.loanova.controller;
+
+import com.example.loanova.base.ApiResponse;
+import com.example.loanova.dto.request.AnnouncementRequest;
+import com.example.loanova.dto.response.AnnouncementResponse;
+import com.example.loanova.service.AnnouncementService;
+import com.example.loanova.util.ResponseUtil;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ANNOUNCEMENT CONTROLLER REST API untuk pengumuman broadcast ke customer.
+ *
+ * <p>
+ * Base URL: /api/announcements
+ *
+ * <p>
+ * Otorisasi: Hanya dapat diakses oleh SUPERADMIN.
+ */
+@RestController
+@RequestMapping("/api/announcements")
+@RequiredArgsConstructor
+public class AnnouncementController {
+
+  private final AnnouncementService announcementService;
+
+  /** CREATE ANNOUNCEMENT - Disimpan sekali, notifikasi per customer dibuat di background */
+  @PreAuthorize("hasAuthority('ANNOUNCEMENT:CREATE')")
+  @PostMapping
+  public ResponseEntity<ApiResponse<AnnouncementResponse>> createAnnouncement(
+      Authentication authentication, @Valid @RequestBody AnnouncementRequest request) {
+    AnnouncementResponse announcement =
+        announcementService.createAnnouncement(authentication.getName(), request);
+    return ResponseUtil.created(announcement, "Berhasil membuat pengumuman baru");
+  }
+
+  /** GET ALL ANNOUNCEMENTS */
+  @PreAuthorize("hasAuthority('ANNOUNCEMENT:READ')")
+  @GetMapping
+  public ResponseEntity<ApiResponse<List<AnnouncementResponse>>> getAllAnnouncements() {
+    List<AnnouncementResponse> announcements = announcementService.getAllAnnouncements();
+    return ResponseUtil.ok(announcements, "Berhasil mengambil daftar pengumuman");
+  }
+
+  /** GET ANNOUNCEMENT BY ID - Termasuk progress fan-out */
+  @PreAuthorize("hasAuthority('ANNOUNCEMENT:READ')")
+  @GetMapping("/{id}")
+  public ResponseEntity<ApiResponse<AnnouncementResponse>> getAnnouncementById(
+      @PathVariable Long id) {
+    AnnouncementResponse announcement = announcementService.getAnnouncementById(id);
+    return ResponseUtil.ok(announcement, "Berhasil mengambil detail pengumuman");
+  }
+}
@@ -1,6 +1,8 @@
 package com.example.loanova.controller;
 
 import com.example.loanova.base.ApiResponse;
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.dto.request.BranchRequest;
 import com.example.loanova.dto.response.BranchResponse;
 import com.example.loanova.service.BranchService;
@@ -8,9 +10,11 @@ import com.example.loanova.util.ResponseUtil;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * BRANCH CONTROLLER - REST API untuk manage cabang
@@ -29,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
 public class BranchController {
 
   private final BranchService branchService;
+  private final CatalogVersions catalogVersions;
 
   /**
    * GET ALL BRANCHES
@@ -37,14 +42,30 @@ public class BranchController {
    * punya role SUPERADMIN - Spring Security auto tambah prefix "ROLE_" → check "ROLE_SUPERADMIN" -
    * Kalau tidak punya → return 403 Forbidden
    *
+   * <p>Conditional GET: ETag/Last-Modified dari versi catalog branch, 304 tanpa memanggil service
+   * jika tidak berubah.
+   *
    * @return List of all branches
    */
   // Yang bisa getAllBranches adalah semua role
   @PreAuthorize("hasAuthority('BRANCH:READ')")
   @GetMapping
-  public ResponseEntity<ApiResponse<List<BranchResponse>>> getAllBranches() {
+  public ResponseEntity<ApiResponse<List<BranchResponse>>> getAllBranches(
+      WebRequest webRequest) {
+    if (ResponseUtil.notModified(webRequest, catalogVersions.current(Catalog.BRANCHES))) {
+      return null;
+    }
     List<BranchResponse> branches = branchService.getAllBranches();
-    return ResponseUtil.ok(branches, "Berhasil mengambil daftar cabang");
+    return ResponseUtil.ok(
+        branches, "Berhasil mengambil daftar cabang", CacheControl.noCache().cachePrivate());
+  }
+
+  /** GET BRANCH BY ID */
+  @PreAuthorize("hasAuthority('BRANCH:READ')")
+  @GetMapping("/{id}")
+  public ResponseEntity<ApiResponse<BranchResponse>> getBranchById(@PathVariable Long id) {
+    BranchResponse branch = branchService.getBranchById(id);
+    return ResponseUtil.ok(branch, "Berhasil mengambil data cabang");
   }
 
   /**
@@ -0,0 +1,87 @@
+package com.example.loanova.controller;
+
+import com.example.loanova.entity.ArchivedDocument;
+import com.example.loanova.exception.ResourceNotFoundException;
+import com.example.loanova.repository.ArchivedDocumentRepository;
+import com.example.loanova.storage.DocumentArchive;
+import com.example.loanova.storage.DocumentPaths;
+import com.example.loanova.storage.DocumentStorage;
+import com.example.loanova.storage.ImageVariant;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * DOCUMENT CONTROLLER - Endpoint download file yang diupload (foto profil, KTP, NPWP, dokumen
+ * pinjaman).
+ *
+ * <p>URL Pattern: http://localhost:9091/uploads/ktp/3f/a2/uuid.jpg. Path setelah "/uploads/"
+ * adalah path logis yang tersimpan di database, dibaca lewat DocumentStorage sehingga bekerja
+ * untuk storage lokal maupun S3. Dokumen yang sudah dipindah ke cold tier dibaca dari pack arsip
+ * secara transparan lewat URL yang sama.
+ *
+ * <p>Parameter opsional {@code ?size=thumb|large} menyajikan file turunan hasil pipeline gambar;
+ * jika turunan belum tersedia, file asli yang dikirim.
+ */
+@RestController
+@RequiredArgsConstructor
+public class DocumentController {
+
+  private static final String URL_PATTERN = "/uploads/**";
+
+  private final DocumentStorage documentStorage;
+  private final DocumentArchive documentArchive;
+  private final ArchivedDocumentRepository archivedDocumentRepository;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+  /** DOWNLOAD DOCUMENT - Public (sama seperti static handler sebelumnya). */
+  @GetMapping(URL_PATTERN)
+  public ResponseEntity<Resource> download(
+      HttpServletRequest request, @RequestParam(required = false) String size)
+      throws IOException {
+    String requestPath =
+        (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+    String path = pathMatcher.extractPathWithinPattern(URL_PATTERN, requestPath);
+
+    // Pack arsip berisi dokumen banyak customer, hanya boleh dibaca per entry lewat index
+    if (!DocumentPaths.isSafe(path) || DocumentArchive.isPackPath(path)) {
+      throw new ResourceNotFoundException("File tidak ditemukan");
+    }
+
+    ImageVariant variant = ImageVariant.fromParam(size);
+    if (variant != null) {
+      String derivative = DocumentPaths.derivative(path, variant);
+      if (documentStorage.exists(derivative)
+          || archivedDocumentRepository.existsByPath(derivative)) {
+        path = derivative;
+      }
+    }
+
+    InputStream content;
+    if (documentStorage.exists(path)) {
+      content = documentStorage.open(path);
+    } else {
+      // Fallback ke cold tier
+      ArchivedDocument archived =
+          archivedDocumentRepository
+              .findByPath(path)
+              .orElseThrow(() -> new ResourceNotFoundException("File tidak ditemukan"));
+      content = documentArchive.open(archived);
+    }
+
+    MediaType mediaType =
+        MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    return ResponseEntity.ok().contentType(mediaType).body(new InputStreamResource(content));
+  }
+}
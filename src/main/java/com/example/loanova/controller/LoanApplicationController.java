@@ -2,13 +2,19 @@ package com.example.loanova.controller;
 
 import com.example.loanova.base.ApiResponse;
 import com.example.loanova.dto.request.LoanApplicationRequest;
+import com.example.loanova.dto.request.LoanApplicationUploadRequest;
 import com.example.loanova.dto.request.LoanReviewRequest;
 import com.example.loanova.dto.response.ApplicationHistoryResponse;
 import com.example.loanova.dto.response.LoanApplicationResponse;
+import com.example.loanova.security.AccessScope;
+import com.example.loanova.security.AccessScopeResolver;
 import com.example.loanova.service.LoanApplicationService;
 import com.example.loanova.util.ResponseUtil;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +37,7 @@ import org.springframework.web.bind.annotation.*;
 public class LoanApplicationController {
 
   private final LoanApplicationService loanApplicationService;
+  private final AccessScopeResolver accessScopeResolver;
 
   /**
    * CUSTOMER - Submit loan application
@@ -49,6 +56,23 @@ public class LoanApplicationController {
     return ResponseUtil.created(response, "Pengajuan pinjaman berhasil disubmit");
   }
 
+  /**
+   * CUSTOMER - Submit loan application dengan dokumen dari sesi upload bertahap
+   *
+   * @param authentication - User yang login (CUSTOMER)
+   * @param request        - Data pengajuan + uploadId dokumen yang sudah COMPLETED
+   * @return ApiResponse dengan LoanApplicationResponse
+   */
+  @PostMapping(value = "/from-uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @PreAuthorize("hasAuthority('LOAN:SUBMIT')")
+  public ResponseEntity<ApiResponse<LoanApplicationResponse>> submitLoanApplicationFromUploads(
+      Authentication authentication, @Valid @RequestBody LoanApplicationUploadRequest request) {
+    String username = authentication.getName();
+    LoanApplicationResponse response =
+        loanApplicationService.submitLoanApplicationFromUploads(username, request);
+    return ResponseUtil.created(response, "Pengajuan pinjaman berhasil disubmit");
+  }
+
   /**
    * ALL ROLES - Get all loan applications
    * SUPERADMIN/BACKOFFICE: All data
@@ -62,8 +86,8 @@ public class LoanApplicationController {
   @PreAuthorize("hasAuthority('LOAN:READ_ALL')")
   public ResponseEntity<ApiResponse<List<LoanApplicationResponse>>> getAllApplications(
       Authentication authentication) {
-    String username = authentication.getName();
-    List<LoanApplicationResponse> responses = loanApplicationService.getAllApplications(username);
+    List<LoanApplicationResponse> responses =
+        loanApplicationService.getAllApplications(accessScopeResolver.resolve(authentication));
     return ResponseUtil.ok(responses, "Berhasil mengambil data list pengajuan pinjaman");
   }
 
@@ -95,8 +119,8 @@ public class LoanApplicationController {
   @PreAuthorize("hasAuthority('LOAN:DETAILS')")
   public ResponseEntity<ApiResponse<LoanApplicationResponse>> getApplicationDetail(
       Authentication authentication, @PathVariable Long id) {
-    String username = authentication.getName();
-    LoanApplicationResponse response = loanApplicationService.getApplicationDetail(username, id);
+    AccessScope scope = accessScopeResolver.resolve(authentication);
+    LoanApplicationResponse response = loanApplicationService.getApplicationDetail(scope, id);
     return ResponseUtil.ok(response, "Berhasil mengambil detail pengajuan pinjaman");
   }
 
@@ -111,8 +135,9 @@ public class LoanApplicationController {
   @PreAuthorize("hasAuthority('LOAN:HISTORY')")
   public ResponseEntity<ApiResponse<List<ApplicationHistoryResponse>>> getApplicationHistory(
       @PathVariable Long id, Authentication authentication) {
-    String username = authentication.getName();
-    List<ApplicationHistoryResponse> responses = loanApplicationService.getApplicationHistory(username, id);
+    AccessScope scope = accessScopeResolver.resolve(authentication);
+    List<ApplicationHistoryResponse> responses =
+        loanApplicationService.getApplicationHistory(scope, id);
     return ResponseUtil.ok(responses, "Berhasil mengambil history pengajuan pinjaman");
   }
 
@@ -120,15 +145,20 @@ public class LoanApplicationController {
    * MARKETING - Get pending applications for review (status PENDING_REVIEW)
    *
    * @param authentication - User yang login (MARKETING)
+   * @param page           - Nomor halaman (mulai 0)
+   * @param size           - Jumlah per halaman, 0 untuk seluruh antrian
    * @return ApiResponse dengan list LoanApplicationResponse
    */
   // Yang bisa akses getPendingApplication hanya MARKETING
   @GetMapping("/pending-review")
   @PreAuthorize("hasAuthority('LOAN:LIST_PENDING_REVIEW')")
   public ResponseEntity<ApiResponse<List<LoanApplicationResponse>>> getPendingApplications(
-      Authentication authentication) {
+      Authentication authentication,
+      @RequestParam(defaultValue = "0") @Min(0) int page,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int size) {
     String username = authentication.getName();
-    List<LoanApplicationResponse> responses = loanApplicationService.getPendingApplicationsForMarketing(username);
+    List<LoanApplicationResponse> responses =
+        loanApplicationService.getPendingApplicationsForMarketing(username, page, size);
     return ResponseUtil.ok(responses, "Berhasil mengambil daftar pengajuan pending review");
   }
 
@@ -156,16 +186,20 @@ public class LoanApplicationController {
    * BRANCH_MANAGER - Get waiting approval applications (status WAITING_APPROVAL)
    *
    * @param authentication - User yang login (BRANCH_MANAGER)
+   * @param page           - Nomor halaman (mulai 0)
+   * @param size           - Jumlah per halaman, 0 untuk seluruh antrian
    * @return ApiResponse dengan list LoanApplicationResponse
    */
   // Yang bisa akses getWaitingApprovalApplications hanya BRANCHMANAGER
   @GetMapping("/waiting-approval")
   @PreAuthorize("hasAuthority('LOAN:LIST_WAITING_APPROVAL')")
   public ResponseEntity<ApiResponse<List<LoanApplicationResponse>>> getWaitingApprovalApplications(
-      Authentication authentication) {
+      Authentication authentication,
+      @RequestParam(defaultValue = "0") @Min(0) int page,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int size) {
     String username = authentication.getName();
     List<LoanApplicationResponse> responses = loanApplicationService
-        .getWaitingApprovalApplicationsForBranchManager(username);
+        .getWaitingApprovalApplicationsForBranchManager(username, page, size);
     return ResponseUtil.ok(responses, "Berhasil mengambil daftar pengajuan waiting approval");
   }
 
@@ -193,16 +227,37 @@ public class LoanApplicationController {
    * BACKOFFICE - Get waiting disbursement applications (status
    * WAITING_DISBURSEMENT)
    *
+   * @param page - Nomor halaman (mulai 0)
+   * @param size - Jumlah per halaman, 0 untuk seluruh antrian
    * @return ApiResponse dengan list LoanApplicationResponse
    */
   // Yang bisa akses getWaitingDisbursementApplications hanya BACKOFFICE
   @GetMapping("/waiting-disbursement")
   @PreAuthorize("hasAuthority('LOAN:LIST_WAITING_DISBURSE')")
-  public ResponseEntity<ApiResponse<List<LoanApplicationResponse>>> getWaitingDisbursementApplications() {
-    List<LoanApplicationResponse> responses = loanApplicationService.getWaitingDisbursementApplications();
+  public ResponseEntity<ApiResponse<List<LoanApplicationResponse>>> getWaitingDisbursementApplications(
+      @RequestParam(defaultValue = "0") @Min(0) int page,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int size) {
+    List<LoanApplicationResponse> responses =
+        loanApplicationService.getWaitingDisbursementApplications(page, size);
     return ResponseUtil.ok(responses, "Berhasil mengambil daftar pengajuan waiting disbursement");
   }
 
+  /**
+   * STAFF - Jumlah pengajuan di setiap antrian kerja (per branch untuk staff cabang)
+   *
+   * @param authentication - User yang login (MARKETING/BRANCHMANAGER/BACKOFFICE)
+   * @return ApiResponse dengan map status -> jumlah pengajuan
+   */
+  @GetMapping("/queue-depth")
+  @PreAuthorize(
+      "hasAnyAuthority('LOAN:LIST_PENDING_REVIEW', 'LOAN:LIST_WAITING_APPROVAL', "
+          + "'LOAN:LIST_WAITING_DISBURSE')")
+  public ResponseEntity<ApiResponse<Map<String, Long>>> getQueueDepth(
+      Authentication authentication) {
+    Map<String, Long> depth = loanApplicationService.getQueueDepth(authentication.getName());
+    return ResponseUtil.ok(depth, "Berhasil mengambil jumlah antrian pengajuan");
+  }
+
   /**
    * BACKOFFICE - Disburse loan application (status jadi DISBURSED)
    *
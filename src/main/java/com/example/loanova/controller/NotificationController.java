@@ -1,18 +1,24 @@
 package com.example.loanova.controller;
 
 import com.example.loanova.base.ApiResponse;
-import com.example.loanova.dto.response.NotificationResponse;
+import com.example.loanova.dto.request.NotificationReadRequest;
+import com.example.loanova.dto.response.NotificationPageResponse;
 import com.example.loanova.service.NotificationService;
 import com.example.loanova.util.ResponseUtil;
-import java.util.List;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -22,15 +28,39 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     /**
-     * Get list notifikasi user yang sedang login
+     * Get notifikasi user yang sedang login per halaman (cursor = nextCursor halaman sebelumnya)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getMyNotifications(Authentication authentication) {
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getMyNotifications(
+            Authentication authentication,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
         String username = authentication.getName();
-        List<NotificationResponse> notifications = notificationService.getUserNotifications(username);
+        NotificationPageResponse notifications =
+                notificationService.getUserNotifications(username, cursor, size);
         return ResponseUtil.ok(notifications, "Berhasil mengambil data notifikasi");
     }
 
+    /**
+     * Jumlah notifikasi belum dibaca (badge)
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount(Authentication authentication) {
+        long count = notificationService.getUnreadCount(authentication.getName());
+        return ResponseUtil.ok(count, "Berhasil mengambil jumlah notifikasi belum dibaca");
+    }
+
+    /**
+     * Stream notifikasi real-time (Server-Sent Events). Saat reconnect, header Last-Event-ID
+     * membuat notifikasi yang terlewat dikirim ulang lebih dulu.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationService.openStream(authentication.getName(), lastEventId);
+    }
+
     /**
      * Tandai spesifik notifikasi sebagai sudah dibaca
      */
@@ -43,13 +73,25 @@ public class NotificationController {
         return ResponseUtil.ok(null, "Notifikasi ditandai sudah dibaca");
     }
 
+    /**
+     * Tandai beberapa notifikasi sekaligus sebagai sudah dibaca
+     */
+    @PutMapping("/read")
+    public ResponseEntity<ApiResponse<Integer>> markSelectedAsRead(
+            Authentication authentication,
+            @Valid @RequestBody NotificationReadRequest request) {
+        String username = authentication.getName();
+        int updated = notificationService.markAsRead(username, request.getIds());
+        return ResponseUtil.ok(updated, updated + " notifikasi ditandai sudah dibaca");
+    }
+
     /**
      * Tandai SEMUA notifikasi sebagai sudah dibaca
      */
     @PutMapping("/read-all")
-    public ResponseEntity<ApiResponse<Void>> markAllAsRead(Authentication authentication) {
+    public ResponseEntity<ApiResponse<Integer>> markAllAsRead(Authentication authentication) {
         String username = authentication.getName();
-        notificationService.markAllAsRead(username);
-        return ResponseUtil.ok(null, "Semua notifikasi ditandai sudah dibaca");
+        int updated = notificationService.markAllAsRead(username);
+        return ResponseUtil.ok(updated, "Semua notifikasi ditandai sudah dibaca");
     }
 }
@@ -1,14 +1,18 @@
 package com.example.loanova.controller;
 
 import com.example.loanova.base.ApiResponse;
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.dto.response.PermissionResponse;
 import com.example.loanova.service.PermissionService;
 import com.example.loanova.util.ResponseUtil;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,19 +21,30 @@ import java.util.List;
 public class PermissionController {
 
     private final PermissionService permissionService;
+    private final CatalogVersions catalogVersions;
 
-    public PermissionController(PermissionService permissionService) {
+    public PermissionController(
+            PermissionService permissionService, CatalogVersions catalogVersions) {
         this.permissionService = permissionService;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
      * GET ALL PERMISSIONS
      * Hanya SUPERADMIN yang bisa melihat daftar semua hak akses yang ada di sistem.
+     * Mendukung conditional GET berdasarkan versi catalog permission.
      */
     @PreAuthorize("hasAuthority('PERMISSION:READ')")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PermissionResponse>>> getAllPermissions() {
+    public ResponseEntity<ApiResponse<List<PermissionResponse>>> getAllPermissions(
+            WebRequest webRequest) {
+        if (ResponseUtil.notModified(webRequest, catalogVersions.current(Catalog.PERMISSIONS))) {
+            return null;
+        }
         List<PermissionResponse> permissions = permissionService.getAllPermissions();
-        return ResponseUtil.ok(permissions, "Berhasil mengambil daftar hak akses");
+        return ResponseUtil.ok(
+                permissions,
+                "Berhasil mengambil daftar hak akses",
+                CacheControl.noCache().cachePrivate());
     }
 }
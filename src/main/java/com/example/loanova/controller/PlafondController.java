@@ -1,6 +1,9 @@
 package com.example.loanova.controller;
 
 import com.example.loanova.base.ApiResponse;
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogResponseCache;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.dto.request.PlafondRequest;
 import com.example.loanova.dto.response.PlafondResponse;
 import com.example.loanova.service.PlafondService;
@@ -8,9 +11,13 @@ import com.example.loanova.util.ResponseUtil;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * PLAFOND CONTROLLER REST API untuk manajemen plafon pinjaman.
@@ -20,6 +27,10 @@ import org.springframework.web.bind.annotation.*;
  *
  * <p>
  * Otorisasi: Hanya dapat diakses oleh SUPERADMIN.
+ *
+ * <p>
+ * Endpoint list mendukung conditional GET (If-None-Match / If-Modified-Since) berdasarkan versi
+ * catalog plafond; jika tidak berubah langsung 304 tanpa memanggil service.
  */
 @RestController
 @RequestMapping("/api/plafonds")
@@ -27,26 +38,60 @@ import org.springframework.web.bind.annotation.*;
 public class PlafondController {
 
   private final PlafondService plafondService;
+  private final CatalogVersions catalogVersions;
+  private final CatalogResponseCache catalogResponseCache;
 
   /**
    * GET ALL PLAFONDS (PUBLIC) Endpoint publik untuk melihat daftar plafond tanpa
    * perlu login.
    * Berguna untuk landing page atau halaman informasi produk.
+   *
+   * <p>
+   * URL paling ramai dari situs marketing: response dikirim dari byte JSON (atau gzip) yang
+   * sudah diserialisasi per versi catalog, lihat {@link CatalogResponseCache}.
    */
   //Plafond Public
   @GetMapping("/public")
-  public ResponseEntity<ApiResponse<List<PlafondResponse>>> getPublicPlafonds() {
-    List<PlafondResponse> plafonds = plafondService.getAllPlafonds();
-    return ResponseUtil.ok(plafonds, "Berhasil mengambil daftar plafond");
+  public ResponseEntity<byte[]> getPublicPlafonds(
+      WebRequest webRequest,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
+    CatalogVersions.CatalogVersion version = catalogVersions.current(Catalog.PLAFONDS);
+    if (ResponseUtil.notModified(webRequest, version)) {
+      return null;
+    }
+    CatalogResponseCache.Entry entry =
+        catalogResponseCache.get(
+            Catalog.PLAFONDS,
+            version,
+            () -> {
+              List<PlafondResponse> plafonds = plafondService.getAllPlafonds();
+              return ResponseUtil.ok(plafonds, "Berhasil mengambil daftar plafond").getBody();
+            });
+
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache().cachePublic())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (entry.gzip() != null && CatalogResponseCache.acceptsGzip(acceptEncoding)) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzip());
+    }
+    return response.body(entry.json());
   }
 
   /** GET ALL PLAFONDS (SUPERADMIN) */
   // Yang bisa akses getAllPlafonds hanya SUPERADMIN
   @PreAuthorize("hasAuthority('PLAFOND:READ')")
   @GetMapping
-  public ResponseEntity<ApiResponse<List<PlafondResponse>>> getAllPlafonds() {
+  public ResponseEntity<ApiResponse<List<PlafondResponse>>> getAllPlafonds(
+      WebRequest webRequest) {
+    if (ResponseUtil.notModified(webRequest, catalogVersions.current(Catalog.PLAFONDS))) {
+      return null;
+    }
     List<PlafondResponse> plafonds = plafondService.getAllPlafonds();
-    return ResponseUtil.ok(plafonds, "Berhasil mengambil daftar plafond");
+    return ResponseUtil.ok(
+        plafonds, "Berhasil mengambil daftar plafond", CacheControl.noCache().cachePrivate());
   }
 
   /** GET PLAFOND BY ID */
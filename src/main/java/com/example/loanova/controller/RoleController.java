@@ -1,6 +1,8 @@
 package com.example.loanova.controller;
 
 import com.example.loanova.base.ApiResponse;
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.dto.request.RoleRequest;
 import com.example.loanova.dto.request.RoleUpdateRequest;
 import com.example.loanova.dto.response.RoleResponse;
@@ -8,27 +10,35 @@ import com.example.loanova.service.RoleService;
 import com.example.loanova.util.ResponseUtil;
 import jakarta.validation.Valid;
 import java.util.List;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/roles")
 public class RoleController {
 
   private final RoleService roleService;
+  private final CatalogVersions catalogVersions;
 
-  public RoleController(RoleService roleService) {
+  public RoleController(RoleService roleService, CatalogVersions catalogVersions) {
     this.roleService = roleService;
+    this.catalogVersions = catalogVersions;
   }
 
   // GET ALL ROLES
-  // Yang bisa akses hanya SUPERADMIN
+  // Yang bisa akses hanya SUPERADMIN, 304 jika versi catalog role tidak berubah
   @PreAuthorize("hasAuthority('ROLE:READ')")
   @GetMapping
-  public ResponseEntity<ApiResponse<List<RoleResponse>>> getAllRoles() {
+  public ResponseEntity<ApiResponse<List<RoleResponse>>> getAllRoles(WebRequest webRequest) {
+    if (ResponseUtil.notModified(webRequest, catalogVersions.current(Catalog.ROLES))) {
+      return null;
+    }
     List<RoleResponse> roles = roleService.getAllRoles();
-    return ResponseUtil.ok(roles, "Berhasil mengambil daftar role");
+    return ResponseUtil.ok(
+        roles, "Berhasil mengambil daftar role", CacheControl.noCache().cachePrivate());
   }
 
   // CREATE ROLE
@@ -0,0 +1,77 @@
+package com.example.loanova.controller;
+
+import com.example.loanova.base.ApiResponse;
+import com.example.loanova.dto.request.UploadCompleteRequest;
+import com.example.loanova.dto.request.UploadSessionRequest;
+import com.example.loanova.dto.response.UploadSessionResponse;
+import com.example.loanova.service.UploadSessionService;
+import com.example.loanova.util.ResponseUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * UPLOAD SESSION CONTROLLER - Endpoint upload dokumen pinjaman secara bertahap (resumable) untuk
+ * koneksi mobile yang lambat/tidak stabil. Hasilnya direferensikan lewat uploadId saat submit
+ * pinjaman ({@code POST /api/loan-applications/from-uploads}).
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+  private final UploadSessionService uploadSessionService;
+
+  /** CUSTOMER - Buka sesi upload baru. */
+  @PostMapping
+  @PreAuthorize("hasAuthority('LOAN:SUBMIT')")
+  public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(
+      Authentication authentication, @Valid @RequestBody UploadSessionRequest request) {
+    UploadSessionResponse response =
+        uploadSessionService.createSession(authentication.getName(), request);
+    return ResponseUtil.created(response, "Sesi upload berhasil dibuat");
+  }
+
+  /** CUSTOMER - Cek progres sesi (offset untuk melanjutkan upload). */
+  @GetMapping("/{uploadId}")
+  @PreAuthorize("hasAuthority('LOAN:SUBMIT')")
+  public ResponseEntity<ApiResponse<UploadSessionResponse>> getSession(
+      Authentication authentication, @PathVariable String uploadId) {
+    UploadSessionResponse response =
+        uploadSessionService.getSession(authentication.getName(), uploadId);
+    return ResponseUtil.ok(response, "Berhasil mengambil status sesi upload");
+  }
+
+  /** CUSTOMER - Kirim satu chunk (body biner) mulai dari offset tertentu. */
+  @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  @PreAuthorize("hasAuthority('LOAN:SUBMIT')")
+  public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadChunk(
+      Authentication authentication,
+      @PathVariable String uploadId,
+      @RequestParam long offset,
+      HttpServletRequest request)
+      throws IOException {
+    UploadSessionResponse response =
+        uploadSessionService.appendChunk(
+            authentication.getName(), uploadId, offset, request.getInputStream());
+    return ResponseUtil.ok(response, "Chunk berhasil diterima");
+  }
+
+  /** CUSTOMER - Selesaikan sesi dengan verifikasi checksum SHA-256. */
+  @PostMapping("/{uploadId}/complete")
+  @PreAuthorize("hasAuthority('LOAN:SUBMIT')")
+  public ResponseEntity<ApiResponse<UploadSessionResponse>> complete(
+      Authentication authentication,
+      @PathVariable String uploadId,
+      @Valid @RequestBody UploadCompleteRequest request) {
+    UploadSessionResponse response =
+        uploadSessionService.complete(authentication.getName(), uploadId, request);
+    return ResponseUtil.ok(response, "Upload berhasil diselesaikan");
+  }
+}
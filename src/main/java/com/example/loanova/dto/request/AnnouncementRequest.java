@@ -0,0 +1,24 @@
+package com.example.loanova.dto.request;
+
+import com.example.loanova.entity.AnnouncementTarget;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class AnnouncementRequest {
+  @NotBlank(message = "Judul pengumuman wajib diisi")
+  @Size(max = 100, message = "Judul pengumuman maksimal 100 karakter")
+  private String title;
+
+  @NotBlank(message = "Isi pengumuman wajib diisi")
+  @Size(max = 255, message = "Isi pengumuman maksimal 255 karakter")
+  private String message;
+
+  @NotNull(message = "Target pengumuman wajib diisi")
+  private AnnouncementTarget target;
+
+  // Wajib untuk target BRANCH (id branch) dan PLAFOND (id plafond)
+  private Long targetId;
+}
@@ -0,0 +1,49 @@
+package com.example.loanova.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * LOAN APPLICATION UPLOAD REQUEST DTO untuk pengajuan pinjaman yang dokumennya sudah diunggah
+ * lebih dulu lewat sesi upload bertahap. Dokumen direferensikan dengan uploadId.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanApplicationUploadRequest {
+
+  @NotBlank(message = "Branch ID wajib diisi")
+  private String branchId;
+
+  @NotBlank(message = "Plafond ID wajib diisi")
+  private String plafondId;
+
+  @NotBlank(message = "Jumlah pinjaman wajib diisi")
+  private String amount;
+
+  @NotBlank(message = "Tenor wajib diisi")
+  private String tenor;
+
+  @NotBlank(message = "Pekerjaan wajib diisi")
+  @Size(max = 50, message = "Pekerjaan maksimal 50 karakter")
+  private String occupation;
+
+  @Size(max = 50, message = "Nama perusahaan maksimal 50 karakter")
+  private String companyName;
+
+  @NotBlank(message = "Nomor rekening wajib diisi")
+  @Size(max = 50, message = "Nomor rekening maksimal 50 karakter")
+  private String rekeningNumber;
+
+  // Upload ID dari sesi upload yang sudah COMPLETED
+  @NotBlank(message = "Upload ID cover buku tabungan wajib diisi")
+  private String savingBookCoverUploadId;
+
+  @NotBlank(message = "Upload ID slip gaji wajib diisi")
+  private String payslipPhotoUploadId;
+}
@@ -0,0 +1,23 @@
+package com.example.loanova.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** NOTIFICATION READ REQUEST DTO untuk menandai beberapa notifikasi sekaligus sebagai dibaca. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadRequest {
+
+  // SQL Server membatasi 2100 parameter per statement
+  @NotEmpty(message = "Daftar id notifikasi wajib diisi")
+  @Size(max = 1000, message = "Maksimal 1000 notifikasi per request")
+  private List<@NotNull(message = "Id notifikasi tidak boleh null") Long> ids;
+}
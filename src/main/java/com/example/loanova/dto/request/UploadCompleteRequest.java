@@ -0,0 +1,20 @@
+package com.example.loanova.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** UPLOAD COMPLETE REQUEST DTO untuk menyelesaikan sesi upload dengan verifikasi checksum. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadCompleteRequest {
+
+  @NotBlank(message = "Checksum SHA-256 wajib diisi")
+  @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "Checksum SHA-256 harus 64 karakter hex")
+  private String sha256;
+}
@@ -0,0 +1,29 @@
+package com.example.loanova.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** UPLOAD SESSION REQUEST DTO untuk membuka sesi upload dokumen bertahap. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+
+  @NotBlank(message = "Nama file wajib diisi")
+  @Size(max = 255, message = "Nama file maksimal 255 karakter")
+  private String fileName;
+
+  @NotBlank(message = "Content type wajib diisi")
+  private String contentType;
+
+  @NotNull(message = "Ukuran file wajib diisi")
+  @Positive(message = "Ukuran file harus lebih besar dari 0")
+  private Long totalSize;
+}
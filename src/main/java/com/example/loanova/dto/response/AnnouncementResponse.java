@@ -0,0 +1,27 @@
+package com.example.loanova.dto.response;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementResponse {
+  private Long id;
+  private String title;
+  private String message;
+  private String target;
+  private Long targetId;
+  private String status;
+  // Progress fan-out: deliveredCount dari totalRecipients (null sebelum fan-out dimulai)
+  private Long totalRecipients;
+  private Long deliveredCount;
+  private String createdBy;
+  private LocalDateTime createdAt;
+  private LocalDateTime startedAt;
+  private LocalDateTime completedAt;
+}
@@ -1,10 +1,14 @@
 package com.example.loanova.dto.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class BranchResponse {
   private Long id;
   private String branchCode;
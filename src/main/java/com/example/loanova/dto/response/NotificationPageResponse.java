@@ -0,0 +1,17 @@
+package com.example.loanova.dto.response;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * NOTIFICATION PAGE RESPONSE - Satu halaman notifikasi (terbaru dulu) dengan cursor ke halaman
+ * berikutnya.
+ */
+@Data
+@Builder
+public class NotificationPageResponse {
+    private List<NotificationResponse> items;
+    // Id notifikasi terakhir di halaman ini, null jika sudah halaman terakhir
+    private Long nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.example.loanova.dto.response;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * UPLOAD SESSION RESPONSE DTO. Client memakai {@code receivedBytes} sebagai offset chunk
+ * berikutnya saat melanjutkan upload yang terputus.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+  private String uploadId;
+  private String fileName;
+  private String contentType;
+  private Long totalSize;
+  private Long receivedBytes;
+  private String status;
+  private LocalDateTime expiresAt;
+}
@@ -0,0 +1,80 @@
+package com.example.loanova.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * ANNOUNCEMENT ENTITY - Pengumuman broadcast ke sekelompok customer (semua customer, customer satu
+ * branch, atau pemegang plafond tertentu).
+ *
+ * <p>Pesan disimpan sekali di sini lalu di-fan-out {@code AnnouncementFanout} di background menjadi
+ * baris notifications per user. {@code lastUserId} adalah cursor fan-out yang di-commit bersama
+ * setiap batch insert, sehingga fan-out bisa dilanjutkan setelah restart tanpa duplikat.
+ */
+@Entity
+@Table(
+    name = "announcements",
+    indexes = {@Index(name = "idx_announcements_status", columnList = "status, id")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Announcement {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "title", nullable = false, length = 100)
+  private String title;
+
+  @Column(name = "message", nullable = false)
+  private String message;
+
+  @Column(name = "target", nullable = false, length = 20)
+  private String target;
+
+  // Id branch / plafond sesuai target, null untuk ALL_CUSTOMERS
+  @Column(name = "target_id")
+  private Long targetId;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  // Dihitung saat fan-out dimulai
+  @Column(name = "total_recipients")
+  private Long totalRecipients;
+
+  @Column(name = "delivered_count", nullable = false)
+  private Long deliveredCount;
+
+  @Column(name = "last_user_id", nullable = false)
+  private Long lastUserId;
+
+  @Column(name = "created_by", nullable = false, length = 50)
+  private String createdBy;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "started_at")
+  private LocalDateTime startedAt;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    if (status == null) {
+      status = AnnouncementStatus.PENDING.name();
+    }
+    if (deliveredCount == null) {
+      deliveredCount = 0L;
+    }
+    if (lastUserId == null) {
+      lastUserId = 0L;
+    }
+  }
+}
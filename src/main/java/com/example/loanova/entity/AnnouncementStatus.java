@@ -0,0 +1,8 @@
+package com.example.loanova.entity;
+
+/** ANNOUNCEMENT STATUS ENUM Status fan-out pengumuman ke notifikasi per user. */
+public enum AnnouncementStatus {
+  PENDING, // Tersimpan, fan-out belum dimulai
+  RUNNING, // Fan-out berjalan (dilanjutkan dari lastUserId setelah restart)
+  COMPLETED // Semua penerima sudah mendapat notifikasi
+}
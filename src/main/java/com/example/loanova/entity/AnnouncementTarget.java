@@ -0,0 +1,8 @@
+package com.example.loanova.entity;
+
+/** ANNOUNCEMENT TARGET ENUM Kelompok penerima pengumuman; BRANCH dan PLAFOND memakai targetId. */
+public enum AnnouncementTarget {
+  ALL_CUSTOMERS, // Semua customer aktif
+  BRANCH, // Customer yang pernah mengajukan pinjaman di branch tersebut
+  PLAFOND // Customer dengan plafond aktif tersebut
+}
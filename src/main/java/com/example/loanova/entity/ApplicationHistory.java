@@ -17,7 +17,14 @@ import lombok.*;
  * history
  */
 @Entity
-@Table(name = "application_histories")
+@Table(
+      name = "application_histories",
+      indexes = {
+            // Timeline per aplikasi (urut created_at) tanpa sort tambahan
+            @Index(
+                  name = "idx_application_histories_app_created",
+                  columnList = "loan_application_id, created_at")
+      })
 @Data
 @Builder
 @NoArgsConstructor
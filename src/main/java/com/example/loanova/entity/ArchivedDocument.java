@@ -0,0 +1,54 @@
+package com.example.loanova.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * ARCHIVED DOCUMENT ENTITY - Index dokumen yang sudah dipindahkan ke cold tier.
+ *
+ * <p>Setiap baris memetakan path logis (tetap sama seperti yang tersimpan di kolom dokumen) ke
+ * lokasi entry terkompresi di dalam pack file: nama pack, offset awal data, dan panjangnya.
+ * Dengan index ini satu dokumen bisa dibaca langsung (random access) tanpa membuka seluruh pack.
+ */
+@Entity
+@Table(name = "archived_documents")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedDocument {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "path", nullable = false, unique = true, length = 255)
+  private String path;
+
+  @Column(name = "pack_name", nullable = false, length = 100)
+  private String packName;
+
+  // "offset" adalah keyword di SQL Server
+  @Column(name = "pack_offset", nullable = false)
+  private Long packOffset;
+
+  @Column(name = "stored_length", nullable = false)
+  private Integer storedLength;
+
+  @Column(name = "original_length", nullable = false)
+  private Long originalLength;
+
+  @Column(name = "crc32", nullable = false)
+  private Long crc32;
+
+  @Column(name = "archived_at", nullable = false, updatable = false)
+  private LocalDateTime archivedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    if (archivedAt == null) {
+      archivedAt = LocalDateTime.now();
+    }
+  }
+}
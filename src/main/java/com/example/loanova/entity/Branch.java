@@ -1,10 +1,16 @@
 package com.example.loanova.entity;
 
+import com.example.loanova.cache.ReferenceEntityCacheListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "branches")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(ReferenceEntityCacheListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,7 +24,15 @@ import lombok.*;
  * banyak history status
  */
 @Entity
-@Table(name = "loan_applications")
+@Table(
+      name = "loan_applications",
+      indexes = {
+         // Index path dokumen untuk set lookup garbage collector file orphan
+         @Index(name = "idx_loan_applications_ktp_snapshot", columnList = "ktp_photo_snapshot"),
+         @Index(name = "idx_loan_applications_npwp_snapshot", columnList = "npwp_photo_snapshot"),
+         @Index(name = "idx_loan_applications_saving_book", columnList = "saving_book_cover"),
+         @Index(name = "idx_loan_applications_payslip", columnList = "payslip_photo")
+      })
 @Data
 @Builder
 @NoArgsConstructor
@@ -102,6 +110,10 @@ public class LoanApplication {
    @Column(name = "payslip_photo", nullable = false, length = 255)
    private String payslipPhoto;
 
+   // ARSIP - Diisi saat dokumen dipindahkan ke cold tier (pack file)
+   @Column(name = "documents_archived_at")
+   private LocalDateTime documentsArchivedAt;
+
    @PrePersist
    protected void onCreate() {
       if (submittedAt == null) {
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -21,14 +22,22 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(
+        name = "notifications",
+        indexes = {
+            // Cursor pagination per user (keyset by id) dan hitung ulang counter unread
+            @Index(name = "idx_notifications_user_id", columnList = "user_id, id"),
+            @Index(name = "idx_notifications_user_unread", columnList = "user_id, is_read"),
+            // Pencarian batch arsip (sudah dibaca, lebih tua dari masa retensi)
+            @Index(name = "idx_notifications_read_created", columnList = "is_read, created_at")
+        })
 public class Notification {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -0,0 +1,51 @@
+package com.example.loanova.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * NOTIFICATION ARCHIVE ENTITY - Notifikasi yang sudah dibaca dan melewati masa retensi.
+ *
+ * <p>Baris dipindahkan dari {@code notifications} oleh {@code NotificationArchiver} (DELETE ...
+ * OUTPUT INTO) dengan id yang sama. Tidak ada foreign key ke users agar OUTPUT INTO bisa dipakai
+ * dan user tetap bisa dihapus. Kompresi PAGE diaktifkan lewat NOTIFICATIONS_PARTITIONING.sql.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "notifications_archive",
+        indexes = {@Index(name = "idx_notifications_archive_user_id", columnList = "user_id, id")})
+public class NotificationArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "title", length = 100, nullable = false)
+    private String title;
+
+    @Column(name = "message", nullable = false)
+    private String message;
+
+    @Column(name = "is_read", nullable = false)
+    private Boolean isRead;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,66 @@
+package com.example.loanova.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * OUTBOX MESSAGE ENTITY - Pesan yang harus dikirim ke sistem luar (email, push notifikasi) setelah
+ * transaksi bisnis commit.
+ *
+ * <p>Ditulis di transaksi yang sama dengan perubahan bisnis sehingga pesan tidak hilang ketika
+ * commit berhasil dan tidak terkirim ketika rollback. Pengiriman dilakukan {@code OutboxDispatcher}
+ * di background dengan retry dan exponential backoff.
+ */
+@Entity
+@Table(
+    name = "outbox_messages",
+    indexes = {
+      @Index(
+          name = "idx_outbox_messages_type_status_next",
+          columnList = "type, status, next_attempt_at, id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  // Jenis pesan, menentukan handler pengirim (EMAIL, NOTIFICATION_PUSH)
+  @Column(name = "type", nullable = false, length = 50)
+  private String type;
+
+  // JSON payload sesuai type
+  @Column(name = "payload", nullable = false, columnDefinition = "NVARCHAR(MAX)")
+  private String payload;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  @Column(name = "attempts", nullable = false)
+  private Integer attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "processed_at")
+  private LocalDateTime processedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    if (nextAttemptAt == null) {
+      nextAttemptAt = createdAt;
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.loanova.entity;
+
+/**
+ * OUTBOX MESSAGE STATUS ENUM Status pesan outbox dari ditulis bersama transaksi bisnis hingga
+ * terkirim.
+ */
+public enum OutboxMessageStatus {
+  PENDING, // Menunggu dikirim (atau menunggu retry berikutnya)
+  DONE, // Berhasil dikirim
+  FAILED // Gagal setelah batas percobaan, perlu ditangani manual
+}
@@ -1,12 +1,18 @@
 package com.example.loanova.entity;
 
+import com.example.loanova.cache.ReferenceEntityCacheListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.Set;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "permissions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(ReferenceEntityCacheListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,8 +1,11 @@
 package com.example.loanova.entity;
 
+import com.example.loanova.cache.ReferenceEntityCacheListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * PLAFOND ENTITY Merepresentasikan paket plafon pinjaman beserta suku bunga dan tenornya.
@@ -10,6 +13,9 @@ import lombok.*;
  */
 @Entity
 @Table(name = "plafonds")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(ReferenceEntityCacheListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,11 +1,17 @@
 package com.example.loanova.entity;
 
+import com.example.loanova.cache.ReferenceEntityCacheListener;
 import jakarta.persistence.*;
 import java.util.Set;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(ReferenceEntityCacheListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,6 +26,7 @@ public class Role extends BaseEntity {
   private String roleDescription;
 
   @ManyToMany(fetch = FetchType.EAGER)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
   @JoinTable(
       name = "role_permissions",
       joinColumns = @JoinColumn(name = "role_id"),
@@ -0,0 +1,68 @@
+package com.example.loanova.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * UPLOAD SESSION ENTITY - Sesi upload dokumen bertahap (resumable).
+ *
+ * <p>Client membuat sesi dengan ukuran total, mengirim chunk dengan offset, lalu menyelesaikan
+ * sesi dengan checksum SHA-256. Setelah COMPLETED, {@code uploadId} bisa direferensikan saat
+ * submit pinjaman sehingga request transaksional tidak lagi membawa file.
+ */
+@Entity
+@Table(
+    name = "upload_sessions",
+    indexes = {
+      @Index(name = "idx_upload_sessions_status_expires", columnList = "status, expires_at"),
+      @Index(name = "idx_upload_sessions_user_status", columnList = "user_id, status")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  // ID publik (UUID) agar sesi tidak bisa ditebak dari ID berurutan
+  @Column(name = "upload_id", nullable = false, unique = true, length = 36)
+  private String uploadId;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @Column(name = "file_name", nullable = false, length = 255)
+  private String fileName;
+
+  @Column(name = "content_type", nullable = false, length = 100)
+  private String contentType;
+
+  @Column(name = "total_size", nullable = false)
+  private Long totalSize;
+
+  @Column(name = "received_bytes", nullable = false)
+  private Long receivedBytes;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  // Path logis di DocumentStorage, terisi setelah COMPLETED
+  @Column(name = "storage_path", length = 255)
+  private String storagePath;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+}
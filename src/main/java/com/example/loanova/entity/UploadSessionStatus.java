@@ -0,0 +1,13 @@
+package com.example.loanova.entity;
+
+/**
+ * UPLOAD SESSION STATUS ENUM Status sesi upload bertahap (chunked) dari dibuat hingga dipakai
+ * oleh pengajuan pinjaman.
+ */
+public enum UploadSessionStatus {
+  IN_PROGRESS, // Chunk masih diterima
+  COMPLETING, // Sedang diverifikasi dan dipindah ke storage, chunk baru ditolak
+  COMPLETED, // Checksum valid, file sudah dipindah ke DocumentStorage
+  CONSUMED, // Sudah direferensikan oleh pengajuan pinjaman
+  EXPIRED // Melewati batas waktu sebelum dipakai
+}
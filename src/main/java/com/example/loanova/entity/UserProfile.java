@@ -13,7 +13,14 @@ import lombok.*;
  * updated for data accuracy and compliance purposes.
  */
 @Entity
-@Table(name = "users_profiles")
+@Table(
+    name = "users_profiles",
+    indexes = {
+      // Index path dokumen untuk set lookup garbage collector file orphan
+      @Index(name = "idx_users_profiles_ktp_photo", columnList = "ktp_photo"),
+      @Index(name = "idx_users_profiles_profile_photo", columnList = "profile_photo"),
+      @Index(name = "idx_users_profiles_npwp_photo", columnList = "npwp_photo")
+    })
 @Data
 @Builder
 @NoArgsConstructor
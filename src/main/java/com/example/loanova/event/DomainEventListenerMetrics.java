@@ -0,0 +1,44 @@
+package com.example.loanova.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * DOMAIN EVENT LISTENER METRICS - Mencatat durasi dan hasil setiap listener domain event.
+ *
+ * <p>Metric {@code domain.event.listener} (tag listener, outcome: success, failure). Exception
+ * listener dicatat dan tidak diteruskan agar satu listener yang gagal tidak memengaruhi listener
+ * lain maupun thread executor.
+ */
+@Slf4j
+@Component
+public class DomainEventListenerMetrics {
+
+  private final MeterRegistry meterRegistry;
+
+  public DomainEventListenerMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Jalankan {@code action} sebagai listener {@code listener} dan catat hasilnya. */
+  public void run(String listener, Object event, Runnable action) {
+    long start = System.nanoTime();
+    String outcome = "success";
+    try {
+      action.run();
+    } catch (RuntimeException e) {
+      outcome = "failure";
+      log.error("Listener {} gagal memproses {}: {}", listener, event, e.getMessage(), e);
+    } finally {
+      Timer.builder("domain.event.listener")
+          .description("Durasi listener domain event per listener dan hasil")
+          .tag("listener", listener)
+          .tag("outcome", outcome)
+          .register(meterRegistry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.example.loanova.event;
+
+import com.example.loanova.dto.response.LoanApplicationResponse;
+import java.math.BigDecimal;
+
+/**
+ * LOAN STATUS CHANGED EVENT - Dipublish setiap kali status loan application berubah (termasuk
+ * submit, dengan {@code fromStatus} null).
+ *
+ * <p>Listener antrian dan metric menerima event setelah transaksi commit lewat {@code
+ * @TransactionalEventListener} sehingga transisi yang di-rollback tidak pernah memicu update
+ * antrian. Notifikasi customer ditulis sebelum commit di transaksi yang sama.
+ *
+ * @param application snapshot response setelah transisi (dipakai listener antrian kerja)
+ * @param actorRole role yang melakukan transisi: CUSTOMER, MARKETING, BRANCHMANAGER, BACKOFFICE
+ * @param comment komentar reviewer, null jika tidak ada
+ */
+public record LoanStatusChangedEvent(
+    Long applicationId,
+    Long customerId,
+    Long branchId,
+    String fromStatus,
+    String toStatus,
+    String actorRole,
+    String comment,
+    BigDecimal amount,
+    LoanApplicationResponse application) {}
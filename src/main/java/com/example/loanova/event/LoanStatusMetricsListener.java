@@ -0,0 +1,44 @@
+package com.example.loanova.event;
+
+import com.example.loanova.config.AsyncConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * LOAN STATUS METRICS LISTENER - Counter {@code loan.status.transitions} (tag from, to, role) untuk
+ * setiap transisi yang commit. Submit tercatat dengan from=NONE.
+ */
+@Component
+public class LoanStatusMetricsListener {
+
+  static final String NAME = "metrics";
+
+  private final MeterRegistry meterRegistry;
+  private final DomainEventListenerMetrics metrics;
+
+  public LoanStatusMetricsListener(
+      MeterRegistry meterRegistry, DomainEventListenerMetrics metrics) {
+    this.meterRegistry = meterRegistry;
+    this.metrics = metrics;
+  }
+
+  @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onStatusChanged(LoanStatusChangedEvent event) {
+    metrics.run(
+        NAME,
+        event,
+        () ->
+            Counter.builder("loan.status.transitions")
+                .description("Transisi status loan application yang sudah commit")
+                .tag("from", event.fromStatus() != null ? event.fromStatus() : "NONE")
+                .tag("to", event.toStatus())
+                .tag("role", event.actorRole())
+                .register(meterRegistry)
+                .increment());
+  }
+}
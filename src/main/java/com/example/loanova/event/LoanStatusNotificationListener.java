@@ -0,0 +1,77 @@
+package com.example.loanova.event;
+
+import com.example.loanova.entity.LoanApplicationStatus;
+import com.example.loanova.service.NotificationService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * LOAN STATUS NOTIFICATION LISTENER - Mengirim notifikasi ke customer setelah status pengajuannya
+ * berubah.
+ *
+ * <p>Berjalan sebelum commit di transaksi transisi: baris notifikasi dan entry outbox push ditulis
+ * atomik bersama perubahan status, sehingga notifikasi tidak hilang jika aplikasi berhenti setelah
+ * commit. Push SSE tetap asinkron lewat outbox. Kegagalan menulis notifikasi membatalkan transisi.
+ */
+@Component
+public class LoanStatusNotificationListener {
+
+  private final NotificationService notificationService;
+
+  public LoanStatusNotificationListener(NotificationService notificationService) {
+    this.notificationService = notificationService;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onStatusChanged(LoanStatusChangedEvent event) {
+    String[] content = content(event);
+    if (content != null) {
+      notificationService.createNotification(event.customerId(), content[0], content[1]);
+    }
+  }
+
+  /** Judul dan isi notifikasi untuk transisi ini, null jika customer tidak perlu diberi tahu. */
+  private static String[] content(LoanStatusChangedEvent event) {
+    LoanApplicationStatus status = LoanApplicationStatus.valueOf(event.toStatus());
+    return switch (status) {
+      case WAITING_APPROVAL -> new String[] {
+        "Pengajuan Pinjaman Diproses",
+        "Pengajuan pinjaman Anda telah diproses oleh Marketing dan sekarang menunggu persetujuan"
+            + " Branch Manager."
+      };
+      case WAITING_DISBURSEMENT -> new String[] {
+        "Pengajuan Pinjaman Disetujui",
+        "Selamat! Pengajuan pinjaman Anda telah disetujui oleh Branch Manager dan sedang menunggu"
+            + " pencairan dana."
+      };
+      case DISBURSED -> new String[] {
+        "Dana Pinjaman Cair!",
+        "Kabar gembira! Dana pinjaman Anda sebesar Rp "
+            + event.amount()
+            + " telah berhasil dicairkan. Silakan cek rekening Anda."
+      };
+      case REJECTED -> rejected(event);
+      case PENDING_REVIEW -> null;
+    };
+  }
+
+  private static String[] rejected(LoanStatusChangedEvent event) {
+    return switch (event.actorRole()) {
+      case "MARKETING" -> new String[] {
+        "Pengajuan Pinjaman Ditolak",
+        "Mohon maaf, pengajuan pinjaman Anda ditolak oleh Marketing. Alasan: " + event.comment()
+      };
+      case "BRANCHMANAGER" -> new String[] {
+        "Pengajuan Pinjaman Ditolak",
+        "Mohon maaf, pengajuan pinjaman Anda ditolak oleh Branch Manager. Alasan: "
+            + event.comment()
+      };
+      default -> new String[] {
+        "Pencairan Pinjaman Ditolak",
+        "Mohon maaf, proses pencairan pinjaman Anda ditolak oleh Backoffice. Alasan: "
+            + event.comment()
+      };
+    };
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.loanova.event;
+
+import com.example.loanova.config.AsyncConfig;
+import com.example.loanova.queue.LoanWorkQueues;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * LOAN WORK QUEUE LISTENER - Memindahkan aplikasi ke antrian kerja Redis sesuai status barunya
+ * dan membuang hasil read antrian yang tersimpan. Urutan antar event tidak dijamin di executor,
+ * tetapi script antrian mengabaikan status yang lebih awal dari yang sudah diterapkan.
+ */
+@Component
+public class LoanWorkQueueListener {
+
+  static final String NAME = "work-queue";
+
+  private final LoanWorkQueues loanWorkQueues;
+  private final DomainEventListenerMetrics metrics;
+
+  public LoanWorkQueueListener(LoanWorkQueues loanWorkQueues, DomainEventListenerMetrics metrics) {
+    this.loanWorkQueues = loanWorkQueues;
+    this.metrics = metrics;
+  }
+
+  @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onStatusChanged(LoanStatusChangedEvent event) {
+    metrics.run(NAME, event, () -> loanWorkQueues.publish(event.application()));
+  }
+}
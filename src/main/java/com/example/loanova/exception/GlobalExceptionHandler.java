@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestControllerAdvice
@@ -87,6 +88,24 @@ public class GlobalExceptionHandler {
     return ResponseUtil.error(HttpStatus.BAD_REQUEST, "Validasi gagal", Map.of("errors", errors));
   }
 
+  /* Untuk exception validasi parameter (@RequestParam / @PathVariable) 400 */
+  @ExceptionHandler(HandlerMethodValidationException.class)
+  public ResponseEntity<ApiResponse<Object>> handleMethodValidation(
+      HandlerMethodValidationException ex) {
+    Map<String, String> errors = new HashMap<>();
+    ex.getParameterValidationResults()
+        .forEach(
+            result ->
+                result
+                    .getResolvableErrors()
+                    .forEach(
+                        error ->
+                            errors.put(
+                                result.getMethodParameter().getParameterName(),
+                                error.getDefaultMessage())));
+    return ResponseUtil.error(HttpStatus.BAD_REQUEST, "Validasi gagal", Map.of("errors", errors));
+  }
+
   /* Untuk exception jika ada kesalahan bisnis / validasi 400 */
   @ExceptionHandler(BusinessException.class)
   public ResponseEntity<ApiResponse<Object>> handleBusiness(BusinessException ex) {
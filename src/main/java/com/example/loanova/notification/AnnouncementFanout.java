@@ -0,0 +1,202 @@
+package com.example.loanova.notification;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.entity.Announcement;
+import com.example.loanova.entity.AnnouncementStatus;
+import com.example.loanova.entity.AnnouncementTarget;
+import com.example.loanova.repository.AnnouncementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * ANNOUNCEMENT FANOUT - Mengubah pengumuman menjadi baris notifications per penerima di background.
+ *
+ * <p>Penerima dibaca per batch dengan keyset pada users.id ({@code announcement.fanout.batch-size},
+ * di bawah ambang lock escalation SQL Server sehingga tabel notifications tidak terkunci), lalu
+ * di-insert dengan JDBC batch. Insert dan cursor {@code last_user_id} di-commit dalam satu
+ * transaksi per batch: jika instance mati di tengah jalan, run berikutnya melanjutkan tanpa
+ * notifikasi ganda. Di antara batch job berhenti sejenak ({@code announcement.fanout.batch-pause})
+ * dan satu run dibatasi {@code announcement.fanout.max-duration} agar trafik OLTP tidak tergeser.
+ *
+ * <p>Counter unread penerima dibuang per batch (dihitung ulang saat dibaca). Notifikasi pengumuman
+ * tidak di-push lewat SSE; client melihatnya dari badge dan halaman notifikasi. Lock Redis
+ * memastikan hanya satu instance yang berjalan; jumlah baris tersedia di metric {@code
+ * announcement.fanout.rows}.
+ */
+@Slf4j
+@Component
+public class AnnouncementFanout {
+
+  static final String LOCK_KEY = "announcement_fanout:lock";
+
+  private static final String CUSTOMER_FILTER =
+      "u.is_active = 1 AND u.deleted_at IS NULL AND EXISTS (SELECT 1 FROM user_roles ur "
+          + "JOIN roles r ON r.id = ur.role_id "
+          + "WHERE ur.user_id = u.id AND r.role_name = 'CUSTOMER')";
+  private static final String BRANCH_FILTER =
+      " AND EXISTS (SELECT 1 FROM loan_applications la "
+          + "WHERE la.user_id = u.id AND la.branch_id = ?)";
+  private static final String PLAFOND_FILTER =
+      " AND EXISTS (SELECT 1 FROM user_plafond up "
+          + "WHERE up.user_id = u.id AND up.plafond_id = ? AND up.is_active = 1)";
+  private static final String INSERT_NOTIFICATION =
+      "INSERT INTO notifications (user_id, title, message, is_read, created_at) "
+          + "VALUES (?, ?, ?, 0, ?)";
+
+  private final AnnouncementRepository announcementRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final StringRedisTemplate redisTemplate;
+  private final UnreadNotificationCounter unreadCounter;
+  private final Counter deliveredRows;
+
+  @Value("${announcement.fanout.batch-size:1000}")
+  private int batchSize;
+
+  @Value("${announcement.fanout.batch-pause:PT0.1S}")
+  private Duration batchPause;
+
+  @Value("${announcement.fanout.max-duration:PT5M}")
+  private Duration maxDuration;
+
+  public AnnouncementFanout(
+      AnnouncementRepository announcementRepository,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      StringRedisTemplate redisTemplate,
+      UnreadNotificationCounter unreadCounter,
+      MeterRegistry meterRegistry) {
+    this.announcementRepository = announcementRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.redisTemplate = redisTemplate;
+    this.unreadCounter = unreadCounter;
+    this.deliveredRows =
+        Counter.builder("announcement.fanout.rows")
+            .description("Notifikasi per user yang dibuat dari pengumuman")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${announcement.fanout.poll-interval:PT10S}")
+  public void fanOut() {
+    String owner = UUID.randomUUID().toString();
+    Boolean acquired =
+        redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, maxDuration.plusMinutes(5));
+    if (!Boolean.TRUE.equals(acquired)) {
+      log.debug("Fan-out pengumuman sedang berjalan di instance lain, skip");
+      return;
+    }
+
+    try {
+      long deadline = System.nanoTime() + maxDuration.toNanos();
+      Optional<Announcement> next;
+      while ((next = nextAnnouncement()).isPresent()) {
+        if (!fanOut(next.get(), deadline)) {
+          log.info("Fan-out pengumuman mencapai batas waktu, dilanjutkan di run berikutnya");
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Fan-out pengumuman dihentikan");
+    } catch (RuntimeException e) {
+      log.error("Fan-out pengumuman berhenti: {}", e.getMessage());
+    } finally {
+      CacheLoadSupport.releaseLock(redisTemplate, LOCK_KEY, owner);
+    }
+  }
+
+  /** Fan-out satu pengumuman; false jika berhenti karena batas waktu run. */
+  private boolean fanOut(Announcement announcement, long deadline) throws InterruptedException {
+    AnnouncementTarget target = AnnouncementTarget.valueOf(announcement.getTarget());
+    Long id = announcement.getId();
+    if (AnnouncementStatus.PENDING.name().equals(announcement.getStatus())) {
+      long total = countRecipients(target, announcement.getTargetId());
+      transactionTemplate.executeWithoutResult(
+          status -> announcementRepository.markStarted(id, total, LocalDateTime.now()));
+      log.info("Fan-out pengumuman {} dimulai: {} penerima", id, total);
+    }
+
+    long afterUserId = announcement.getLastUserId();
+    while (true) {
+      List<Long> recipients = nextRecipients(target, announcement.getTargetId(), afterUserId);
+      if (recipients.isEmpty()) {
+        transactionTemplate.executeWithoutResult(
+            status -> announcementRepository.markCompleted(id, LocalDateTime.now()));
+        log.info("Fan-out pengumuman {} selesai", id);
+        return true;
+      }
+
+      Long lastUserId = recipients.get(recipients.size() - 1);
+      Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            jdbcTemplate.batchUpdate(
+                INSERT_NOTIFICATION,
+                recipients,
+                recipients.size(),
+                (ps, userId) -> {
+                  ps.setLong(1, userId);
+                  ps.setString(2, announcement.getTitle());
+                  ps.setString(3, announcement.getMessage());
+                  ps.setTimestamp(4, now);
+                });
+            announcementRepository.recordProgress(id, lastUserId, recipients.size());
+          });
+      unreadCounter.invalidate(recipients);
+      deliveredRows.increment(recipients.size());
+      afterUserId = lastUserId;
+
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      Thread.sleep(batchPause.toMillis());
+    }
+  }
+
+  private Optional<Announcement> nextAnnouncement() {
+    return announcementRepository.findFirstByStatusInOrderByIdAsc(
+        List.of(AnnouncementStatus.RUNNING.name(), AnnouncementStatus.PENDING.name()));
+  }
+
+  private List<Long> nextRecipients(AnnouncementTarget target, Long targetId, long afterUserId) {
+    String sql =
+        "SELECT TOP (?) u.id FROM users u WHERE u.id > ? AND "
+            + CUSTOMER_FILTER
+            + targetFilter(target)
+            + " ORDER BY u.id";
+    return target == AnnouncementTarget.ALL_CUSTOMERS
+        ? jdbcTemplate.queryForList(sql, Long.class, batchSize, afterUserId)
+        : jdbcTemplate.queryForList(sql, Long.class, batchSize, afterUserId, targetId);
+  }
+
+  private long countRecipients(AnnouncementTarget target, Long targetId) {
+    String sql = "SELECT COUNT(*) FROM users u WHERE " + CUSTOMER_FILTER + targetFilter(target);
+    Long count =
+        target == AnnouncementTarget.ALL_CUSTOMERS
+            ? jdbcTemplate.queryForObject(sql, Long.class)
+            : jdbcTemplate.queryForObject(sql, Long.class, targetId);
+    return count != null ? count : 0L;
+  }
+
+  private static String targetFilter(AnnouncementTarget target) {
+    return switch (target) {
+      case ALL_CUSTOMERS -> "";
+      case BRANCH -> BRANCH_FILTER;
+      case PLAFOND -> PLAFOND_FILTER;
+    };
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.loanova.notification;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * NOTIFICATION ARCHIVER - Memindahkan notifikasi yang sudah dibaca dan lebih tua dari {@code
+ * notification.archive.retention} ke tabel {@code notifications_archive}.
+ *
+ * <p>Setiap batch ({@code notification.archive.batch-size}, di bawah ambang lock escalation SQL
+ * Server) adalah satu DELETE ... OUTPUT INTO yang commit sendiri, sehingga job bisa berhenti kapan
+ * saja dan run berikutnya melanjutkan dari baris yang tersisa. Di antara batch job berhenti sejenak
+ * ({@code notification.archive.batch-pause}) dan satu run dibatasi {@code
+ * notification.archive.max-duration} agar tidak bersaing dengan trafik user. Notifikasi yang belum
+ * dibaca tidak pernah diarsip, jadi counter unread tidak berubah. Lock Redis memastikan hanya satu
+ * instance yang berjalan; jumlah baris tersedia di metric {@code notification.archive.rows}.
+ *
+ * <p>Aktif hanya jika {@code notification.archive.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.archive.enabled", havingValue = "true")
+public class NotificationArchiver {
+
+    static final String LOCK_KEY = "notification_archive:lock";
+
+    private final NotificationRepository notificationRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedRows;
+
+    @Value("${notification.archive.retention:P90D}")
+    private Duration retention;
+
+    @Value("${notification.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${notification.archive.batch-pause:PT0.2S}")
+    private Duration batchPause;
+
+    @Value("${notification.archive.max-duration:PT30M}")
+    private Duration maxDuration;
+
+    public NotificationArchiver(
+            NotificationRepository notificationRepository,
+            StringRedisTemplate redisTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedRows = Counter.builder("notification.archive.rows")
+                .description("Notifikasi yang dipindahkan ke notifications_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${notification.archive.cron:0 0 3 * * *}")
+    public void archive() {
+        String owner = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_KEY, owner, maxDuration.plusMinutes(5));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("Arsip notifikasi sedang berjalan di instance lain, skip");
+            return;
+        }
+
+        try {
+            runOnce();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Arsip notifikasi dihentikan");
+        } catch (RuntimeException e) {
+            log.error("Arsip notifikasi berhenti: {}", e.getMessage());
+        } finally {
+            CacheLoadSupport.releaseLock(redisTemplate, LOCK_KEY, owner);
+        }
+    }
+
+    private void runOnce() throws InterruptedException {
+        // Cutoff tetap selama satu run agar job selalu selesai
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long total = 0;
+
+        while (true) {
+            Integer moved = transactionTemplate.execute(
+                    status -> notificationRepository.archiveReadBefore(cutoff, batchSize));
+            int rows = moved != null ? moved : 0;
+            total += rows;
+            archivedRows.increment(rows);
+            if (rows < batchSize) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                log.info("Arsip notifikasi mencapai batas waktu, dilanjutkan di run berikutnya");
+                break;
+            }
+            Thread.sleep(batchPause.toMillis());
+        }
+
+        log.info("Arsip notifikasi selesai: {} notifikasi dipindah (cutoff {})", total, cutoff);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.loanova.notification;
+
+import com.example.loanova.outbox.OutboxHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * NOTIFICATION PUSH HANDLER - Meneruskan notifikasi dari outbox ke stream SSE semua node lewat
+ * Redis pub/sub.
+ */
+@Component
+public class NotificationPushHandler implements OutboxHandler {
+
+    public static final String TYPE = "NOTIFICATION_PUSH";
+
+    private final NotificationStreamHub streamHub;
+
+    public NotificationPushHandler(NotificationStreamHub streamHub) {
+        this.streamHub = streamHub;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void deliver(String payload) {
+        streamHub.broadcast(payload);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.loanova.notification;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * NOTIFICATION READ BUFFER - Write-behind untuk tanda "sudah dibaca".
+ *
+ * <p>Tanda baca disimpan dulu di Redis ({@code notification_read_buffer:<userId>}, set id
+ * notifikasi) dan daftar user yang punya tanda baca tertunda ({@code
+ * notification_read_buffer:users}). Setiap {@code notification.read-buffer.flush-interval} semua
+ * tanda baca digabung per user dan ditulis dengan UPDATE ... WHERE id IN (...) dalam satu
+ * transaksi, sehingga ratusan PUT dari client yang men-scroll menjadi satu transaksi.
+ *
+ * <p>Id baru dihapus dari buffer setelah transaksi commit; jika instance mati di tengah flush, id
+ * tetap di Redis (AOF) dan di-flush ulang (UPDATE hanya menyentuh yang belum dibaca sehingga
+ * aman diulang). Status baca hanya bisa berubah dari belum ke sudah dibaca, jadi urutan flush
+ * tidak memengaruhi hasil akhir. Jika Redis tidak tersedia, tanda baca langsung ditulis ke
+ * database. Lock Redis memastikan hanya satu instance yang flush; metric {@code
+ * notification.read_buffer.flushed} menghitung tanda baca yang ditulis.
+ */
+@Slf4j
+@Component
+public class NotificationReadBuffer {
+
+    static final String KEY_PREFIX = "notification_read_buffer:";
+    static final String USERS_KEY = KEY_PREFIX + "users";
+    static final String LOCK_KEY = KEY_PREFIX + "flush_lock";
+
+    // Batas parameter SQL Server (2100) per statement
+    private static final int MAX_IDS_PER_UPDATE = 1000;
+
+    // Tambah id ke buffer user dan daftarkan user; mengembalikan jumlah id baru
+    private static final DefaultRedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "local added = 0 "
+                    + "for i = 2, #ARGV do "
+                    + "added = added + redis.call('sadd', KEYS[1], ARGV[i]) end "
+                    + "redis.call('sadd', KEYS[2], ARGV[1]) "
+                    + "return added",
+            Long.class);
+
+    // Hapus id yang sudah ditulis; user keluar dari daftar jika buffernya kosong
+    private static final DefaultRedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "for i = 2, #ARGV do redis.call('srem', KEYS[1], ARGV[i]) end "
+                    + "if redis.call('scard', KEYS[1]) == 0 then "
+                    + "redis.call('srem', KEYS[2], ARGV[1]) end "
+                    + "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter flushed;
+
+    @Value("${notification.read-buffer.max-users-per-flush:500}")
+    private int maxUsersPerFlush;
+
+    @Value("${notification.read-buffer.lock-ttl:PT1M}")
+    private Duration lockTtl;
+
+    public NotificationReadBuffer(
+            StringRedisTemplate redisTemplate,
+            NotificationRepository notificationRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushed = Counter.builder("notification.read_buffer.flushed")
+                .description("Tanda baca notifikasi yang ditulis dari buffer ke database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Catat notifikasi (milik user, belum dibaca) sebagai sudah dibaca. Mengembalikan jumlah
+     * notifikasi yang baru ditandai; jika Redis gagal, langsung ditulis ke database.
+     */
+    public int add(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        List<String> args = new ArrayList<>(notificationIds.size() + 1);
+        args.add(String.valueOf(userId));
+        notificationIds.forEach(id -> args.add(String.valueOf(id)));
+        try {
+            Long added = redisTemplate.execute(
+                    ADD_SCRIPT, List.of(KEY_PREFIX + userId, USERS_KEY), args.toArray());
+            return added != null ? added.intValue() : 0;
+        } catch (RuntimeException e) {
+            log.warn("Buffer tanda baca tidak tersedia, tulis langsung: {}", e.getMessage());
+            Integer updated = transactionTemplate.execute(status -> write(userId, notificationIds));
+            return updated != null ? updated : 0;
+        }
+    }
+
+    /** Id notifikasi user yang sudah dibaca tetapi belum ditulis ke database. */
+    public Set<Long> pending(Long userId) {
+        try {
+            Set<String> members = redisTemplate.opsForSet().members(KEY_PREFIX + userId);
+            if (members == null || members.isEmpty()) {
+                return Set.of();
+            }
+            return members.stream().map(Long::valueOf).collect(Collectors.toUnmodifiableSet());
+        } catch (RuntimeException e) {
+            log.warn("Gagal membaca buffer tanda baca user {}: {}", userId, e.getMessage());
+            return Set.of();
+        }
+    }
+
+    /**
+     * Buang {@code notificationIds} dari buffer user setelah commit (dipakai "tandai semua
+     * dibaca" untuk id yang sudah tercakup UPDATE-nya). Tanda baca yang masuk setelahnya tetap
+     * di buffer dan di-flush seperti biasa.
+     */
+    public void discard(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            discardNow(userId, notificationIds);
+                        }
+                    });
+        } else {
+            discardNow(userId, notificationIds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.read-buffer.flush-interval:PT2S}")
+    public void flush() {
+        String owner = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, lockTtl);
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Flush tanda baca dilewati, Redis tidak tersedia: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            List<String> users =
+                    redisTemplate.opsForSet().distinctRandomMembers(USERS_KEY, maxUsersPerFlush)
+                            .stream().toList();
+            Map<Long, Set<Long>> receipts = new LinkedHashMap<>();
+            for (String user : users) {
+                Long userId = Long.valueOf(user);
+                receipts.put(userId, pending(userId));
+            }
+            if (receipts.isEmpty()) {
+                return;
+            }
+
+            // Satu transaksi untuk semua user di putaran ini
+            transactionTemplate.executeWithoutResult(status -> receipts.forEach(this::write));
+
+            long count = 0;
+            for (Map.Entry<Long, Set<Long>> entry : receipts.entrySet()) {
+                remove(entry.getKey(), entry.getValue());
+                count += entry.getValue().size();
+            }
+            flushed.increment(count);
+            log.debug("Flush tanda baca: {} notifikasi dari {} user", count, receipts.size());
+        } catch (RuntimeException e) {
+            log.error("Flush tanda baca gagal, dicoba lagi di putaran berikutnya: {}",
+                    e.getMessage());
+        } finally {
+            CacheLoadSupport.releaseLock(redisTemplate, LOCK_KEY, owner);
+        }
+    }
+
+    private int write(Long userId, Collection<Long> notificationIds) {
+        List<Long> ids = List.copyOf(notificationIds);
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_UPDATE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_UPDATE, ids.size()));
+            updated += notificationRepository.markReadByIds(userId, chunk);
+        }
+        return updated;
+    }
+
+    private void remove(Long userId, Collection<Long> notificationIds) {
+        List<String> args = new ArrayList<>(notificationIds.size() + 1);
+        args.add(String.valueOf(userId));
+        notificationIds.forEach(id -> args.add(String.valueOf(id)));
+        redisTemplate.execute(
+                REMOVE_SCRIPT, List.of(KEY_PREFIX + userId, USERS_KEY), args.toArray());
+    }
+
+    private void discardNow(Long userId, Collection<Long> notificationIds) {
+        try {
+            remove(userId, notificationIds);
+        } catch (RuntimeException e) {
+            // Flush berikutnya hanya mengulang UPDATE yang tidak mengubah apa pun
+            log.warn("Gagal membuang buffer tanda baca user {}: {}", userId, e.getMessage());
+        }
+    }
+}
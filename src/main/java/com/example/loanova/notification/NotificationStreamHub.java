@@ -0,0 +1,167 @@
+package com.example.loanova.notification;
+
+import com.example.loanova.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * NOTIFICATION STREAM HUB - Koneksi SSE notifikasi milik node ini dan fan-out antar node.
+ *
+ * <p>Notifikasi baru dipublish ke channel Redis {@code notification:events} oleh outbox
+ * ({@link NotificationPushHandler}) setelah commit; setiap node menerima pesan tersebut dan hanya
+ * mengirim ke koneksi user yang terhubung ke node itu. SSE memakai async servlet sehingga koneksi
+ * yang menunggu tidak menahan thread request.
+ *
+ * <p>Heartbeat (komentar SSE) dikirim setiap {@code notification.stream.heartbeat} agar proxy
+ * tidak memutus koneksi idle dan koneksi mati cepat terdeteksi. Metric: gauge {@code
+ * notification.stream.connections} (koneksi di node ini) dan counter {@code
+ * notification.stream.events} (tag result: sent, failed).
+ */
+@Slf4j
+@Component
+public class NotificationStreamHub implements MessageListener {
+
+    public static final String CHANNEL = "notification:events";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final Duration timeout;
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter sent;
+    private final Counter failed;
+
+    public NotificationStreamHub(
+            StringRedisTemplate redisTemplate,
+            JsonMapper jsonMapper,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${notification.stream.timeout:PT30M}") Duration timeout) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.timeout = timeout;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+
+        Gauge.builder("notification.stream.connections", connections, AtomicInteger::get)
+                .description("Koneksi SSE notifikasi yang terbuka di node ini")
+                .register(meterRegistry);
+        this.sent = eventCounter(meterRegistry, "sent");
+        this.failed = eventCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Buka koneksi SSE baru untuk user. Koneksi didaftarkan sebelum {@code backlog} (resume dari
+     * Last-Event-ID) dimuat sehingga notifikasi yang commit di antaranya tidak terlewat; client
+     * memakai id event untuk mengabaikan duplikat.
+     */
+    public SseEmitter connect(Long userId, Supplier<List<NotificationResponse>> backlog) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitters.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        connections.incrementAndGet();
+
+        Runnable remove = () -> unregister(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        for (NotificationResponse notification : backlog.get()) {
+            if (!send(userId, emitter, notification)) {
+                break;
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Kirim pesan {@link StreamMessage} (JSON) ke semua node. Exception diteruskan agar outbox
+     * mencoba lagi.
+     */
+    public void broadcast(String streamMessageJson) {
+        redisTemplate.convertAndSend(CHANNEL, streamMessageJson);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        StreamMessage streamMessage;
+        try {
+            streamMessage = jsonMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), StreamMessage.class);
+        } catch (RuntimeException e) {
+            log.warn("Pesan stream notifikasi tidak valid: {}", e.getMessage());
+            return;
+        }
+        List<SseEmitter> userEmitters = emitters.get(streamMessage.userId());
+        if (userEmitters != null) {
+            userEmitters.forEach(
+                    emitter -> send(streamMessage.userId(), emitter, streamMessage.notification()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> userEmitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                unregister(userId, emitter);
+            }
+        }));
+    }
+
+    private boolean send(Long userId, SseEmitter emitter, NotificationResponse notification) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name("notification")
+                    .data(notification));
+            sent.increment();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            failed.increment();
+            emitter.completeWithError(e);
+            unregister(userId, emitter);
+            return false;
+        }
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            if (userEmitters.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("notification.stream.events")
+                .description("Event SSE notifikasi yang dikirim ke client di node ini")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** Pesan fan-out antar node (juga payload outbox {@link NotificationPushHandler#TYPE}). */
+    public record StreamMessage(Long userId, NotificationResponse notification) {}
+}
@@ -0,0 +1,160 @@
+package com.example.loanova.notification;
+
+import com.example.loanova.repository.NotificationRepository;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * UNREAD NOTIFICATION COUNTER - Jumlah notifikasi belum dibaca per user di Redis ({@code
+ * notification_unread:<userId>}), sehingga badge cukup satu GET.
+ *
+ * <p>Counter hanya diubah jika key sudah ada; key yang belum ada (baru, kedaluwarsa, atau Redis
+ * di-flush) diinisialisasi dari database saat dibaca. TTL {@code notification.unread-counter.ttl}
+ * membatasi umur selisih jika ada update yang hilang. Perubahan diterapkan setelah commit.
+ * Tanda baca yang masih di {@link NotificationReadBuffer} ikut dikurangkan saat inisialisasi.
+ */
+@Slf4j
+@Component
+public class UnreadNotificationCounter {
+
+    private static final String KEY_PREFIX = "notification_unread:";
+    private static final int MAX_PENDING_IDS = 1000;
+
+    // Tambah/kurangi hanya jika counter sudah ada, tidak pernah di bawah nol
+    private static final DefaultRedisScript<Long> ADJUST_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return -1 end "
+                    + "local v = redis.call('incrby', KEYS[1], ARGV[1]) "
+                    + "if v < 0 then redis.call('set', KEYS[1], 0, 'KEEPTTL') v = 0 end "
+                    + "return v",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationRepository notificationRepository;
+    private final NotificationReadBuffer readBuffer;
+    private final Duration ttl;
+
+    public UnreadNotificationCounter(
+            StringRedisTemplate redisTemplate,
+            NotificationRepository notificationRepository,
+            NotificationReadBuffer readBuffer,
+            @Value("${notification.unread-counter.ttl:PT1H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.notificationRepository = notificationRepository;
+        this.readBuffer = readBuffer;
+        this.ttl = ttl;
+    }
+
+    /** Jumlah notifikasi belum dibaca; satu GET Redis jika counter sudah ada. */
+    public long get(Long userId) {
+        String key = KEY_PREFIX + userId;
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return Long.parseLong(cached);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Gagal membaca counter unread user {}: {}", userId, e.getMessage());
+            return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        }
+
+        long count = countFromDatabase(userId);
+        try {
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(count), ttl);
+        } catch (RuntimeException e) {
+            log.warn("Gagal menyimpan counter unread user {}: {}", userId, e.getMessage());
+        }
+        return count;
+    }
+
+    /** Hapus counter user setelah commit; dihitung ulang dari database saat dibaca. */
+    public void reset(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            invalidate(List.of(userId));
+                        }
+                    });
+        } else {
+            invalidate(List.of(userId));
+        }
+    }
+
+    /** Tambah/kurangi counter setelah transaksi berjalan commit. */
+    public void adjust(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            adjustNow(userId, delta);
+                        }
+                    });
+        } else {
+            adjustNow(userId, delta);
+        }
+    }
+
+    /**
+     * Buang counter beberapa user sekaligus (satu DEL) sehingga dihitung ulang dari database saat
+     * dibaca. Dipakai fan-out pengumuman yang menambah notifikasi ribuan user per batch.
+     */
+    public void invalidate(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(userIds.stream().map(userId -> KEY_PREFIX + userId).toList());
+        } catch (RuntimeException e) {
+            log.error("Gagal menghapus counter unread {} user: {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    // Notifikasi yang sudah ditandai dibaca di buffer tetapi belum ditulis tidak dihitung
+    private long countFromDatabase(Long userId) {
+        Set<Long> pending = readBuffer.pending(userId);
+        if (pending.isEmpty()) {
+            return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        }
+        if (pending.size() <= MAX_PENDING_IDS) {
+            return notificationRepository.countByUserIdAndIsReadFalseAndIdNotIn(userId, pending);
+        }
+        // Buffer besar: kurangi hanya id yang di database masih belum dibaca, karena sebagian
+        // mungkin sudah di-flush tetapi belum dihapus dari buffer
+        long count = notificationRepository.countByUserIdAndIsReadFalse(userId);
+        List<Long> ids = List.copyOf(pending);
+        for (int from = 0; from < ids.size(); from += MAX_PENDING_IDS) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_PENDING_IDS, ids.size()));
+            count -= notificationRepository.countByUserIdAndIsReadFalseAndIdIn(userId, chunk);
+        }
+        return Math.max(0, count);
+    }
+
+    private void adjustNow(Long userId, long delta) {
+        String key = KEY_PREFIX + userId;
+        try {
+            redisTemplate.execute(ADJUST_SCRIPT, List.of(key), String.valueOf(delta));
+        } catch (RuntimeException e) {
+            // Counter bisa selisih, buang agar dihitung ulang dari database
+            log.error("Gagal memperbarui counter unread user {}: {}", userId, e.getMessage());
+            try {
+                redisTemplate.delete(key);
+            } catch (RuntimeException ignored) {
+                // Redis tidak tersedia, counter akan kedaluwarsa sendiri
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.loanova.outbox;
+
+import com.example.loanova.service.EmailService;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/** EMAIL OUTBOX HANDLER - Mengirim email plain text dari outbox lewat SMTP. */
+@Component
+public class EmailOutboxHandler implements OutboxHandler {
+
+  public static final String TYPE = "EMAIL";
+
+  private final EmailService emailService;
+  private final JsonMapper jsonMapper;
+
+  public EmailOutboxHandler(EmailService emailService, JsonMapper jsonMapper) {
+    this.emailService = emailService;
+    this.jsonMapper = jsonMapper;
+  }
+
+  @Override
+  public String type() {
+    return TYPE;
+  }
+
+  @Override
+  public void deliver(String payload) {
+    EmailMessage message = jsonMapper.readValue(payload, EmailMessage.class);
+    emailService.sendSimpleMessage(message.to(), message.subject(), message.text());
+  }
+
+  /** Payload pesan email. */
+  public record EmailMessage(String to, String subject, String text) {}
+}
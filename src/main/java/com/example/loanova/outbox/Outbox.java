@@ -0,0 +1,54 @@
+package com.example.loanova.outbox;
+
+import com.example.loanova.entity.OutboxMessage;
+import com.example.loanova.entity.OutboxMessageStatus;
+import com.example.loanova.repository.OutboxMessageRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * OUTBOX - Menulis pesan keluar ke tabel outbox_messages di transaksi pemanggil.
+ *
+ * <p>Setelah commit, dispatcher dibangunkan agar pesan terkirim tanpa menunggu polling berikutnya.
+ * Pengiriman sendiri (SMTP, Redis) tidak pernah terjadi di thread request.
+ */
+@Component
+public class Outbox {
+
+  private final OutboxMessageRepository outboxMessageRepository;
+  private final OutboxDispatcher dispatcher;
+  private final JsonMapper jsonMapper;
+
+  public Outbox(
+      OutboxMessageRepository outboxMessageRepository,
+      OutboxDispatcher dispatcher,
+      JsonMapper jsonMapper) {
+    this.outboxMessageRepository = outboxMessageRepository;
+    this.dispatcher = dispatcher;
+    this.jsonMapper = jsonMapper;
+  }
+
+  /** Simpan pesan {@code type} dengan payload (JSON) di dalam transaksi yang sedang berjalan. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueue(String type, Object payload) {
+    outboxMessageRepository.save(
+        OutboxMessage.builder()
+            .type(type)
+            .payload(jsonMapper.writeValueAsString(payload))
+            .status(OutboxMessageStatus.PENDING.name())
+            .attempts(0)
+            .build());
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            dispatcher.wakeUp(type);
+          }
+        });
+  }
+}
@@ -0,0 +1,285 @@
+package com.example.loanova.outbox;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.entity.OutboxMessage;
+import com.example.loanova.entity.OutboxMessageStatus;
+import com.example.loanova.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * OUTBOX DISPATCHER - Mengirim pesan outbox di background.
+ *
+ * <p>Setiap type pesan punya jalur (lane) sendiri: thread, lock Redis, dan query due per type.
+ * SMTP yang lambat atau timeout tidak menahan push SSE di belakangnya. Pesan PENDING yang sudah
+ * jatuh tempo dibaca per batch (urut id), dikirim lewat {@link OutboxHandler}, lalu langsung
+ * ditandai DONE satu per satu sehingga berhentinya dispatcher di tengah batch tidak membuat pesan
+ * yang sudah terkirim dikirim ulang. Pengiriman yang gagal dijadwalkan ulang dengan exponential
+ * backoff ({@code outbox.retry.initial-backoff} dikali dua setiap percobaan, maksimal {@code
+ * outbox.retry.max-backoff}, ditambah jitter); setelah {@code outbox.retry.max-attempts} percobaan
+ * status menjadi FAILED.
+ *
+ * <p>Dispatcher berjalan berkala dan juga dibangunkan setelah commit oleh {@link Outbox}. Lock
+ * Redis per lane memastikan hanya satu instance yang mengirim; lock diperpanjang
+ * (compare-and-extend) setelah setiap batch dan lane berhenti jika lock sudah berpindah tangan.
+ * Satu run dibatasi {@code outbox.max-batches-per-run} batch, termasuk putaran ulang karena
+ * wake-up. Durasi dan hasil pengiriman tersedia di metric {@code outbox.delivery} (tag type,
+ * result).
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher implements DisposableBean {
+
+  static final String LOCK_PREFIX = "outbox:dispatch_lock:";
+  private static final int MAX_ERROR_LENGTH = 500;
+
+  // Perpanjang lock hanya jika masih milik lane ini
+  private static final DefaultRedisScript<Long> EXTEND_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+          Long.class);
+
+  private final OutboxMessageRepository outboxMessageRepository;
+  private final Map<String, Lane> lanes;
+  private final TransactionTemplate transactionTemplate;
+  private final StringRedisTemplate redisTemplate;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${outbox.batch-size:50}")
+  private int batchSize;
+
+  @Value("${outbox.max-batches-per-run:20}")
+  private int maxBatchesPerRun;
+
+  @Value("${outbox.lock-ttl:PT2M}")
+  private Duration lockTtl;
+
+  @Value("${outbox.retry.max-attempts:8}")
+  private int maxAttempts;
+
+  @Value("${outbox.retry.initial-backoff:PT10S}")
+  private Duration initialBackoff;
+
+  @Value("${outbox.retry.max-backoff:PT30M}")
+  private Duration maxBackoff;
+
+  @Value("${outbox.retention:P7D}")
+  private Duration retention;
+
+  public OutboxDispatcher(
+      OutboxMessageRepository outboxMessageRepository,
+      List<OutboxHandler> handlers,
+      TransactionTemplate transactionTemplate,
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry) {
+    this.outboxMessageRepository = outboxMessageRepository;
+    this.lanes =
+        handlers.stream()
+            .map(Lane::new)
+            .collect(Collectors.toMap(lane -> lane.handler.type(), Function.identity()));
+    this.transactionTemplate = transactionTemplate;
+    this.redisTemplate = redisTemplate;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Minta lane {@code type} dikirim secepatnya (dipanggil setelah commit). */
+  public void wakeUp(String type) {
+    Lane lane = lanes.get(type);
+    if (lane != null) {
+      lane.wakeUp();
+    }
+  }
+
+  /** Poll berkala: setiap lane dijalankan di thread-nya sendiri. */
+  @Scheduled(fixedDelayString = "${outbox.poll-interval:PT5S}")
+  public void dispatch() {
+    lanes.values().forEach(Lane::wakeUp);
+  }
+
+  /** Hapus pesan DONE yang lebih tua dari {@code outbox.retention}. */
+  @Scheduled(cron = "${outbox.cleanup-cron:0 30 3 * * *}")
+  public void cleanup() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    Integer deleted =
+        transactionTemplate.execute(status -> outboxMessageRepository.deleteDoneBefore(cutoff));
+    log.info("Cleanup outbox: {} pesan terkirim dihapus", deleted);
+  }
+
+  @Override
+  public void destroy() {
+    lanes.values().forEach(lane -> lane.executor.shutdownNow());
+  }
+
+  private boolean deliver(OutboxHandler handler, OutboxMessage message) {
+    long start = System.nanoTime();
+    try {
+      handler.deliver(message.getPayload());
+    } catch (Exception e) {
+      int attempts = message.getAttempts() + 1;
+      boolean exhausted = attempts >= maxAttempts;
+      String error = String.valueOf(e.getMessage());
+      if (error.length() > MAX_ERROR_LENGTH) {
+        error = error.substring(0, MAX_ERROR_LENGTH);
+      }
+      String lastError = error;
+      String nextStatus =
+          exhausted ? OutboxMessageStatus.FAILED.name() : OutboxMessageStatus.PENDING.name();
+      transactionTemplate.executeWithoutResult(
+          status ->
+              outboxMessageRepository.markAttemptFailed(
+                  message.getId(),
+                  nextStatus,
+                  attempts,
+                  LocalDateTime.now().plus(backoff(attempts)),
+                  lastError));
+      record(message.getType(), exhausted ? "failed" : "retry", start);
+      log.warn(
+          "Pengiriman outbox {} ({}) gagal, percobaan {}: {}",
+          message.getId(),
+          message.getType(),
+          attempts,
+          lastError);
+      return false;
+    }
+
+    // Tandai DONE segera setelah terkirim, bukan di akhir batch
+    transactionTemplate.executeWithoutResult(
+        status -> outboxMessageRepository.markDone(List.of(message.getId()), LocalDateTime.now()));
+    record(message.getType(), "success", start);
+    return true;
+  }
+
+  /** initial * 2^(attempts-1), maksimal maxBackoff, ditambah jitter hingga 20%. */
+  private Duration backoff(int attempts) {
+    long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+    long capped = Math.min(base, maxBackoff.toMillis());
+    long jitter = ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+    return Duration.ofMillis(capped + jitter);
+  }
+
+  private void record(String type, String result, long startNanos) {
+    Timer.builder("outbox.delivery")
+        .description("Durasi pengiriman pesan outbox per type dan hasil")
+        .tag("type", type)
+        .tag("result", result)
+        .register(meterRegistry)
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Jalur pengiriman satu type: thread, lock Redis, dan status wake-up sendiri. */
+  private final class Lane {
+
+    private final OutboxHandler handler;
+    private final String lockKey;
+    private final ExecutorService executor;
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private volatile boolean dirty;
+
+    private Lane(OutboxHandler handler) {
+      this.handler = handler;
+      this.lockKey = LOCK_PREFIX + handler.type();
+      this.executor =
+          Executors.newSingleThreadExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "outbox-" + handler.type().toLowerCase());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+
+    /** Beberapa wake-up yang datang bersamaan digabung menjadi satu run. */
+    void wakeUp() {
+      dirty = true;
+      if (wakeUpPending.compareAndSet(false, true)) {
+        executor.execute(
+            () -> {
+              wakeUpPending.set(false);
+              run();
+            });
+      }
+    }
+
+    private void run() {
+      if (!running.tryLock()) {
+        return;
+      }
+      try {
+        String owner = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, owner, lockTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+          log.debug("Outbox {} sedang dikirim oleh instance lain, skip", handler.type());
+          return;
+        }
+        try {
+          int budget = maxBatchesPerRun;
+          do {
+            dirty = false;
+            budget = drain(owner, budget);
+          } while (dirty && budget > 0);
+        } finally {
+          CacheLoadSupport.releaseLock(redisTemplate, lockKey, owner);
+        }
+      } catch (RuntimeException e) {
+        log.error("Dispatch outbox {} gagal: {}", handler.type(), e.getMessage());
+      } finally {
+        running.unlock();
+      }
+    }
+
+    /** Kirim batch sampai habis atau budget habis; return sisa budget (-1 jika lock hilang). */
+    private int drain(String owner, int budget) {
+      while (budget > 0) {
+        List<OutboxMessage> due =
+            outboxMessageRepository.findDue(
+                handler.type(), LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+          return budget;
+        }
+        budget--;
+
+        for (OutboxMessage message : due) {
+          deliver(handler, message);
+        }
+        if (!extendLock(owner)) {
+          log.warn("Lock outbox {} hilang di tengah run, berhenti", handler.type());
+          return -1;
+        }
+        if (due.size() < batchSize) {
+          return budget;
+        }
+      }
+      return budget;
+    }
+
+    private boolean extendLock(String owner) {
+      Long extended =
+          redisTemplate.execute(
+              EXTEND_SCRIPT, List.of(lockKey), owner, String.valueOf(lockTtl.toMillis()));
+      return extended != null && extended == 1L;
+    }
+  }
+}
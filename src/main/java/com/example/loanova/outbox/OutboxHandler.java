@@ -0,0 +1,14 @@
+package com.example.loanova.outbox;
+
+/**
+ * OUTBOX HANDLER - Pengirim untuk satu jenis pesan outbox. Exception dari {@link #deliver} membuat
+ * pesan dijadwalkan ulang dengan exponential backoff.
+ */
+public interface OutboxHandler {
+
+  /** Jenis pesan yang ditangani (kolom {@code type} di outbox_messages). */
+  String type();
+
+  /** Kirim satu pesan; payload adalah JSON yang ditulis saat enqueue. */
+  void deliver(String payload) throws Exception;
+}
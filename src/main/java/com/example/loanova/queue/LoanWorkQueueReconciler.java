@@ -0,0 +1,87 @@
+package com.example.loanova.queue;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.dto.response.LoanApplicationResponse;
+import com.example.loanova.service.LoanApplicationService;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * LOAN WORK QUEUE RECONCILER - Menyelaraskan antrian kerja Redis dengan database.
+ *
+ * <p>Dijalankan sesaat setelah startup (mengisi antrian yang kosong, misalnya setelah Redis
+ * di-flush) lalu berkala untuk memperbaiki update after-commit yang hilang. Setiap aplikasi di
+ * status antrian diterapkan ulang dengan script yang sama dengan transisi biasa, dan id yang ada di
+ * Redis tetapi tidak lagi di status tersebut dimuat ulang dari database. Karena script mengabaikan
+ * status yang lebih awal dari yang sudah diterapkan, snapshot database yang sedikit tertinggal
+ * tidak bisa menimpa transisi yang baru saja commit. Lock Redis memastikan hanya satu instance
+ * yang berjalan.
+ */
+@Slf4j
+@Component
+public class LoanWorkQueueReconciler {
+
+  static final String LOCK_KEY = LoanWorkQueues.KEY_PREFIX + "reconcile_lock";
+
+  private final LoanApplicationService loanApplicationService;
+  private final LoanWorkQueues loanWorkQueues;
+  private final StringRedisTemplate redisTemplate;
+
+  public LoanWorkQueueReconciler(
+      LoanApplicationService loanApplicationService,
+      LoanWorkQueues loanWorkQueues,
+      StringRedisTemplate redisTemplate) {
+    this.loanApplicationService = loanApplicationService;
+    this.loanWorkQueues = loanWorkQueues;
+    this.redisTemplate = redisTemplate;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${loan.queue.reconcile-interval:PT5M}",
+      initialDelayString = "${loan.queue.reconcile-initial-delay:PT5S}")
+  public void reconcile() {
+    String owner = UUID.randomUUID().toString();
+    Boolean acquired =
+        redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, Duration.ofMinutes(10));
+    if (!Boolean.TRUE.equals(acquired)) {
+      log.debug("Rekonsiliasi antrian sedang berjalan di instance lain, skip");
+      return;
+    }
+
+    try {
+      long start = System.currentTimeMillis();
+      int applied = 0;
+      int stale = 0;
+      for (String status : LoanWorkQueues.QUEUED_STATUSES) {
+        List<LoanApplicationResponse> inDatabase =
+            loanApplicationService.getApplicationsByStatus(status);
+        loanWorkQueues.publishAll(inDatabase);
+        applied += inDatabase.size();
+
+        Set<Long> staleIds = new HashSet<>(loanWorkQueues.members(status));
+        inDatabase.forEach(application -> staleIds.remove(application.getId()));
+        if (!staleIds.isEmpty()) {
+          loanWorkQueues.publishAll(loanApplicationService.getApplicationsByIds(staleIds));
+          stale += staleIds.size();
+        }
+      }
+      loanWorkQueues.markReady();
+      log.info(
+          "Rekonsiliasi antrian selesai dalam {} ms: {} aplikasi, {} entry usang",
+          System.currentTimeMillis() - start,
+          applied,
+          stale);
+    } catch (RuntimeException e) {
+      log.error("Rekonsiliasi antrian gagal: {}", e.getMessage());
+    } finally {
+      CacheLoadSupport.releaseLock(redisTemplate, LOCK_KEY, owner);
+    }
+  }
+}
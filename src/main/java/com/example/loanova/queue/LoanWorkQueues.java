@@ -0,0 +1,225 @@
+package com.example.loanova.queue;
+
+import com.example.loanova.dto.response.LoanApplicationResponse;
+import com.example.loanova.entity.LoanApplicationStatus;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * LOAN WORK QUEUES - Antrian kerja staff (PENDING_REVIEW, WAITING_APPROVAL, WAITING_DISBURSEMENT)
+ * sebagai Redis sorted set dengan score {@code submittedAt}.
+ *
+ * <p>Struktur key:
+ *
+ * <ul>
+ *   <li>{@code loan_queue:<STATUS>:branch:<branchId>} dan {@code loan_queue:<STATUS>:all}: ZSET
+ *       berisi id aplikasi, urut waktu submit.
+ *   <li>{@code loan_queue:payload}: hash id → JSON {@link LoanApplicationResponse}.
+ *   <li>{@code loan_queue:rank:<id>}: urutan status terakhir yang sudah diterapkan. Update yang
+ *       datang terlambat (after-commit dari thread lain) dengan status lebih awal diabaikan.
+ *   <li>{@code loan_queue:ready}: penanda antrian sudah direkonsiliasi dengan database.
+ * </ul>
+ *
+ * <p>Transisi status diterapkan setelah commit lewat satu script Lua sehingga pindah antrian
+ * bersifat atomik. Selama antrian belum siap atau Redis tidak bisa dibaca, pemanggil jatuh ke query
+ * database.
+ */
+@Slf4j
+@Component
+public class LoanWorkQueues {
+
+  /** Status yang punya antrian kerja. */
+  public static final Set<String> QUEUED_STATUSES =
+      Set.of(
+          LoanApplicationStatus.PENDING_REVIEW.name(),
+          LoanApplicationStatus.WAITING_APPROVAL.name(),
+          LoanApplicationStatus.WAITING_DISBURSEMENT.name());
+
+  static final String KEY_PREFIX = "loan_queue:";
+  static final String PAYLOAD_KEY = KEY_PREFIX + "payload";
+  static final String READY_KEY = KEY_PREFIX + "ready";
+
+  private static final int TERMINAL_RANK = LoanApplicationStatus.DISBURSED.ordinal();
+  private static final Duration TERMINAL_RANK_TTL = Duration.ofDays(1);
+
+  // KEYS: payload, rank, <n key antrian yang dibersihkan>, <key antrian tujuan>
+  // ARGV: id, score, payload ('' = status akhir), n, rank, ttl rank status akhir (detik)
+  private static final DefaultRedisScript<Long> MOVE_SCRIPT =
+      new DefaultRedisScript<>(
+          "local current = tonumber(redis.call('get', KEYS[2]) or '-1') "
+              + "if tonumber(ARGV[5]) < current then return 0 end "
+              + "local n = tonumber(ARGV[4]) "
+              + "for i = 3, n + 2 do redis.call('zrem', KEYS[i], ARGV[1]) end "
+              + "if ARGV[3] == '' then "
+              + "redis.call('hdel', KEYS[1], ARGV[1]) "
+              + "redis.call('set', KEYS[2], ARGV[5], 'EX', ARGV[6]) "
+              + "return 1 end "
+              + "redis.call('hset', KEYS[1], ARGV[1], ARGV[3]) "
+              + "redis.call('set', KEYS[2], ARGV[5]) "
+              + "for i = n + 3, #KEYS do redis.call('zadd', KEYS[i], ARGV[2], ARGV[1]) end "
+              + "return 1",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final JsonMapper jsonMapper;
+  private final QueueReadCoalescer readCoalescer;
+
+  public LoanWorkQueues(
+      StringRedisTemplate redisTemplate, JsonMapper jsonMapper, QueueReadCoalescer readCoalescer) {
+    this.redisTemplate = redisTemplate;
+    this.jsonMapper = jsonMapper;
+    this.readCoalescer = readCoalescer;
+  }
+
+  /** Terapkan status terbaru aplikasi ke antrian setelah transaksi berjalan commit. */
+  public void publish(LoanApplicationResponse application) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              publishNow(application);
+            }
+          });
+    } else {
+      publishNow(application);
+    }
+  }
+
+  /**
+   * Satu halaman antrian, urut dari submit paling lama. {@code branchId} null berarti antrian semua
+   * branch; {@code size} 0 berarti seluruh antrian. Kosong jika antrian belum siap.
+   */
+  public Optional<List<LoanApplicationResponse>> page(
+      String status, Long branchId, int page, int size) {
+    try {
+      if (!isReady()) {
+        return Optional.empty();
+      }
+      long start = size > 0 ? (long) page * size : 0;
+      long end = size > 0 ? start + size - 1 : -1;
+      Set<String> ids = redisTemplate.opsForZSet().range(queueKey(status, branchId), start, end);
+      if (ids == null || ids.isEmpty()) {
+        return Optional.of(List.of());
+      }
+      List<Object> payloads =
+          redisTemplate.opsForHash().multiGet(PAYLOAD_KEY, new ArrayList<>(ids));
+      List<LoanApplicationResponse> responses = new ArrayList<>(payloads.size());
+      for (Object payload : payloads) {
+        // Null jika aplikasi baru saja keluar antrian di antara dua perintah di atas
+        if (payload != null) {
+          responses.add(jsonMapper.readValue((String) payload, LoanApplicationResponse.class));
+        }
+      }
+      return Optional.of(List.copyOf(responses));
+    } catch (RuntimeException e) {
+      log.warn("Gagal membaca antrian {} branch {}: {}", status, branchId, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /** Jumlah aplikasi di antrian (ZCARD). Kosong jika antrian belum siap. */
+  public Optional<Long> depth(String status, Long branchId) {
+    try {
+      if (!isReady()) {
+        return Optional.empty();
+      }
+      Long size = redisTemplate.opsForZSet().zCard(queueKey(status, branchId));
+      return Optional.of(size == null ? 0L : size);
+    } catch (RuntimeException e) {
+      log.warn("Gagal membaca depth antrian {} branch {}: {}", status, branchId, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /** Id semua aplikasi di antrian lintas branch untuk status ini. */
+  Set<Long> members(String status) {
+    Set<String> ids = redisTemplate.opsForZSet().range(queueKey(status, null), 0, -1);
+    Set<Long> members = new HashSet<>();
+    if (ids != null) {
+      ids.forEach(id -> members.add(Long.valueOf(id)));
+    }
+    return members;
+  }
+
+  void markReady() {
+    redisTemplate.opsForValue().set(READY_KEY, String.valueOf(System.currentTimeMillis()));
+  }
+
+  void publishAll(Collection<LoanApplicationResponse> applications) {
+    applications.forEach(this::publishNow);
+  }
+
+  private boolean isReady() {
+    return Boolean.TRUE.equals(redisTemplate.hasKey(READY_KEY));
+  }
+
+  private void publishNow(LoanApplicationResponse application) {
+    String id = String.valueOf(application.getId());
+    boolean queued = QUEUED_STATUSES.contains(application.getStatus());
+
+    List<String> keys = new ArrayList<>();
+    keys.add(PAYLOAD_KEY);
+    keys.add(KEY_PREFIX + "rank:" + id);
+    for (String status : QUEUED_STATUSES) {
+      keys.add(queueKey(status, application.getBranchId()));
+      keys.add(queueKey(status, null));
+    }
+    int cleaned = keys.size() - 2;
+    if (queued) {
+      keys.add(queueKey(application.getStatus(), application.getBranchId()));
+      keys.add(queueKey(application.getStatus(), null));
+    }
+
+    try {
+      redisTemplate.execute(
+          MOVE_SCRIPT,
+          keys,
+          id,
+          String.valueOf(score(application)),
+          queued ? jsonMapper.writeValueAsString(application) : "",
+          String.valueOf(cleaned),
+          String.valueOf(rank(application.getStatus())),
+          String.valueOf(TERMINAL_RANK_TTL.toSeconds()));
+      // Staff yang baru memproses aplikasi langsung melihat antrian terbaru di node ini
+      readCoalescer.invalidateAll();
+    } catch (RuntimeException e) {
+      // Akan diperbaiki oleh rekonsiliasi berikutnya
+      log.error(
+          "Gagal memperbarui antrian untuk aplikasi {} ({}): {}",
+          id,
+          application.getStatus(),
+          e.getMessage());
+    }
+  }
+
+  private static String queueKey(String status, Long branchId) {
+    return KEY_PREFIX + status + (branchId == null ? ":all" : ":branch:" + branchId);
+  }
+
+  private static long score(LoanApplicationResponse application) {
+    return Objects.requireNonNull(application.getSubmittedAt())
+        .atZone(ZoneId.systemDefault())
+        .toInstant()
+        .toEpochMilli();
+  }
+
+  /** Urutan status dalam alur; DISBURSED dan REJECTED sama-sama status akhir. */
+  private static int rank(String status) {
+    return Math.min(LoanApplicationStatus.valueOf(status).ordinal(), TERMINAL_RANK);
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.loanova.queue;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * QUEUE READ COALESCER - Single-flight untuk read antrian kerja yang identik.
+ *
+ * <p>Request dengan key sama (endpoint, branch, status, halaman) yang datang bersamaan menunggu satu
+ * komputasi yang sama; hasilnya disimpan selama micro-TTL {@code loan.queue.coalesce-ttl} sehingga
+ * polling serentak satu branch hanya menghasilkan satu read ke Redis (atau database saat fallback).
+ * Beban jadi sebanding dengan jumlah branch, bukan jumlah staff.
+ *
+ * <p>Entry yang masih berjalan tidak pernah kedaluwarsa (perilaku {@link AsyncCache} Caffeine);
+ * load yang gagal langsung dibuang sehingga request berikutnya mencoba lagi. Metric {@code
+ * loan.queue.reads} (tag result: load, coalesced, hit).
+ */
+@Component
+public class QueueReadCoalescer {
+
+  private final AsyncCache<String, Object> results;
+  private final Counter loads;
+  private final Counter coalesced;
+  private final Counter hits;
+
+  public QueueReadCoalescer(
+      MeterRegistry meterRegistry,
+      @Value("${loan.queue.coalesce-ttl:PT1S}") Duration ttl,
+      @Value("${loan.queue.coalesce-max-entries:10000}") long maxEntries) {
+    this.results = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxEntries).buildAsync();
+    this.loads = counter(meterRegistry, "load");
+    this.coalesced = counter(meterRegistry, "coalesced");
+    this.hits = counter(meterRegistry, "hit");
+  }
+
+  /** Hasil untuk key ini: dari load yang sedang berjalan, dari micro-cache, atau load baru. */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key, Supplier<T> loader) {
+    CompletableFuture<Object> existing = results.getIfPresent(key);
+    if (existing == null) {
+      CompletableFuture<Object> mine = new CompletableFuture<>();
+      existing = results.asMap().putIfAbsent(key, mine);
+      if (existing == null) {
+        loads.increment();
+        // Load di thread pemanggil agar transaksi dan security context tetap berlaku
+        boolean loaded = false;
+        try {
+          T value = loader.get();
+          mine.complete(value);
+          loaded = true;
+          return value;
+        } catch (Throwable e) {
+          // Termasuk Error: request yang menunggu future ini tidak boleh menggantung
+          mine.completeExceptionally(e);
+          throw e;
+        } finally {
+          if (!loaded) {
+            results.asMap().remove(key, mine);
+          }
+        }
+      }
+    }
+
+    (existing.isDone() ? hits : coalesced).increment();
+    try {
+      return (T) existing.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  /** Buang semua hasil tersimpan (dipanggil setelah transisi status di node ini). */
+  public void invalidateAll() {
+    results.synchronous().invalidateAll();
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("loan.queue.reads")
+        .description("Read antrian kerja staff per hasil coalescing")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
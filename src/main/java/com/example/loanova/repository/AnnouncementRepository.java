@@ -0,0 +1,44 @@
+package com.example.loanova.repository;
+
+import com.example.loanova.entity.Announcement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** ANNOUNCEMENT REPOSITORY - Interface untuk operasi database pada entity Announcement. */
+@Repository
+public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
+
+  List<Announcement> findAllByOrderByIdDesc();
+
+  /** Pengumuman tertua dengan status tersebut (PENDING / RUNNING) yang perlu di-fan-out. */
+  Optional<Announcement> findFirstByStatusInOrderByIdAsc(Collection<String> statuses);
+
+  @Modifying
+  @Query(
+      "UPDATE Announcement a SET a.status = 'RUNNING', a.totalRecipients = :total, "
+          + "a.startedAt = :now WHERE a.id = :id AND a.status = 'PENDING'")
+  int markStarted(
+      @Param("id") Long id, @Param("total") long total, @Param("now") LocalDateTime now);
+
+  /** Simpan cursor dan jumlah terkirim; di-commit bersama batch insert notifikasi. */
+  @Modifying
+  @Query(
+      "UPDATE Announcement a SET a.lastUserId = :lastUserId, "
+          + "a.deliveredCount = a.deliveredCount + :delivered WHERE a.id = :id")
+  int recordProgress(
+      @Param("id") Long id,
+      @Param("lastUserId") Long lastUserId,
+      @Param("delivered") long delivered);
+
+  @Modifying
+  @Query(
+      "UPDATE Announcement a SET a.status = 'COMPLETED', a.completedAt = :now WHERE a.id = :id")
+  int markCompleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -1,9 +1,13 @@
 package com.example.loanova.repository;
 
+import com.example.loanova.dto.response.ApplicationHistoryResponse;
 import com.example.loanova.entity.ApplicationHistory;
 import com.example.loanova.entity.LoanApplication;
 import java.util.List;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -17,4 +21,21 @@ public interface ApplicationHistoryRepository extends JpaRepository<ApplicationH
    * Mencari semua history dari loan application tertentu, diurutkan dari yang terbaru.
    */
   List<ApplicationHistory> findByLoanApplicationOrderByCreatedAtDesc(LoanApplication loanApplication);
+
+  /**
+   * Timeline loan application: hanya kolom yang dibutuhkan response (projection), terbaru dulu.
+   * Memakai index (loan_application_id, created_at) dan join ke users hanya untuk username, tanpa
+   * memuat LoanApplication, roles, atau permissions. Di-cache per aplikasi (sync: satu load per
+   * miss, dilindungi dari stampede); entry di-evict setelah history baru di-commit.
+   */
+  @Cacheable(value = "application-timeline", key = "#p0", sync = true)
+  @Query(
+      "SELECT new com.example.loanova.dto.response.ApplicationHistoryResponse("
+          + "h.id, h.loanApplication.id, u.id, u.username, h.actionByRole, h.status, h.comment, "
+          + "h.createdAt) "
+          + "FROM ApplicationHistory h JOIN h.actionByUser u "
+          + "WHERE h.loanApplication.id = :loanApplicationId "
+          + "ORDER BY h.createdAt DESC, h.id DESC")
+  List<ApplicationHistoryResponse> findTimeline(
+      @Param("loanApplicationId") Long loanApplicationId);
 }
@@ -0,0 +1,20 @@
+package com.example.loanova.repository;
+
+import com.example.loanova.entity.ArchivedDocument;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** ARCHIVED DOCUMENT REPOSITORY - Lookup index dokumen cold tier berdasarkan path logis. */
+@Repository
+public interface ArchivedDocumentRepository extends JpaRepository<ArchivedDocument, Long> {
+
+  Optional<ArchivedDocument> findByPath(String path);
+
+  boolean existsByPath(String path);
+
+  /** Keyset scan index arsip, dipakai sweep file hot yang sudah diarsipkan. */
+  List<ArchivedDocument> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+}
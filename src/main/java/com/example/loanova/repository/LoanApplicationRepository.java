@@ -2,9 +2,14 @@ package com.example.loanova.repository;
 
 import com.example.loanova.entity.LoanApplication;
 import com.example.loanova.entity.User;
+import com.example.loanova.security.AccessScope;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -45,17 +50,55 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
    */
   List<LoanApplication> findByStatusOrderBySubmittedAtAsc(String status);
 
+  /** Jumlah loan application per status (fallback depth antrian BACKOFFICE). */
+  long countByStatus(String status);
+
+  /** Jumlah loan application per status di branch tertentu (fallback depth antrian branch). */
+  long countByStatusAndBranchId(String status, Long branchId);
+
   /**
    * Mencari semua loan application dari user tertentu.
    */
   List<LoanApplication> findByUserOrderBySubmittedAtDesc(User user);
 
+  /** Mencari semua loan application milik user (berdasarkan id, tanpa memuat User). */
+  List<LoanApplication> findByUserIdOrderBySubmittedAtDesc(Long userId);
+
   /**
   * Mencari semua loan application dari branch tertentu.
   */
   List<LoanApplication> findByBranchIdOrderBySubmittedAtDesc(Long branchId);
 
 
+  /** Loan application dengan id tersebut jika berada dalam scope caller. */
+  default Optional<LoanApplication> findByIdInScope(Long id, AccessScope scope) {
+    return findByIdInScope(id, scope.unrestricted(), scope.userId(), scope.branchId());
+  }
+
+  @Query(
+      "SELECT a FROM LoanApplication a WHERE a.id = :id "
+          + "AND (:unrestricted = true OR a.user.id = :userId OR a.branch.id = :branchId)")
+  Optional<LoanApplication> findByIdInScope(
+      @Param("id") Long id,
+      @Param("unrestricted") boolean unrestricted,
+      @Param("userId") Long userId,
+      @Param("branchId") Long branchId);
+
+  /** Cek akses ke loan application: satu probe primary key dengan predicate scope. */
+  default boolean existsByIdInScope(Long id, AccessScope scope) {
+    return existsByIdInScope(id, scope.unrestricted(), scope.userId(), scope.branchId());
+  }
+
+  @Query(
+      "SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM LoanApplication a "
+          + "WHERE a.id = :id "
+          + "AND (:unrestricted = true OR a.user.id = :userId OR a.branch.id = :branchId)")
+  boolean existsByIdInScope(
+      @Param("id") Long id,
+      @Param("unrestricted") boolean unrestricted,
+      @Param("userId") Long userId,
+      @Param("branchId") Long branchId);
+
   /**
    * Mencari loan application berdasarkan ID dan branch (untuk validasi akses MARKETING/BRANCHMANAGER).
    */
@@ -78,4 +121,94 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
    */
   @Query(value = "SELECT COUNT(*) > 0 FROM loan_applications WHERE plafond_id = :plafondId", nativeQuery = true)
   boolean existsByPlafondId(@Param("plafondId") Long plafondId);
+
+  /** Projection path dokumen pinjaman (tanpa load relasi user/branch/plafond). */
+  interface DocumentPathsView {
+    Long getId();
+
+    String getKtpPhotoSnapshot();
+
+    String getNpwpPhotoSnapshot();
+
+    String getSavingBookCover();
+
+    String getPayslipPhoto();
+  }
+
+  /** Mengambil path dokumen per batch (keyset by id) untuk migrasi storage. */
+  @Query(
+      "SELECT la.id AS id, la.ktpPhotoSnapshot AS ktpPhotoSnapshot, "
+          + "la.npwpPhotoSnapshot AS npwpPhotoSnapshot, la.savingBookCover AS savingBookCover, "
+          + "la.payslipPhoto AS payslipPhoto FROM LoanApplication la "
+          + "WHERE la.id > :afterId ORDER BY la.id")
+  List<DocumentPathsView> findDocumentPathsAfter(
+      @Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Update path dokumen tanpa menyentuh kolom lain. Compare-and-set per baris: hanya berhasil jika
+   * keempat kolom masih sama dengan yang dibaca migrasi (null-safe); baris yang berubah di tengah
+   * migrasi di-skip utuh. Mengembalikan 0 jika baris sudah berubah.
+   */
+  @Modifying
+  @Query(
+      "UPDATE LoanApplication la SET "
+          + "la.ktpPhotoSnapshot = :ktpPhotoSnapshot, la.npwpPhotoSnapshot = :npwpPhotoSnapshot, "
+          + "la.savingBookCover = :savingBookCover, la.payslipPhoto = :payslipPhoto "
+          + "WHERE la.id = :id "
+          + "AND COALESCE(la.ktpPhotoSnapshot, '') = COALESCE(:oldKtpPhotoSnapshot, '') "
+          + "AND COALESCE(la.npwpPhotoSnapshot, '') = COALESCE(:oldNpwpPhotoSnapshot, '') "
+          + "AND COALESCE(la.savingBookCover, '') = COALESCE(:oldSavingBookCover, '') "
+          + "AND COALESCE(la.payslipPhoto, '') = COALESCE(:oldPayslipPhoto, '')")
+  int updateDocumentPaths(
+      @Param("id") Long id,
+      @Param("oldKtpPhotoSnapshot") String oldKtpPhotoSnapshot,
+      @Param("ktpPhotoSnapshot") String ktpPhotoSnapshot,
+      @Param("oldNpwpPhotoSnapshot") String oldNpwpPhotoSnapshot,
+      @Param("npwpPhotoSnapshot") String npwpPhotoSnapshot,
+      @Param("oldSavingBookCover") String oldSavingBookCover,
+      @Param("savingBookCover") String savingBookCover,
+      @Param("oldPayslipPhoto") String oldPayslipPhoto,
+      @Param("payslipPhoto") String payslipPhoto);
+
+  /**
+   * Set lookup: mengembalikan path mana saja (dari kandidat) yang masih direferensikan kolom
+   * dokumen pinjaman. Dipakai garbage collector file orphan.
+   */
+  @Query(
+      value =
+          "SELECT ktp_photo_snapshot FROM loan_applications WHERE ktp_photo_snapshot IN (:paths) "
+              + "UNION SELECT npwp_photo_snapshot FROM loan_applications "
+              + "WHERE npwp_photo_snapshot IN (:paths) "
+              + "UNION SELECT saving_book_cover FROM loan_applications "
+              + "WHERE saving_book_cover IN (:paths) "
+              + "UNION SELECT payslip_photo FROM loan_applications WHERE payslip_photo IN (:paths)",
+      nativeQuery = true)
+  List<String> findReferencedDocumentPaths(@Param("paths") Collection<String> paths);
+
+  /**
+   * Mengambil path dokumen aplikasi yang sudah selesai (DISBURSED/REJECTED), belum diarsip, dan
+   * tidak punya perubahan status sejak cutoff. Keyset by id untuk pipeline arsip cold tier.
+   */
+  @Query(
+      "SELECT la.id AS id, la.ktpPhotoSnapshot AS ktpPhotoSnapshot, "
+          + "la.npwpPhotoSnapshot AS npwpPhotoSnapshot, la.savingBookCover AS savingBookCover, "
+          + "la.payslipPhoto AS payslipPhoto FROM LoanApplication la "
+          + "WHERE la.id > :afterId "
+          + "AND la.status IN ('DISBURSED', 'REJECTED') "
+          + "AND la.documentsArchivedAt IS NULL "
+          + "AND la.submittedAt < :cutoff "
+          + "AND NOT EXISTS (SELECT 1 FROM ApplicationHistory h "
+          + "WHERE h.loanApplication = la AND h.createdAt >= :cutoff) "
+          + "ORDER BY la.id")
+  List<DocumentPathsView> findArchivableDocumentPathsAfter(
+      @Param("afterId") Long afterId,
+      @Param("cutoff") LocalDateTime cutoff,
+      Pageable pageable);
+
+  /** Menandai dokumen aplikasi sudah dipindahkan ke cold tier. */
+  @Modifying
+  @Query(
+      "UPDATE LoanApplication la SET la.documentsArchivedAt = :archivedAt WHERE la.id IN :ids")
+  int markDocumentsArchived(
+      @Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
 }
@@ -2,8 +2,15 @@ package com.example.loanova.repository;
 
 import com.example.loanova.entity.Notification;
 import com.example.loanova.entity.User;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,6 +19,80 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Find all notifications for a specific user, ordered by creation time descending
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
 
-    // Find unread notifications for a user
-    List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
+    /** Projection notifikasi tanpa relasi user (tidak menyentuh tabel users). */
+    interface NotificationView {
+        Long getId();
+
+        String getTitle();
+
+        String getMessage();
+
+        Boolean getIsRead();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    /** Halaman pertama notifikasi user, terbaru dulu (keyset by id). */
+    @Query("SELECT n.id AS id, n.title AS title, n.message AS message, n.isRead AS isRead, "
+            + "n.createdAt AS createdAt FROM Notification n "
+            + "WHERE n.user.id = :userId ORDER BY n.id DESC")
+    List<NotificationView> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /** Halaman berikutnya: notifikasi dengan id lebih kecil dari cursor. */
+    @Query("SELECT n.id AS id, n.title AS title, n.message AS message, n.isRead AS isRead, "
+            + "n.createdAt AS createdAt FROM Notification n "
+            + "WHERE n.user.id = :userId AND n.id < :cursor ORDER BY n.id DESC")
+    List<NotificationView> findPageByUserIdBefore(
+            @Param("userId") Long userId, @Param("cursor") Long cursor, Pageable pageable);
+
+    /** Notifikasi setelah id tertentu, terlama dulu (resume stream SSE dari Last-Event-ID). */
+    @Query("SELECT n.id AS id, n.title AS title, n.message AS message, n.isRead AS isRead, "
+            + "n.createdAt AS createdAt FROM Notification n "
+            + "WHERE n.user.id = :userId AND n.id > :afterId ORDER BY n.id ASC")
+    List<NotificationView> findByUserIdAfter(
+            @Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /** Jumlah notifikasi belum dibaca (inisialisasi counter unread). */
+    long countByUserIdAndIsReadFalse(Long userId);
+
+    /** Hitung belum dibaca tanpa notifikasi yang tanda bacanya masih di buffer. */
+    long countByUserIdAndIsReadFalseAndIdNotIn(Long userId, Collection<Long> ids);
+
+    /** Hitung notifikasi di {@code ids} yang di database masih belum dibaca. */
+    long countByUserIdAndIsReadFalseAndIdIn(Long userId, Collection<Long> ids);
+
+    /** Status baca notifikasi milik user; kosong jika tidak ada atau bukan miliknya. */
+    @Query("SELECT n.isRead FROM Notification n WHERE n.id = :id AND n.user.id = :userId")
+    Optional<Boolean> findIsReadByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /** Id dari {@code ids} yang milik user dan belum dibaca. */
+    @Query("SELECT n.id FROM Notification n "
+            + "WHERE n.user.id = :userId AND n.isRead = false AND n.id IN :ids")
+    List<Long> findUnreadIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /** Tandai notifikasi tertentu milik user sebagai dibaca dalam satu statement. */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true "
+            + "WHERE n.user.id = :userId AND n.isRead = false AND n.id IN :ids")
+    int markReadByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /** Tandai semua notifikasi user sebagai dibaca dalam satu statement. */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    /**
+     * Pindahkan satu batch notifikasi yang sudah dibaca dan lebih tua dari {@code cutoff} ke
+     * notifications_archive dalam satu statement (DELETE ... OUTPUT INTO). Mengembalikan jumlah
+     * baris yang dipindah; 0 berarti tidak ada lagi yang perlu diarsip.
+     */
+    @Modifying
+    @Query(value = "DELETE TOP (:batchSize) FROM notifications "
+            + "OUTPUT DELETED.id, DELETED.user_id, DELETED.title, DELETED.message, "
+            + "DELETED.is_read, DELETED.created_at, SYSDATETIME() "
+            + "INTO notifications_archive "
+            + "(id, user_id, title, message, is_read, created_at, archived_at) "
+            + "WHERE is_read = 1 AND created_at < :cutoff",
+            nativeQuery = true)
+    int archiveReadBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
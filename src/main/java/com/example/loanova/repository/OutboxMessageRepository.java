@@ -0,0 +1,48 @@
+package com.example.loanova.repository;
+
+import com.example.loanova.entity.OutboxMessage;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** OUTBOX MESSAGE REPOSITORY - Interface untuk operasi database pada entity OutboxMessage. */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+  /** Batch pesan PENDING satu type yang sudah waktunya dikirim, urut id (urutan tulis). */
+  @Query(
+      "SELECT m FROM OutboxMessage m WHERE m.type = :type AND m.status = 'PENDING' "
+          + "AND m.nextAttemptAt <= :now ORDER BY m.id")
+  List<OutboxMessage> findDue(
+      @Param("type") String type, @Param("now") LocalDateTime now, Pageable pageable);
+
+  /** Tandai beberapa pesan sudah terkirim dalam satu statement. */
+  @Modifying
+  @Query(
+      "UPDATE OutboxMessage m SET m.status = 'DONE', m.processedAt = :now, m.lastError = NULL "
+          + "WHERE m.id IN :ids")
+  int markDone(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+  /** Catat percobaan gagal dan jadwal retry (atau FAILED jika sudah batas percobaan). */
+  @Modifying
+  @Query(
+      "UPDATE OutboxMessage m SET m.status = :status, m.attempts = :attempts, "
+          + "m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError WHERE m.id = :id")
+  int markAttemptFailed(
+      @Param("id") Long id,
+      @Param("status") String status,
+      @Param("attempts") int attempts,
+      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+      @Param("lastError") String lastError);
+
+  /** Hapus pesan yang sudah terkirim sebelum cutoff. */
+  @Modifying
+  @Query("DELETE FROM OutboxMessage m WHERE m.status = 'DONE' AND m.processedAt < :cutoff")
+  int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+}
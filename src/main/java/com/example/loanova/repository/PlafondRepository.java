@@ -1,16 +1,20 @@
 package com.example.loanova.repository;
 
 import com.example.loanova.entity.Plafond;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PlafondRepository extends JpaRepository<Plafond, Long> {
 
-  /* Mencari plafond berdasarkan nama (Active Only) */
+  /* Mencari plafond berdasarkan nama (Active Only), hasilnya disimpan di query cache */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<Plafond> findByName(String name);
 
   /* Menghitung jumlah plafond dengan nama tertentu di seluruh database (termasuk yang di-soft delete) */
@@ -1,10 +1,15 @@
 package com.example.loanova.repository;
 
 import com.example.loanova.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
   boolean existsByRoleName(String roleName);
 
+  /* Lookup natural key (mis. "CUSTOMER" saat register), hasilnya disimpan di query cache */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   java.util.Optional<com.example.loanova.entity.Role> findByRoleName(String roleName);
 }
@@ -0,0 +1,89 @@
+package com.example.loanova.repository;
+
+import com.example.loanova.entity.UploadSession;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** UPLOAD SESSION REPOSITORY - Interface untuk operasi database pada entity UploadSession. */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+  @Query(
+      "SELECT s FROM UploadSession s WHERE s.uploadId = :uploadId AND s.user.username = :username")
+  Optional<UploadSession> findByUploadIdAndUsername(
+      @Param("uploadId") String uploadId, @Param("username") String username);
+
+  /** Sama seperti di atas dengan row lock, dipakai saat sesi dikonsumsi oleh pengajuan pinjaman. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT s FROM UploadSession s WHERE s.uploadId = :uploadId AND s.user.username = :username")
+  Optional<UploadSession> findByUploadIdAndUsernameForUpdate(
+      @Param("uploadId") String uploadId, @Param("username") String username);
+
+  /**
+   * Majukan progres tanpa transaksi panjang. Hanya bertambah (retry chunk lama tidak mundur) dan
+   * hanya untuk sesi yang masih IN_PROGRESS.
+   */
+  @Modifying
+  @Query(
+      "UPDATE UploadSession s SET s.receivedBytes = :end "
+          + "WHERE s.id = :id AND s.status = 'IN_PROGRESS' AND s.receivedBytes < :end")
+  int advanceReceivedBytes(@Param("id") Long id, @Param("end") long end);
+
+  /**
+   * Compare-and-set awal penyelesaian: IN_PROGRESS menjadi COMPLETING hanya jika semua byte sudah
+   * diterima. Setelah ini chunk baru ditolak sehingga isi file tetap selama checksum dihitung.
+   * Mengembalikan 0 jika sesi sudah diselesaikan request lain atau belum lengkap.
+   */
+  @Modifying
+  @Query(
+      "UPDATE UploadSession s SET s.status = 'COMPLETING' "
+          + "WHERE s.id = :id AND s.status = 'IN_PROGRESS' AND s.receivedBytes = s.totalSize")
+  int beginCompletion(@Param("id") Long id);
+
+  /** COMPLETING menjadi COMPLETED dengan path dokumen di storage. */
+  @Modifying
+  @Query(
+      "UPDATE UploadSession s SET s.status = 'COMPLETED', s.storagePath = :storagePath "
+          + "WHERE s.id = :id AND s.status = 'COMPLETING'")
+  int markCompleted(@Param("id") Long id, @Param("storagePath") String storagePath);
+
+  /** Batalkan penyelesaian: kembali ke IN_PROGRESS dengan progres {@code receivedBytes}. */
+  @Modifying
+  @Query(
+      "UPDATE UploadSession s SET s.status = 'IN_PROGRESS', s.receivedBytes = :receivedBytes "
+          + "WHERE s.id = :id AND s.status = 'COMPLETING'")
+  int abortCompletion(@Param("id") Long id, @Param("receivedBytes") long receivedBytes);
+
+  /** Jumlah sesi user yang belum selesai dipakai dan belum kadaluarsa (batas sesi per user). */
+  @Query(
+      "SELECT COUNT(s) FROM UploadSession s WHERE s.user.id = :userId "
+          + "AND s.status IN ('IN_PROGRESS', 'COMPLETING', 'COMPLETED') AND s.expiresAt >= :now")
+  long countOpenByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+  /** Sesi yang kadaluarsa dan belum dipakai (IN_PROGRESS, COMPLETING, atau COMPLETED). */
+  @Query(
+      "SELECT s FROM UploadSession s "
+          + "WHERE s.status IN ('IN_PROGRESS', 'COMPLETING', 'COMPLETED') "
+          + "AND s.expiresAt < :now ORDER BY s.id")
+  List<UploadSession> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+
+  /**
+   * Set lookup: path dokumen (dari kandidat) milik sesi COMPLETED yang belum dipakai pengajuan.
+   * Dipakai garbage collector agar file sesi aktif tidak dianggap orphan.
+   */
+  @Query(
+      "SELECT s.storagePath FROM UploadSession s "
+          + "WHERE s.status = 'COMPLETED' AND s.storagePath IN :paths")
+  List<String> findActiveStoragePaths(@Param("paths") Collection<String> paths);
+}
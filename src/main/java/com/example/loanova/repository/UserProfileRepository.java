@@ -2,8 +2,14 @@ package com.example.loanova.repository;
 
 import com.example.loanova.entity.User;
 import com.example.loanova.entity.UserProfile;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /** USER PROFILE REPOSITORY - Interface untuk operasi database pada entity UserProfile. */
@@ -33,4 +39,56 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
   boolean existsByNpwpNumber(String npwpNumber);
 
   Optional<UserProfile> findByNpwpNumber(String npwpNumber);
+
+  /** Projection path dokumen profil (tanpa load entity User). */
+  interface DocumentPathsView {
+    Long getId();
+
+    String getKtpPhoto();
+
+    String getProfilePhoto();
+
+    String getNpwpPhoto();
+  }
+
+  /** Mengambil path dokumen per batch (keyset by id) untuk migrasi storage. */
+  @Query(
+      "SELECT p.id AS id, p.ktpPhoto AS ktpPhoto, p.profilePhoto AS profilePhoto, "
+          + "p.npwpPhoto AS npwpPhoto FROM UserProfile p WHERE p.id > :afterId ORDER BY p.id")
+  List<DocumentPathsView> findDocumentPathsAfter(
+      @Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Update path dokumen tanpa menyentuh kolom lain. Compare-and-set per baris: hanya berhasil jika
+   * ketiga kolom masih sama dengan yang dibaca migrasi (null-safe), sehingga baris yang diubah user
+   * di tengah migrasi di-skip utuh. Mengembalikan 0 jika baris sudah berubah.
+   */
+  @Modifying
+  @Query(
+      "UPDATE UserProfile p SET "
+          + "p.ktpPhoto = :ktpPhoto, p.profilePhoto = :profilePhoto, p.npwpPhoto = :npwpPhoto "
+          + "WHERE p.id = :id "
+          + "AND COALESCE(p.ktpPhoto, '') = COALESCE(:oldKtpPhoto, '') "
+          + "AND COALESCE(p.profilePhoto, '') = COALESCE(:oldProfilePhoto, '') "
+          + "AND COALESCE(p.npwpPhoto, '') = COALESCE(:oldNpwpPhoto, '')")
+  int updateDocumentPaths(
+      @Param("id") Long id,
+      @Param("oldKtpPhoto") String oldKtpPhoto,
+      @Param("ktpPhoto") String ktpPhoto,
+      @Param("oldProfilePhoto") String oldProfilePhoto,
+      @Param("profilePhoto") String profilePhoto,
+      @Param("oldNpwpPhoto") String oldNpwpPhoto,
+      @Param("npwpPhoto") String npwpPhoto);
+
+  /**
+   * Set lookup: mengembalikan path mana saja (dari kandidat) yang masih direferensikan kolom foto
+   * profil. Dipakai garbage collector file orphan.
+   */
+  @Query(
+      value =
+          "SELECT ktp_photo FROM users_profiles WHERE ktp_photo IN (:paths) "
+              + "UNION SELECT profile_photo FROM users_profiles WHERE profile_photo IN (:paths) "
+              + "UNION SELECT npwp_photo FROM users_profiles WHERE npwp_photo IN (:paths)",
+      nativeQuery = true)
+  List<String> findReferencedDocumentPaths(@Param("paths") Collection<String> paths);
 }
@@ -1,7 +1,9 @@
 package com.example.loanova.repository;
 
 import com.example.loanova.entity.User;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,6 +28,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
   Optional<User> findByEmail(String email);
 
+  /**
+   * Id branch milik user, null jika user tidak punya branch.
+   * Di-cache per username agar polling antrian staff tidak menyentuh database;
+   * di-evict oleh UserService saat username/branch user berubah.
+   */
+  @Cacheable(value = "user-branch", key = "#p0", unless = "#result == null")
+  @Query("SELECT u.branch.id FROM User u WHERE u.username = :username")
+  Long findBranchIdByUsername(@Param("username") String username);
+
+  /**
+   * Id user berdasarkan username, null jika tidak ada.
+   * Di-cache per username untuk endpoint yang hanya butuh id (notifikasi, badge unread);
+   * di-evict oleh UserService saat username berubah.
+   */
+  @Cacheable(value = "user-id", key = "#p0", unless = "#result == null")
+  @Query("SELECT u.id FROM User u WHERE u.username = :username")
+  Long findIdByUsername(@Param("username") String username);
+
   /**
    * Cek apakah ada user AKTIF yang masih terhubung ke cabang tertentu.
    * Digunakan untuk validasi 'Safe-Delete' pada Branch.
@@ -49,4 +69,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
                  "JOIN roles r ON ur.role_id = r.id " +
                  "WHERE r.role_name = :roleName AND u.is_active = true AND u.deleted_at IS NULL", nativeQuery = true)
   long countByRolesRoleNameAndIsActiveTrue(@Param("roleName") String roleName);
+
+  /**
+   * Id semua user (termasuk yang sudah dihapus) di cabang tertentu.
+   * Digunakan untuk evict cache user saat kode cabang berubah.
+   */
+  @Query(value = "SELECT id FROM users WHERE branch_id = :branchId", nativeQuery = true)
+  List<Long> findIdsByBranchId(@Param("branchId") Long branchId);
 }
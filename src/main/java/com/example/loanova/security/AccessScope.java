@@ -0,0 +1,26 @@
+package com.example.loanova.security;
+
+/**
+ * ACCESS SCOPE - Data loan application yang boleh dilihat caller, dihitung sekali per request.
+ *
+ * <p>Dipakai langsung sebagai predicate query repository (id user sendiri, id branch sendiri, atau
+ * tanpa batas) sehingga akses tidak perlu dicek setelah data dimuat.
+ *
+ * @param unrestricted SUPERADMIN / BACKOFFICE: semua data
+ * @param userId CUSTOMER: hanya data miliknya, null untuk scope lain
+ * @param branchId MARKETING / BRANCHMANAGER: hanya data branch-nya, null untuk scope lain
+ */
+public record AccessScope(boolean unrestricted, Long userId, Long branchId) {
+
+  public static AccessScope all() {
+    return new AccessScope(true, null, null);
+  }
+
+  public static AccessScope branch(Long branchId) {
+    return new AccessScope(false, null, branchId);
+  }
+
+  public static AccessScope own(Long userId) {
+    return new AccessScope(false, userId, null);
+  }
+}
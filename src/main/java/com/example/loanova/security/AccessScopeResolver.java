@@ -0,0 +1,54 @@
+package com.example.loanova.security;
+
+import com.example.loanova.exception.BusinessException;
+import com.example.loanova.exception.ResourceNotFoundException;
+import com.example.loanova.repository.UserRepository;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * ACCESS SCOPE RESOLVER - Menghitung {@link AccessScope} caller dari authority JWT (ROLE_*) dan
+ * cache user-id / user-branch, tanpa memuat entity User beserta roles-nya.
+ *
+ * <p>SUPERADMIN dan BACKOFFICE melihat semua data, MARKETING dan BRANCHMANAGER hanya branch-nya,
+ * role lain (CUSTOMER) hanya data miliknya sendiri.
+ */
+@Component
+public class AccessScopeResolver {
+
+  private static final Set<String> UNRESTRICTED_ROLES =
+      Set.of("ROLE_SUPERADMIN", "ROLE_BACKOFFICE");
+  private static final Set<String> BRANCH_ROLES = Set.of("ROLE_MARKETING", "ROLE_BRANCHMANAGER");
+
+  private final UserRepository userRepository;
+
+  public AccessScopeResolver(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  public AccessScope resolve(Authentication authentication) {
+    Set<String> authorities =
+        authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toSet());
+
+    if (authorities.stream().anyMatch(UNRESTRICTED_ROLES::contains)) {
+      return AccessScope.all();
+    }
+    if (authorities.stream().anyMatch(BRANCH_ROLES::contains)) {
+      Long branchId = userRepository.findBranchIdByUsername(authentication.getName());
+      if (branchId == null) {
+        throw new BusinessException("User staff tidak memiliki assignment branch");
+      }
+      return AccessScope.branch(branchId);
+    }
+    Long userId = userRepository.findIdByUsername(authentication.getName());
+    if (userId == null) {
+      throw new ResourceNotFoundException("User tidak ditemukan");
+    }
+    return AccessScope.own(userId);
+  }
+}
@@ -1,5 +1,7 @@
 package com.example.loanova.seeder;
 
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.entity.Permission;
 import com.example.loanova.repository.PermissionRepository;
 import com.example.loanova.repository.RoleRepository;
@@ -18,18 +20,25 @@ public class PermissionSeeder implements CommandLineRunner {
 
         private final PermissionRepository permissionRepository;
         private final RoleRepository roleRepository;
+        private final CatalogVersions catalogVersions;
 
         public PermissionSeeder(
                         PermissionRepository permissionRepository,
-                        RoleRepository roleRepository) {
+                        RoleRepository roleRepository,
+                        CatalogVersions catalogVersions) {
                 this.permissionRepository = permissionRepository;
                 this.roleRepository = roleRepository;
+                this.catalogVersions = catalogVersions;
         }
 
         @Override
         @Transactional
         public void run(String... args) {
                 seedPermissions();
+
+                // Seeder bisa menambah permission / mengubah mapping role: invalidasi ETag client
+                catalogVersions.bump(Catalog.PERMISSIONS);
+                catalogVersions.bump(Catalog.ROLES);
         }
 
         private void seedPermissions() {
@@ -94,6 +103,10 @@ public class PermissionSeeder implements CommandLineRunner {
                                 createPermissionIfNotFound("USER_PLAFOND:ASSIGN", "Assign plafond ke user"),
                                 createPermissionIfNotFound("USER_PLAFOND:READ", "Melihat plafond aktif user"),
 
+                                // ANNOUNCEMENT Broadcast
+                                createPermissionIfNotFound("ANNOUNCEMENT:CREATE", "Membuat pengumuman ke customer"),
+                                createPermissionIfNotFound("ANNOUNCEMENT:READ", "Melihat pengumuman dan progress pengiriman"),
+
                                 // PROFILE Management
                                 createPermissionIfNotFound("PROFILE:COMPLETE", "Melengkapi data profil"),
                                 createPermissionIfNotFound("PROFILE:UPDATE", "Mengubah data profil"),
@@ -114,6 +127,7 @@ public class PermissionSeeder implements CommandLineRunner {
                                 "PLAFOND:READ", "PLAFOND:DETAILS", "PLAFOND:CREATE", "PLAFOND:UPDATE", "PLAFOND:DELETE",
                                 "PLAFOND:RESTORE",
                                 "USER_PLAFOND:ASSIGN", "USER_PLAFOND:READ",
+                                "ANNOUNCEMENT:CREATE", "ANNOUNCEMENT:READ",
                                 "LOAN:READ_ALL", "LOAN:DETAILS", "LOAN:HISTORY"))));
 
                 // MARKETING:
@@ -0,0 +1,92 @@
+package com.example.loanova.service;
+
+import com.example.loanova.dto.request.AnnouncementRequest;
+import com.example.loanova.dto.response.AnnouncementResponse;
+import com.example.loanova.entity.Announcement;
+import com.example.loanova.entity.AnnouncementTarget;
+import com.example.loanova.exception.BusinessException;
+import com.example.loanova.exception.ResourceNotFoundException;
+import com.example.loanova.repository.AnnouncementRepository;
+import com.example.loanova.repository.BranchRepository;
+import com.example.loanova.repository.PlafondRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ANNOUNCEMENT SERVICE Layer bisnis untuk pengumuman broadcast ke customer.
+ *
+ * <p>Request hanya menyimpan satu baris pengumuman; pembuatan notifikasi per penerima dilakukan
+ * {@code AnnouncementFanout} di background. Progress fan-out bisa dipantau dari {@code
+ * deliveredCount} / {@code totalRecipients}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnnouncementService {
+
+  private final AnnouncementRepository announcementRepository;
+  private final BranchRepository branchRepository;
+  private final PlafondRepository plafondRepository;
+
+  /** Menyimpan pengumuman baru; fan-out dimulai oleh job di run berikutnya. */
+  @Transactional
+  public AnnouncementResponse createAnnouncement(String username, AnnouncementRequest request) {
+    Long targetId = request.getTarget() == AnnouncementTarget.ALL_CUSTOMERS
+        ? null
+        : request.getTargetId();
+    if (request.getTarget() != AnnouncementTarget.ALL_CUSTOMERS && targetId == null) {
+      throw new BusinessException("Target id wajib diisi untuk target " + request.getTarget());
+    }
+    if (request.getTarget() == AnnouncementTarget.BRANCH
+        && !branchRepository.existsById(targetId)) {
+      throw new ResourceNotFoundException("Maaf, tidak ada data branch dengan id " + targetId);
+    }
+    if (request.getTarget() == AnnouncementTarget.PLAFOND
+        && !plafondRepository.existsById(targetId)) {
+      throw new ResourceNotFoundException("Maaf, tidak ada data plafond dengan id " + targetId);
+    }
+
+    Announcement announcement = Announcement.builder()
+        .title(request.getTitle())
+        .message(request.getMessage())
+        .target(request.getTarget().name())
+        .targetId(targetId)
+        .createdBy(username)
+        .build();
+    return toResponse(announcementRepository.save(announcement));
+  }
+
+  /** Semua pengumuman, terbaru lebih dulu */
+  @Transactional(readOnly = true)
+  public List<AnnouncementResponse> getAllAnnouncements() {
+    return announcementRepository.findAllByOrderByIdDesc().stream().map(this::toResponse).toList();
+  }
+
+  /** Detail dan progress fan-out satu pengumuman */
+  @Transactional(readOnly = true)
+  public AnnouncementResponse getAnnouncementById(Long id) {
+    return announcementRepository
+        .findById(id)
+        .map(this::toResponse)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Maaf, tidak ada data pengumuman dengan id " + id));
+  }
+
+  private AnnouncementResponse toResponse(Announcement announcement) {
+    return AnnouncementResponse.builder()
+        .id(announcement.getId())
+        .title(announcement.getTitle())
+        .message(announcement.getMessage())
+        .target(announcement.getTarget())
+        .targetId(announcement.getTargetId())
+        .status(announcement.getStatus())
+        .totalRecipients(announcement.getTotalRecipients())
+        .deliveredCount(announcement.getDeliveredCount())
+        .createdBy(announcement.getCreatedBy())
+        .createdAt(announcement.getCreatedAt())
+        .startedAt(announcement.getStartedAt())
+        .completedAt(announcement.getCompletedAt())
+        .build();
+  }
+}
@@ -1,5 +1,6 @@
 package com.example.loanova.service;
 
+import com.example.loanova.cache.CacheEntryWriter;
 import com.example.loanova.dto.request.ChangePasswordRequest;
 import com.example.loanova.dto.request.LoginRequest;
 import com.example.loanova.dto.request.RegisterRequest;
@@ -14,6 +15,9 @@ import com.example.loanova.entity.UserPlafond;
 import com.example.loanova.exception.BusinessException;
 import com.example.loanova.exception.DuplicateResourceException;
 import com.example.loanova.exception.ResourceNotFoundException;
+import com.example.loanova.outbox.EmailOutboxHandler;
+import com.example.loanova.outbox.EmailOutboxHandler.EmailMessage;
+import com.example.loanova.outbox.Outbox;
 import com.example.loanova.repository.PasswordResetTokenRepository;
 import com.example.loanova.repository.PlafondRepository;
 import com.example.loanova.repository.RefreshTokenRepository;
@@ -29,7 +33,6 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -68,10 +71,11 @@ public class AuthService implements UserDetailsService {
   private final PasswordResetTokenRepository passwordResetTokenRepository;
   private final UserPlafondRepository userPlafondRepository;
   private final PlafondRepository plafondRepository;
-  private final EmailService emailService;
+  private final Outbox outbox;
   private final JwtService jwtService;
   private final AuthenticationManager authenticationManager;
   private final PasswordEncoder passwordEncoder;
+  private final CacheEntryWriter cacheEntryWriter;
 
   @Value("${app.frontend.url:http://localhost:9091}")
   private String frontendUrl;
@@ -90,10 +94,11 @@ public class AuthService implements UserDetailsService {
       PasswordResetTokenRepository passwordResetTokenRepository,
       UserPlafondRepository userPlafondRepository,
       PlafondRepository plafondRepository,
-      EmailService emailService,
+      Outbox outbox,
       JwtService jwtService,
       @Lazy AuthenticationManager authenticationManager,
-      PasswordEncoder passwordEncoder) {
+      PasswordEncoder passwordEncoder,
+      CacheEntryWriter cacheEntryWriter) {
     this.userRepository = userRepository;
     this.refreshTokenRepository = refreshTokenRepository;
     this.roleRepository = roleRepository;
@@ -101,10 +106,11 @@ public class AuthService implements UserDetailsService {
     this.passwordResetTokenRepository = passwordResetTokenRepository;
     this.userPlafondRepository = userPlafondRepository;
     this.plafondRepository = plafondRepository;
-    this.emailService = emailService;
+    this.outbox = outbox;
     this.jwtService = jwtService;
     this.authenticationManager = authenticationManager;
     this.passwordEncoder = passwordEncoder;
+    this.cacheEntryWriter = cacheEntryWriter;
   }
 
   /**
@@ -114,7 +120,6 @@ public class AuthService implements UserDetailsService {
    * @return RegisterResponse dengan info user yang berhasil didaftarkan
    */
   @Transactional
-  @CacheEvict(value = "users", allEntries = true)
   public RegisterResponse register(RegisterRequest request) {
     // STEP 1: Validate keunikan username & email (Style:
     // DuplicateResourceException)
@@ -145,7 +150,11 @@ public class AuthService implements UserDetailsService {
     // STEP 5: Auto-create user_plafond dengan Bronze (id=3) untuk CUSTOMER baru
     createDefaultUserPlafond(savedUser);
 
-    // STEP 6: Return mapped response
+    // STEP 6: Simpan customer baru ke cache user per-id. List staff (users) tidak
+    // di-evict agar signup tidak terus membuang list; customer baru muncul setelah TTL
+    cacheEntryWriter.put("user", savedUser.getId(), UserService.toResponse(savedUser));
+
+    // STEP 7: Return mapped response
     return toRegisterResponse(savedUser);
   }
 
@@ -465,12 +474,14 @@ public class AuthService implements UserDetailsService {
 
     passwordResetTokenRepository.save(passwordResetToken);
 
-    // Kirim email
+    // Kirim email lewat outbox (SMTP tidak dipanggil di dalam transaksi ini)
     String resetUrl = frontendUrl + "/reset-password?token=" + token; // URL Frontend
-    emailService.sendSimpleMessage(
-        email,
-        "Permintaan Reset Kata Sandi",
-        "Untuk mereset kata sandi Anda, klik tautan di bawah ini:\n" + resetUrl);
+    outbox.enqueue(
+        EmailOutboxHandler.TYPE,
+        new EmailMessage(
+            email,
+            "Permintaan Reset Kata Sandi",
+            "Untuk mereset kata sandi Anda, klik tautan di bawah ini:\n" + resetUrl));
   }
 
   /** RESET KATA SANDI - Ganti password dengan token valid */
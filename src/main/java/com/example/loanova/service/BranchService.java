@@ -1,5 +1,8 @@
 package com.example.loanova.service;
 
+import com.example.loanova.cache.CacheEntryWriter;
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.dto.request.BranchRequest;
 import com.example.loanova.dto.response.BranchResponse;
 import com.example.loanova.entity.Branch;
@@ -10,6 +13,7 @@ import com.example.loanova.repository.BranchRepository;
 import com.example.loanova.repository.LoanApplicationRepository;
 import com.example.loanova.repository.UserRepository;
 import java.util.List;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,24 +23,42 @@ public class BranchService {
   private final BranchRepository branchRepository;
   private final UserRepository userRepository;
   private final LoanApplicationRepository loanApplicationRepository;
+  private final CacheEntryWriter cacheEntryWriter;
+  private final CatalogVersions catalogVersions;
 
   public BranchService(
       BranchRepository branchRepository,
       UserRepository userRepository,
-      LoanApplicationRepository loanApplicationRepository) {
+      LoanApplicationRepository loanApplicationRepository,
+      CacheEntryWriter cacheEntryWriter,
+      CatalogVersions catalogVersions) {
     this.branchRepository = branchRepository;
     this.userRepository = userRepository;
     this.loanApplicationRepository = loanApplicationRepository;
+    this.cacheEntryWriter = cacheEntryWriter;
+    this.catalogVersions = catalogVersions;
   }
 
   /*
    * Mendapatkan semua Branch yang ada di sistem (auto exclude deleted via @Where)
    */
+  @Cacheable(value = "branches", sync = true)
   public List<BranchResponse> getAllBranches() {
     return branchRepository.findAll().stream().map(this::toResponse).toList();
   }
 
+  /* Mendapatkan Branch berdasarkan ID */
+  @Cacheable(value = "branch", key = "#id", sync = true)
+  public BranchResponse getBranchById(Long id) {
+    return branchRepository
+        .findById(id)
+        .map(this::toResponse)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Maaf, tidak ada data branch dengan id " + id));
+  }
+
   /* Menambahkan Branch baru ke dalam sistem */
+  @Transactional
   public BranchResponse createBranch(BranchRequest request) {
     /*
      * Pengecekan jika data baru mempunyai branchCode yang sama dengan yang sudah
@@ -82,10 +104,11 @@ public class BranchService {
             .branchName(request.getBranchName())
             .address(request.getAddress())
             .build();
-    return toResponse(branchRepository.save(branch));
+    return cacheBranch(branchRepository.save(branch));
   }
 
   /* Restore Branch yang sudah di soft-delete */
+  @Transactional
   public BranchResponse restoreBranch(Long id) {
     Branch branch =
         branchRepository
@@ -94,10 +117,11 @@ public class BranchService {
                 () -> new ResourceNotFoundException("Maaf, tidak ada data branch dengan id " + id));
 
     branch.restore();
-    return toResponse(branchRepository.save(branch));
+    return cacheBranch(branchRepository.save(branch));
   }
 
   /* Mengupdate data branch */
+  @Transactional
   public BranchResponse updateBranch(Long id, BranchRequest request) {
     Branch branch =
         branchRepository
@@ -109,16 +133,21 @@ public class BranchService {
       throw new DuplicateResourceException(
           "Branch code " + request.getBranchCode() + " sudah digunakan");
     }
+    // branchCode ikut tampil di UserResponse: evict cache user cabang ini saja
+    if (!branch.getBranchCode().equals(request.getBranchCode())) {
+      cacheEntryWriter.evict("user", userRepository.findIdsByBranchId(id));
+      cacheEntryWriter.evictList("users");
+    }
     branch.setBranchCode(request.getBranchCode());
     branch.setBranchName(request.getBranchName());
     branch.setAddress(request.getAddress());
-    return toResponse(branchRepository.save(branch));
+    return cacheBranch(branchRepository.save(branch));
   }
 
   /*
    * Soft delete - menandai branch sebagai deleted tanpa menghapus dari database
    */
-  @org.springframework.transaction.annotation.Transactional
+  @Transactional
   public void deleteBranch(Long id) {
     Branch branch =
         branchRepository
@@ -140,6 +169,16 @@ public class BranchService {
 
     branch.softDelete();
     branchRepository.save(branch);
+    cacheEntryWriter.remove("branch", "branches", id);
+    catalogVersions.bump(Catalog.BRANCHES);
+  }
+
+  /* Update entry cache branch ini (per id dan di dalam list) dan versi catalog setelah commit */
+  private BranchResponse cacheBranch(Branch branch) {
+    BranchResponse response = toResponse(branch);
+    cacheEntryWriter.upsert("branch", "branches", response.getId(), response);
+    catalogVersions.bump(Catalog.BRANCHES);
+    return response;
   }
 
   /* Method helper untuk membantu mapping Entity ke DTO */
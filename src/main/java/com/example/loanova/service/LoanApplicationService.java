@@ -1,26 +1,37 @@
 package com.example.loanova.service;
 
+import com.example.loanova.cache.CacheEntryWriter;
 import com.example.loanova.dto.request.LoanApplicationRequest;
+import com.example.loanova.dto.request.LoanApplicationUploadRequest;
 import com.example.loanova.dto.request.LoanReviewRequest;
 import com.example.loanova.dto.response.ApplicationHistoryResponse;
 import com.example.loanova.dto.response.LoanApplicationResponse;
 import com.example.loanova.entity.*;
 import com.example.loanova.exception.BusinessException;
+import com.example.loanova.event.LoanStatusChangedEvent;
 import com.example.loanova.exception.ResourceNotFoundException;
+import com.example.loanova.queue.LoanWorkQueues;
+import com.example.loanova.queue.QueueReadCoalescer;
 import com.example.loanova.repository.*;
-import com.example.loanova.util.FileStorageUtil;
+import com.example.loanova.security.AccessScope;
+import com.example.loanova.storage.DocumentPaths;
+import com.example.loanova.storage.DocumentStorage;
+import com.example.loanova.storage.ImageDerivativeProcessor;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * LOAN APPLICATION SERVICE - Menangani logika bisnis pengajuan dan proses
@@ -36,11 +47,14 @@ public class LoanApplicationService {
       private final UserProfileRepository userProfileRepository;
       private final UserPlafondRepository userPlafondRepository;
       private final BranchRepository branchRepository;
-      private final FileStorageUtil fileStorageUtil;
-      private final NotificationService notificationService;
-
-      @org.springframework.beans.factory.annotation.Value("${file.upload-dir}")
-      private String uploadDir;
+      private final DocumentStorage documentStorage;
+      private final ImageDerivativeProcessor imageDerivativeProcessor;
+      private final UploadSessionService uploadSessionService;
+      private final LoanWorkQueues loanWorkQueues;
+      private final ApplicationEventPublisher eventPublisher;
+      private final CacheEntryWriter cacheEntryWriter;
+      private final QueueReadCoalescer queueReadCoalescer;
+      private final PlatformTransactionManager transactionManager;
 
       /**
        * SUBMIT LOAN APPLICATION - Customer mengajukan pinjaman baru Logic: 1.
@@ -54,6 +68,36 @@ public class LoanApplicationService {
       @Transactional
       public LoanApplicationResponse submitLoanApplication(
                   String username, LoanApplicationRequest request) {
+            return submit(username, request, () -> new LoanDocuments(
+                        documentStorage.saveFile(request.getSavingBookCover(), "loan-documents"),
+                        documentStorage.saveFile(request.getPayslipPhoto(), "loan-documents")));
+      }
+
+      /**
+       * SUBMIT LOAN APPLICATION FROM UPLOADS - Sama seperti submit biasa, tetapi dokumen sudah
+       * diunggah lebih dulu lewat sesi upload bertahap dan direferensikan dengan uploadId.
+       * Konsumsi sesi ikut transaksi submit sehingga rollback membatalkannya.
+       */
+      @Transactional
+      public LoanApplicationResponse submitLoanApplicationFromUploads(
+                  String username, LoanApplicationUploadRequest request) {
+            LoanApplicationRequest applicationRequest = LoanApplicationRequest.builder()
+                        .branchId(request.getBranchId())
+                        .plafondId(request.getPlafondId())
+                        .amount(request.getAmount())
+                        .tenor(request.getTenor())
+                        .occupation(request.getOccupation())
+                        .companyName(request.getCompanyName())
+                        .rekeningNumber(request.getRekeningNumber())
+                        .build();
+
+            return submit(username, applicationRequest, () -> new LoanDocuments(
+                        uploadSessionService.consume(username, request.getSavingBookCoverUploadId()),
+                        uploadSessionService.consume(username, request.getPayslipPhotoUploadId())));
+      }
+
+      private LoanApplicationResponse submit(
+                  String username, LoanApplicationRequest request, LoanDocumentSource documentSource) {
             // 1. Convert dan validasi input numerik dari String
             Long branchId;
             Long plafondId;
@@ -155,8 +199,9 @@ public class LoanApplicationService {
                   }
 
                   // 11. Upload dokumen-dokumen baru
-                  String savingBookCoverPath = fileStorageUtil.saveFile(request.getSavingBookCover(), "loan-documents");
-                  String payslipPhotoPath = fileStorageUtil.saveFile(request.getPayslipPhoto(), "loan-documents");
+                  LoanDocuments documents = documentSource.resolve();
+                  String savingBookCoverPath = documents.savingBookCoverPath();
+                  String payslipPhotoPath = documents.payslipPhotoPath();
 
                   // 12. Buat loan application dengan snapshot data dari user profile
                   LoanApplication loanApplication = LoanApplication.builder()
@@ -188,6 +233,12 @@ public class LoanApplicationService {
 
                   LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
 
+                  // Buat thumbnail & versi ternormalisasi setelah commit (asinkron)
+                  imageDerivativeProcessor.submit(ktpPhotoSnapshotPath);
+                  imageDerivativeProcessor.submit(npwpPhotoSnapshotPath);
+                  imageDerivativeProcessor.submit(savingBookCoverPath);
+                  imageDerivativeProcessor.submit(payslipPhotoPath);
+
                   // 13. Kurangi remaining amount
                   userPlafond.setRemainingAmount(
                               userPlafond.getRemainingAmount().subtract(amount));
@@ -201,7 +252,7 @@ public class LoanApplicationService {
                               "Pengajuan pinjaman berhasil disubmit",
                               "CUSTOMER");
 
-                  return toResponse(savedApplication);
+                  return publishStatusChange(savedApplication, null, "CUSTOMER", null);
 
             } catch (IOException e) {
                   throw new BusinessException("Gagal menyimpan dokumen: " + e.getMessage());
@@ -223,97 +274,47 @@ public class LoanApplicationService {
       }
 
       /**
-       * GET APPLICATION DETAIL - Melihat detail loan application
+       * GET APPLICATION DETAIL - Melihat detail loan application. Scope caller
+       * (milik sendiri / branch sendiri / semua) menjadi bagian dari query.
        */
       @Transactional(readOnly = true)
-      public LoanApplicationResponse getApplicationDetail(String username, Long applicationId) {
-            User user = userRepository
-                        .findByUsername(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
-
-            LoanApplication application = loanApplicationRepository
-                        .findById(applicationId)
-                        .orElseThrow(
-                                    () -> new ResourceNotFoundException("Loan application tidak ditemukan"));
-
-            // Customer hanya bisa lihat aplikasi miliknya sendiri
-            // Marketing/Branch Manager/Backoffice bisa lihat sesuai akses
-            if (user.getRoles().stream().anyMatch(r -> r.getRoleName().equalsIgnoreCase("CUSTOMER"))) {
-                  if (!application.getUser().getId().equals(user.getId())) {
-                        throw new BusinessException("Anda tidak memiliki akses ke aplikasi ini");
-                  }
-            }
-
-            return toResponse(application);
+      public LoanApplicationResponse getApplicationDetail(AccessScope scope, Long applicationId) {
+            return loanApplicationRepository
+                        .findByIdInScope(applicationId, scope)
+                        .map(this::toResponse)
+                        .orElseThrow(() -> accessDeniedOrNotFound(
+                                    applicationId, "Anda tidak memiliki akses ke aplikasi ini"));
       }
 
       /**
-       * GET APPLICATION HISTORY - Melihat history perubahan status loan application
+       * GET APPLICATION HISTORY - Melihat history perubahan status loan application.
+       * Akses dicek dengan satu probe primary key sesuai scope caller; timeline dibaca
+       * dari cache application-timeline (projection saat miss).
        */
       @Transactional(readOnly = true)
-      public List<ApplicationHistoryResponse> getApplicationHistory(String username, Long applicationId) {
-            User user = userRepository
-                        .findByUsername(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
-
-            LoanApplication application = loanApplicationRepository
-                        .findById(applicationId)
-                        .orElseThrow(
-                                    () -> new ResourceNotFoundException("Loan application tidak ditemukan"));
-
-            // Validasi akses
-            boolean hasAccess = false;
-
-            // 1. Cek SUPERADMIN / BACKOFFICE (Bebas akses)
-            if (user.getRoles().stream()
-                        .anyMatch(r -> r.getRoleName().equalsIgnoreCase("SUPERADMIN") || r.getRoleName().equalsIgnoreCase("BACKOFFICE"))) {
-                  hasAccess = true;
-            }
-            // 2. Cek MARKETING / BRANCHMANAGER (Sesuai branch)
-            else if (user.getRoles().stream().anyMatch(
-                        r -> r.getRoleName().equalsIgnoreCase("MARKETING") || r.getRoleName().equalsIgnoreCase("BRANCHMANAGER"))) {
-                  if (user.getBranch() != null &&
-                              application.getBranch().getId().equals(user.getBranch().getId())) {
-                        hasAccess = true;
-                  }
-            }
-            // 3. Cek CUSTOMER (Hanya punya sendiri)
-            else if (user.getRoles().stream().anyMatch(r -> r.getRoleName().equalsIgnoreCase("CUSTOMER"))) {
-                  if (application.getUser().getId().equals(user.getId())) {
-                        hasAccess = true;
-                  }
-            }
-
-            if (!hasAccess) {
-                  throw new BusinessException("Anda tidak memiliki akses untuk melihat history aplikasi ini");
+      public List<ApplicationHistoryResponse> getApplicationHistory(AccessScope scope, Long applicationId) {
+            if (!loanApplicationRepository.existsByIdInScope(applicationId, scope)) {
+                  throw accessDeniedOrNotFound(
+                              applicationId, "Anda tidak memiliki akses untuk melihat history aplikasi ini");
             }
 
-            return applicationHistoryRepository
-                        .findByLoanApplicationOrderByCreatedAtDesc(application).stream()
-                        .map(this::toHistoryResponse)
-                        .collect(Collectors.toList());
+            return applicationHistoryRepository.findTimeline(applicationId);
       }
 
       /**
        * GET PENDING APPLICATIONS FOR MARKETING - Marketing melihat list pinjaman
        * dengan status
-       * PENDING_REVIEW di branch nya
+       * PENDING_REVIEW di branch nya. Dibaca dari antrian Redis; database hanya
+       * dipakai jika antrian belum siap. {@code size} 0 berarti seluruh antrian.
        */
-      @Transactional(readOnly = true)
-      public List<LoanApplicationResponse> getPendingApplicationsForMarketing(String username) {
-            User user = userRepository
-                        .findByUsername(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
-
-            if (user.getBranch() == null) {
-                  throw new BusinessException("User tidak memiliki branch");
-            }
-
-            return loanApplicationRepository
-                        .findByStatusAndBranch(LoanApplicationStatus.PENDING_REVIEW.name(), user.getBranch().getId())
-                        .stream()
-                        .map(this::toResponse)
-                        .collect(Collectors.toList());
+      public List<LoanApplicationResponse> getPendingApplicationsForMarketing(
+                  String username, int page, int size) {
+            return getBranchQueue(
+                        "pending-review",
+                        username,
+                        LoanApplicationStatus.PENDING_REVIEW.name(),
+                        page,
+                        size);
       }
 
       /**
@@ -359,12 +360,6 @@ public class LoanApplicationService {
                               LoanApplicationStatus.WAITING_APPROVAL.name(),
                               request.getComment() != null ? request.getComment() : "Diproses oleh Marketing",
                               "MARKETING");
-
-                  // NOTIFIKASI CUSTOMER
-                  notificationService.createNotification(
-                        application.getUser(),
-                        "Pengajuan Pinjaman Diproses",
-                        "Pengajuan pinjaman Anda telah diproses oleh Marketing dan sekarang menunggu persetujuan Branch Manager.");
             } else {
                   // Reject -> kembalikan remaining amount
                   application.setStatus(LoanApplicationStatus.REJECTED.name());
@@ -389,16 +384,14 @@ public class LoanApplicationService {
                               LoanApplicationStatus.REJECTED.name(),
                               request.getComment(),
                               "MARKETING");
-
-                  // NOTIFIKASI CUSTOMER
-                  notificationService.createNotification(
-                        application.getUser(),
-                        "Pengajuan Pinjaman Ditolak",
-                        "Mohon maaf, pengajuan pinjaman Anda ditolak oleh Marketing. Alasan: " + request.getComment());
             }
 
             LoanApplication savedApplication = loanApplicationRepository.save(application);
-            return toResponse(savedApplication);
+            return publishStatusChange(
+                        savedApplication,
+                        LoanApplicationStatus.PENDING_REVIEW.name(),
+                        "MARKETING",
+                        request.getComment());
       }
 
       /**
@@ -408,57 +401,37 @@ public class LoanApplicationService {
        * CUSTOMER: See Own Only
        */
       @Transactional(readOnly = true)
-      public List<LoanApplicationResponse> getAllApplications(String username) {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
-
-            List<String> roles = user.getRoles().stream()
-                    .map(Role::getRoleName)
-                    .collect(Collectors.toList());
-            
+      public List<LoanApplicationResponse> getAllApplications(AccessScope scope) {
             List<LoanApplication> applications;
-
-            if (roles.contains("SUPERADMIN") || roles.contains("BACKOFFICE")) {
-                // SUPERADMIN & BACKOFFICE: See ALL
-                applications = loanApplicationRepository.findAll(org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "submittedAt"));
-            } else if (roles.contains("MARKETING") || roles.contains("BRANCHMANAGER")) {
-                // MARKETING & BRANCHMANAGER: See Branch Only
-                if (user.getBranch() == null) {
-                    throw new BusinessException("User staff tidak memiliki assignment branch");
-                }
-                applications = loanApplicationRepository.findByBranchIdOrderBySubmittedAtDesc(user.getBranch().getId());
+            if (scope.unrestricted()) {
+                  applications = loanApplicationRepository.findAll(
+                              Sort.by(Sort.Direction.DESC, "submittedAt"));
+            } else if (scope.branchId() != null) {
+                  applications = loanApplicationRepository
+                              .findByBranchIdOrderBySubmittedAtDesc(scope.branchId());
             } else {
-                // CUSTOMER (or others): See Own Only
-                applications = loanApplicationRepository.findByUserOrderBySubmittedAtDesc(user);
+                  applications = loanApplicationRepository
+                              .findByUserIdOrderBySubmittedAtDesc(scope.userId());
             }
 
             return applications.stream()
-                    .map(this::toResponse)
-                    .collect(Collectors.toList());
+                        .map(this::toResponse)
+                        .collect(Collectors.toList());
       }
 
       /**
        * GET WAITING APPROVAL APPLICATIONS FOR BRANCH MANAGER - Branch Manager melihat
        * list pinjaman
-       * dengan status WAITING_APPROVAL di branch nya
+       * dengan status WAITING_APPROVAL di branch nya (dari antrian Redis)
        */
-      @Transactional(readOnly = true)
       public List<LoanApplicationResponse> getWaitingApprovalApplicationsForBranchManager(
-                  String username) {
-            User user = userRepository
-                        .findByUsername(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
-
-            if (user.getBranch() == null) {
-                  throw new BusinessException("User tidak memiliki branch");
-            }
-
-            return loanApplicationRepository
-                        .findByStatusAndBranch(
-                                    LoanApplicationStatus.WAITING_APPROVAL.name(), user.getBranch().getId())
-                        .stream()
-                        .map(this::toResponse)
-                        .collect(Collectors.toList());
+                  String username, int page, int size) {
+            return getBranchQueue(
+                        "waiting-approval",
+                        username,
+                        LoanApplicationStatus.WAITING_APPROVAL.name(),
+                        page,
+                        size);
       }
 
       /**
@@ -505,12 +478,6 @@ public class LoanApplicationService {
                               LoanApplicationStatus.WAITING_DISBURSEMENT.name(),
                               request.getComment() != null ? request.getComment() : "Disetujui oleh Branch Manager",
                               "BRANCHMANAGER");
-
-                  // NOTIFIKASI CUSTOMER
-                  notificationService.createNotification(
-                        application.getUser(),
-                        "Pengajuan Pinjaman Disetujui",
-                        "Selamat! Pengajuan pinjaman Anda telah disetujui oleh Branch Manager dan sedang menunggu pencairan dana.");
             } else {
                   // Reject -> kembalikan remaining amount
                   application.setStatus(LoanApplicationStatus.REJECTED.name());
@@ -535,28 +502,67 @@ public class LoanApplicationService {
                               LoanApplicationStatus.REJECTED.name(),
                               request.getComment(),
                               "BRANCHMANAGER");
-
-                  // NOTIFIKASI CUSTOMER
-                  notificationService.createNotification(
-                        application.getUser(),
-                        "Pengajuan Pinjaman Ditolak",
-                        "Mohon maaf, pengajuan pinjaman Anda ditolak oleh Branch Manager. Alasan: " + request.getComment());
             }
 
             LoanApplication savedApplication = loanApplicationRepository.save(application);
-            return toResponse(savedApplication);
+            return publishStatusChange(
+                        savedApplication,
+                        LoanApplicationStatus.WAITING_APPROVAL.name(),
+                        "BRANCHMANAGER",
+                        request.getComment());
       }
 
       /**
        * GET WAITING DISBURSEMENT APPLICATIONS FOR BACKOFFICE - Backoffice melihat
        * semua pinjaman dengan
-       * status WAITING_DISBURSEMENT dari semua branch
+       * status WAITING_DISBURSEMENT dari semua branch (dari antrian Redis)
+       */
+      public List<LoanApplicationResponse> getWaitingDisbursementApplications(int page, int size) {
+            String status = LoanApplicationStatus.WAITING_DISBURSEMENT.name();
+            return queueReadCoalescer.get(
+                        coalesceKey("waiting-disbursement", null, status, page, size),
+                        () -> loanWorkQueues
+                                    .page(status, null, page, size)
+                                    .orElseGet(() -> readFromDatabase(
+                                                () -> loanApplicationRepository
+                                                            .findByStatusOrderBySubmittedAtAsc(status),
+                                                page,
+                                                size)));
+      }
+
+      /**
+       * GET QUEUE DEPTH - Jumlah pengajuan per status antrian. Staff dengan branch
+       * melihat antrian branch nya, staff tanpa branch (backoffice) melihat semua branch.
        */
+      public Map<String, Long> getQueueDepth(String username) {
+            Long branchId = userRepository.findBranchIdByUsername(username);
+            Map<String, Long> depth = new LinkedHashMap<>();
+            for (LoanApplicationStatus status : LoanApplicationStatus.values()) {
+                  if (!LoanWorkQueues.QUEUED_STATUSES.contains(status.name())) {
+                        continue;
+                  }
+                  depth.put(status.name(), loanWorkQueues
+                              .depth(status.name(), branchId)
+                              .orElseGet(() -> branchId == null
+                                          ? loanApplicationRepository.countByStatus(status.name())
+                                          : loanApplicationRepository.countByStatusAndBranchId(
+                                                      status.name(), branchId)));
+            }
+            return depth;
+      }
+
+      /** Semua pengajuan dengan status tertentu (sumber rekonsiliasi antrian). */
       @Transactional(readOnly = true)
-      public List<LoanApplicationResponse> getWaitingDisbursementApplications() {
-            return loanApplicationRepository
-                        .findByStatusOrderBySubmittedAtAsc(LoanApplicationStatus.WAITING_DISBURSEMENT.name())
-                        .stream()
+      public List<LoanApplicationResponse> getApplicationsByStatus(String status) {
+            return loanApplicationRepository.findByStatusOrderBySubmittedAtAsc(status).stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList());
+      }
+
+      /** Pengajuan berdasarkan kumpulan id (rekonsiliasi entry antrian yang usang). */
+      @Transactional(readOnly = true)
+      public List<LoanApplicationResponse> getApplicationsByIds(Collection<Long> ids) {
+            return loanApplicationRepository.findAllById(ids).stream()
                         .map(this::toResponse)
                         .collect(Collectors.toList());
       }
@@ -591,15 +597,12 @@ public class LoanApplicationService {
                         "Pinjaman berhasil dicairkan",
                         "BACKOFFICE");
 
-            // NOTIFIKASI CUSTOMER
-            notificationService.createNotification(
-                  application.getUser(),
-                  "Dana Pinjaman Cair!",
-                  "Kabar gembira! Dana pinjaman Anda sebesar Rp " + application.getAmount() + " telah berhasil dicairkan. Silakan cek rekening Anda.");
-            // TODO: Kirim notifikasi via Email/WA real (Future Improvement)
-
             LoanApplication savedApplication = loanApplicationRepository.save(application);
-            return toResponse(savedApplication);
+            return publishStatusChange(
+                        savedApplication,
+                        LoanApplicationStatus.WAITING_DISBURSEMENT.name(),
+                        "BACKOFFICE",
+                        null);
       }
 
       /**
@@ -647,17 +650,92 @@ public class LoanApplicationService {
                         request.getComment(),
                         "BACKOFFICE");
 
-            // NOTIFIKASI CUSTOMER
-            notificationService.createNotification(
-                  application.getUser(),
-                  "Pencairan Pinjaman Ditolak",
-                  "Mohon maaf, proses pencairan pinjaman Anda ditolak oleh Backoffice. Alasan: " + request.getComment());
-
             LoanApplication savedApplication = loanApplicationRepository.save(application);
-            return toResponse(savedApplication);
+            return publishStatusChange(
+                        savedApplication,
+                        LoanApplicationStatus.WAITING_DISBURSEMENT.name(),
+                        "BACKOFFICE",
+                        request.getComment());
+      }
+
+      /**
+       * Antrian branch milik staff. Branch diambil dari cache user-branch sehingga
+       * polling tidak menyentuh database selama antrian Redis siap. Request identik
+       * yang bersamaan (endpoint, branch, status, halaman) berbagi satu read.
+       */
+      private List<LoanApplicationResponse> getBranchQueue(
+                  String endpoint, String username, String status, int page, int size) {
+            Long branchId = userRepository.findBranchIdByUsername(username);
+            if (branchId == null) {
+                  throw new BusinessException("User tidak memiliki branch");
+            }
+            return queueReadCoalescer.get(
+                        coalesceKey(endpoint, branchId, status, page, size),
+                        () -> loanWorkQueues
+                                    .page(status, branchId, page, size)
+                                    .orElseGet(() -> readFromDatabase(
+                                                () -> loanApplicationRepository
+                                                            .findByStatusAndBranch(status, branchId),
+                                                page,
+                                                size)));
       }
 
-      /** Helper method untuk create history */
+      private static String coalesceKey(
+                  String endpoint, Long branchId, String status, int page, int size) {
+            return endpoint + "|" + branchId + "|" + status + "|" + page + "|" + size;
+      }
+
+      /**
+       * Fallback database dengan semantik paging yang sama dengan antrian Redis. Transaksi
+       * read-only hanya dibuka di jalur ini; read dari antrian tidak memegang koneksi database.
+       */
+      private List<LoanApplicationResponse> readFromDatabase(
+                  Supplier<List<LoanApplication>> query, int page, int size) {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            return readOnly.execute(status -> query.get().stream()
+                        .skip(size > 0 ? (long) page * size : 0)
+                        .limit(size > 0 ? size : Long.MAX_VALUE)
+                        .map(this::toResponse)
+                        .toList());
+      }
+
+      /**
+       * Publish {@link LoanStatusChangedEvent}; antrian kerja dan counter transisi
+       * diproses listener setelah commit. Notifikasi customer, history, dan plafond
+       * ditulis di transaksi transisi.
+       */
+      private LoanApplicationResponse publishStatusChange(
+                  LoanApplication application, String fromStatus, String actorRole, String comment) {
+            LoanApplicationResponse response = toResponse(application);
+            eventPublisher.publishEvent(new LoanStatusChangedEvent(
+                        application.getId(),
+                        application.getUser().getId(),
+                        application.getBranch().getId(),
+                        fromStatus,
+                        application.getStatus(),
+                        actorRole,
+                        comment,
+                        application.getAmount(),
+                        response));
+            return response;
+      }
+
+      /**
+       * Id di luar scope: bedakan tidak ada (404) dan tidak berhak, dengan probe
+       * primary key tanpa memuat data.
+       */
+      private RuntimeException accessDeniedOrNotFound(Long applicationId, String deniedMessage) {
+            if (loanApplicationRepository.existsById(applicationId)) {
+                  return new BusinessException(deniedMessage);
+            }
+            return new ResourceNotFoundException("Loan application tidak ditemukan");
+      }
+
+      /**
+       * Helper method untuk create history. Timeline aplikasi di cache
+       * application-timeline di-evict setelah commit.
+       */
       private void createHistory(
                   LoanApplication application, User actionBy, String status, String comment, String role) {
             ApplicationHistory history = ApplicationHistory.builder()
@@ -668,6 +746,7 @@ public class LoanApplicationService {
                         .actionByRole(role)
                         .build();
             applicationHistoryRepository.save(history);
+            cacheEntryWriter.evict("application-timeline", List.of(application.getId()));
       }
 
       /**
@@ -676,40 +755,20 @@ public class LoanApplicationService {
        * Isolasi data agar perubahan di user profile tidak mempengaruhi snapshot loan
        */
       private String copyFileToSnapshot(String originalPath, String fileType) throws IOException {
-            if (originalPath == null || originalPath.isEmpty()) {
-                  return null;
-            }
-
-            // Sub-direktori untuk snapshot
-            String snapshotSubDir = "loan-snapshots";
-            Path snapshotDir = Paths.get(uploadDir, snapshotSubDir);
-
-            // Buat folder jika belum ada
-            if (!Files.exists(snapshotDir)) {
-                  Files.createDirectories(snapshotDir);
-            }
-
-            // Generate nama file baru dengan UUID
-            String fileExtension = "";
-            if (originalPath.contains(".")) {
-                  fileExtension = originalPath.substring(originalPath.lastIndexOf("."));
-            }
-            String newFileName = fileType + "_" + UUID.randomUUID().toString() + fileExtension;
-            Path targetPath = snapshotDir.resolve(newFileName);
-
-            // Path sumber file (originalPath biasanya berisi "profiles/uuid.jpg")
-            // Kita harus gabungkan dengan uploadDir agar filenya ketemu
-            Path sourcePath = Paths.get(uploadDir, originalPath);
-
-            if (Files.exists(sourcePath)) {
-                  Files.copy(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
-                  // Return format yang konsisten dengan FileStorageUtil: "subDir/fileName"
-                  return snapshotSubDir + "/" + newFileName;
-            }
-
-            // Jika file source tidak ada (misal data dummy), return null agar tidak error
-            // saat fetching
-            return null;
+            // Jika file source tidak ada (misal data dummy), storage return null agar
+            // tidak error saat fetching
+            String copied = documentStorage.copy(originalPath, "loan-snapshots", fileType + "_");
+            if (copied == null && originalPath != null && !originalPath.isEmpty()
+                        && !DocumentPaths.isSharded(originalPath)) {
+                  // Path legacy yang baru saja dipindah migrasi storage: salin dari lokasi sharded
+                  copied = documentStorage.copy(
+                              DocumentPaths.sharded(
+                                          DocumentPaths.subDir(originalPath),
+                                          DocumentPaths.fileName(originalPath)),
+                              "loan-snapshots",
+                              fileType + "_");
+            }
+            return copied;
       }
 
       /** Mapper Entity to Response DTO */
@@ -742,17 +801,13 @@ public class LoanApplicationService {
                         .build();
       }
 
-      /** Mapper Entity to History Response DTO */
-      private ApplicationHistoryResponse toHistoryResponse(ApplicationHistory history) {
-            return ApplicationHistoryResponse.builder()
-                        .id(history.getId())
-                        .loanApplicationId(history.getLoanApplication().getId())
-                        .actionByUserId(history.getActionByUser().getId())
-                        .actionByUsername(history.getActionByUser().getUsername())
-                        .actionByRole(history.getActionByRole())
-                        .status(history.getStatus())
-                        .comment(history.getComment())
-                        .createdAt(history.getCreatedAt())
-                        .build();
+      /** Path dokumen baru untuk satu pengajuan pinjaman. */
+      private record LoanDocuments(String savingBookCoverPath, String payslipPhotoPath) {
+      }
+
+      /** Sumber dokumen pengajuan: upload multipart langsung atau sesi upload bertahap. */
+      @FunctionalInterface
+      private interface LoanDocumentSource {
+            LoanDocuments resolve() throws IOException;
       }
 }
@@ -1,17 +1,28 @@
 package com.example.loanova.service;
 
+import com.example.loanova.dto.response.NotificationPageResponse;
 import com.example.loanova.dto.response.NotificationResponse;
 import com.example.loanova.entity.Notification;
-import com.example.loanova.entity.User;
 import com.example.loanova.exception.ResourceNotFoundException;
+import com.example.loanova.notification.NotificationPushHandler;
+import com.example.loanova.notification.NotificationReadBuffer;
+import com.example.loanova.notification.NotificationStreamHub;
+import com.example.loanova.notification.NotificationStreamHub.StreamMessage;
+import com.example.loanova.notification.UnreadNotificationCounter;
+import com.example.loanova.outbox.Outbox;
 import com.example.loanova.repository.NotificationRepository;
+import com.example.loanova.repository.NotificationRepository.NotificationView;
 import com.example.loanova.repository.UserRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @RequiredArgsConstructor
@@ -19,69 +30,144 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationReadBuffer readBuffer;
+    private final NotificationStreamHub streamHub;
+    private final Outbox outbox;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RESUME_EVENTS = 100;
 
     /**
-     * Membuat notifikasi baru untuk user tertentu
+     * Membuat notifikasi baru untuk user tertentu. Push ke stream SSE ditulis ke outbox
+     * di transaksi yang sama dan dikirim di background setelah commit. User cukup
+     * direferensikan lewat id, tanpa SELECT ke tabel users.
      */
     @Transactional
-    public void createNotification(User user, String title, String message) {
+    public void createNotification(Long userId, String title, String message) {
         Notification notification = Notification.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .title(title)
                 .message(message)
                 .isRead(false)
                 .createdAt(LocalDateTime.now())
                 .build();
         
-        notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        unreadCounter.adjust(userId, 1);
+        outbox.enqueue(NotificationPushHandler.TYPE, new StreamMessage(userId, toResponse(saved)));
+    }
+
+    /**
+     * Membuka stream SSE notifikasi user yang login. Jika {@code lastEventId} ada,
+     * notifikasi setelahnya (maksimal 100) dikirim lebih dulu dari tabel notifications.
+     */
+    public SseEmitter openStream(String username, Long lastEventId) {
+        Long userId = resolveUserId(username);
+        Pageable resume = PageRequest.of(0, MAX_RESUME_EVENTS);
+        return streamHub.connect(userId, () -> lastEventId == null
+                ? List.of()
+                : withPendingReads(userId, notificationRepository
+                        .findByUserIdAfter(userId, lastEventId, resume).stream()
+                        .map(this::toResponse)
+                        .toList()));
     }
 
     /**
-     * Mengambil daftar notifikasi milik user yang login
+     * Mengambil satu halaman notifikasi milik user yang login, terbaru dulu.
+     * {@code cursor} adalah nextCursor dari halaman sebelumnya (null untuk halaman pertama).
+     * Query memakai projection sehingga tabel users tidak disentuh.
      */
     @Transactional(readOnly = true)
-    public List<NotificationResponse> getUserNotifications(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
+    public NotificationPageResponse getUserNotifications(String username, Long cursor, int size) {
+        Long userId = resolveUserId(username);
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // Ambil satu baris ekstra untuk tahu apakah masih ada halaman berikutnya
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<NotificationView> views = cursor == null
+                ? notificationRepository.findPageByUserId(userId, pageable)
+                : notificationRepository.findPageByUserIdBefore(userId, cursor, pageable);
 
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user).stream()
+        List<NotificationResponse> items = withPendingReads(userId, views.stream()
+                .limit(limit)
                 .map(this::toResponse)
-                .collect(Collectors.toList());
+                .toList());
+        Long nextCursor = views.size() > limit ? items.get(items.size() - 1).getId() : null;
+        return NotificationPageResponse.builder().items(items).nextCursor(nextCursor).build();
     }
 
     /**
-     * Menandai notifikasi sebagai sudah dibaca
+     * Jumlah notifikasi belum dibaca untuk badge (counter Redis, bukan COUNT ke database)
      */
-    @Transactional
-    public void markAsRead(String username, Long notificationId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
+    public long getUnreadCount(String username) {
+        return unreadCounter.get(resolveUserId(username));
+    }
 
-        Notification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Notifikasi tidak ditemukan"));
+    /**
+     * Menandai notifikasi sebagai sudah dibaca. Tanda baca masuk buffer dan ditulis ke
+     * database secara batch oleh {@link NotificationReadBuffer}; hanya ada satu SELECT
+     * untuk cek kepemilikan. Notifikasi yang sudah dibaca sebelumnya tidak dianggap error.
+     */
+    public void markAsRead(String username, Long notificationId) {
+        Long userId = resolveUserId(username);
 
-        // Validasi kepemilikan notifikasi
-        if (!notification.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Notifikasi tidak ditemukan atau bukan milik Anda");
+        boolean isRead = notificationRepository.findIsReadByIdAndUserId(notificationId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Notifikasi tidak ditemukan atau bukan milik Anda"));
+        if (!isRead) {
+            unreadCounter.adjust(userId, -readBuffer.add(userId, List.of(notificationId)));
         }
+    }
 
-        notification.setIsRead(true);
-        notificationRepository.save(notification);
+    /**
+     * Menandai beberapa notifikasi sebagai sudah dibaca (lewat buffer). Id yang bukan
+     * milik user atau sudah dibaca dilewati. Mengembalikan jumlah notifikasi yang berubah.
+     */
+    public int markAsRead(String username, Collection<Long> notificationIds) {
+        Long userId = resolveUserId(username);
+
+        List<Long> unread =
+                notificationRepository.findUnreadIds(userId, Set.copyOf(notificationIds));
+        int added = readBuffer.add(userId, unread);
+        unreadCounter.adjust(userId, -added);
+        return added;
     }
 
     /**
-     * Menandai semua notifikasi sebagai sudah dibaca
+     * Menandai semua notifikasi sebagai sudah dibaca. Tanda baca di buffer sebelum UPDATE
+     * sudah tercakup sehingga dibuang setelah commit; yang masuk setelahnya tetap di buffer.
+     * Mengembalikan jumlah notifikasi yang berubah.
      */
     @Transactional
-    public void markAllAsRead(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
+    public int markAllAsRead(String username) {
+        Long userId = resolveUserId(username);
 
-        List<Notification> unreadNotifications = notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
-        
-        unreadNotifications.forEach(notification -> notification.setIsRead(true));
-        
-        notificationRepository.saveAll(unreadNotifications);
+        Set<Long> alreadyBuffered = readBuffer.pending(userId);
+        int updated = notificationRepository.markAllRead(userId);
+        readBuffer.discard(userId, alreadyBuffered);
+        unreadCounter.reset(userId);
+        return Math.max(0, updated - alreadyBuffered.size());
+    }
+
+    // Gabungkan tanda baca yang masih di buffer agar response konsisten dengan PUT sebelumnya
+    private List<NotificationResponse> withPendingReads(
+            Long userId, List<NotificationResponse> notifications) {
+        Set<Long> pending = readBuffer.pending(userId);
+        if (!pending.isEmpty()) {
+            notifications.stream()
+                    .filter(notification -> pending.contains(notification.getId()))
+                    .forEach(notification -> notification.setIsRead(true));
+        }
+        return notifications;
+    }
+
+    /** Id user dari cache user-id (tanpa memuat entity User) */
+    private Long resolveUserId(String username) {
+        Long userId = userRepository.findIdByUsername(username);
+        if (userId == null) {
+            throw new ResourceNotFoundException("User tidak ditemukan");
+        }
+        return userId;
     }
 
     private NotificationResponse toResponse(Notification notification) {
@@ -93,4 +179,14 @@ public class NotificationService {
                 .createdAt(notification.getCreatedAt())
                 .build();
     }
+
+    private NotificationResponse toResponse(NotificationView notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .isRead(notification.getIsRead())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
 }
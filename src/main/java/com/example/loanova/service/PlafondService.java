@@ -1,5 +1,8 @@
 package com.example.loanova.service;
 
+import com.example.loanova.cache.CacheEntryWriter;
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.dto.request.PlafondRequest;
 import com.example.loanova.dto.response.PlafondResponse;
 import com.example.loanova.entity.Plafond;
@@ -11,7 +14,6 @@ import com.example.loanova.repository.PlafondRepository;
 import com.example.loanova.repository.UserPlafondRepository;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * PLAFOND SERVICE Layer bisnis untuk mengelola data plafond pinjaman. Menangani logika validasi
  * duplikasi, soft delete, dan pemulihan data.
+ *
+ * <p>Cache: {@code plafond} per id dan {@code plafonds} untuk list. Write memperbarui entry yang
+ * terdampak saja lewat {@link CacheEntryWriter} setelah commit, bukan mengosongkan seluruh cache.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,15 +32,17 @@ public class PlafondService {
   private final PlafondRepository plafondRepository;
   private final UserPlafondRepository userPlafondRepository;
   private final LoanApplicationRepository loanApplicationRepository;
+  private final CacheEntryWriter cacheEntryWriter;
+  private final CatalogVersions catalogVersions;
 
   /** Mendapatkan semua plafond yang aktif */
-  @Cacheable(value = "plafonds")
+  @Cacheable(value = "plafonds", sync = true)
   public List<PlafondResponse> getAllPlafonds() {
     return plafondRepository.findAll().stream().map(this::toResponse).toList();
   }
 
   /** Mendapatkan detail plafond berdasarkan ID */
-  @Cacheable(value = "plafond", key = "#id")
+  @Cacheable(value = "plafond", key = "#id", sync = true)
   public PlafondResponse getPlafondById(Long id) {
     return plafondRepository
         .findById(id)
@@ -49,7 +56,6 @@ public class PlafondService {
    * sudah dihapus.
    */
   @Transactional
-  @CacheEvict(value = "plafonds", allEntries = true)
   public PlafondResponse createPlafond(PlafondRequest request) {
     if (plafondRepository.existsByName(request.getName())) {
       throw new DuplicateResourceException(
@@ -73,7 +79,7 @@ public class PlafondService {
             .tenorMax(request.getTenorMax())
             .build();
 
-    return toResponse(plafondRepository.save(plafond));
+    return cachePlafond(plafondRepository.save(plafond));
   }
 
   /**
@@ -81,7 +87,6 @@ public class PlafondService {
    * yang sedang aktif.
    */
   @Transactional
-  @CacheEvict(value = { "plafond", "plafonds" }, key = "#id", allEntries = true)
   public PlafondResponse updatePlafond(Long id, PlafondRequest request) {
     Plafond plafond =
         plafondRepository
@@ -103,12 +108,11 @@ public class PlafondService {
     plafond.setTenorMin(request.getTenorMin());
     plafond.setTenorMax(request.getTenorMax());
 
-    return toResponse(plafondRepository.save(plafond));
+    return cachePlafond(plafondRepository.save(plafond));
   }
 
   /** Menghapus plafond (soft delete) */
   @Transactional
-  @CacheEvict(value = { "plafond", "plafonds" }, key = "#id", allEntries = true)
   public void deletePlafond(Long id) {
     Plafond plafond =
         plafondRepository
@@ -131,11 +135,12 @@ public class PlafondService {
 
     plafond.softDelete();
     plafondRepository.save(plafond);
+    cacheEntryWriter.remove("plafond", "plafonds", id);
+    catalogVersions.bump(Catalog.PLAFONDS);
   }
 
   /** Restore plafond yang sudah di-soft delete */
   @Transactional
-  @CacheEvict(value = { "plafond", "plafonds" }, key = "#id", allEntries = true)
   public PlafondResponse restorePlafond(Long id) {
     Plafond plafond =
         plafondRepository
@@ -145,7 +150,15 @@ public class PlafondService {
                     new ResourceNotFoundException("Maaf, tidak ada data plafond dengan id " + id));
 
     plafond.restore();
-    return toResponse(plafondRepository.save(plafond));
+    return cachePlafond(plafondRepository.save(plafond));
+  }
+
+  /** Update entry cache plafond ini (per id dan di dalam list) dan versi catalog setelah commit */
+  private PlafondResponse cachePlafond(Plafond plafond) {
+    PlafondResponse response = toResponse(plafond);
+    cacheEntryWriter.upsert("plafond", "plafonds", response.getId(), response);
+    catalogVersions.bump(Catalog.PLAFONDS);
+    return response;
   }
 
   /** Mapping Entity ke Response DTO */
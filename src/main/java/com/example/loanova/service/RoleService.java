@@ -1,5 +1,7 @@
 package com.example.loanova.service;
 
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
 import com.example.loanova.dto.request.RoleRequest;
 import com.example.loanova.dto.request.RoleUpdateRequest;
 import com.example.loanova.dto.response.RoleResponse;
@@ -24,14 +26,17 @@ public class RoleService {
   private final RoleRepository roleRepository;
   private final PermissionRepository permissionRepository;
   private final UserRepository userRepository;
+  private final CatalogVersions catalogVersions;
 
   public RoleService(
       RoleRepository roleRepository,
       PermissionRepository permissionRepository,
-      UserRepository userRepository) {
+      UserRepository userRepository,
+      CatalogVersions catalogVersions) {
     this.roleRepository = roleRepository;
     this.permissionRepository = permissionRepository;
     this.userRepository = userRepository;
+    this.catalogVersions = catalogVersions;
   }
 
   /**
@@ -63,6 +68,7 @@ public class RoleService {
         .roleDescription(request.getRoleDescription())
         .permissions(permissions)
         .build();
+    catalogVersions.bump(Catalog.ROLES);
     return toResponse(roleRepository.save(role));
   }
 
@@ -81,6 +87,7 @@ public class RoleService {
       role.setPermissions(permissions);
     }
 
+    catalogVersions.bump(Catalog.ROLES);
     return toResponse(roleRepository.save(role));
   }
 
@@ -107,6 +114,7 @@ public class RoleService {
 
     role.softDelete();
     roleRepository.save(role);
+    catalogVersions.bump(Catalog.ROLES);
   }
 
   /**
@@ -0,0 +1,412 @@
+package com.example.loanova.service;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.dto.request.UploadCompleteRequest;
+import com.example.loanova.dto.request.UploadSessionRequest;
+import com.example.loanova.dto.response.UploadSessionResponse;
+import com.example.loanova.entity.UploadSession;
+import com.example.loanova.entity.UploadSessionStatus;
+import com.example.loanova.entity.User;
+import com.example.loanova.exception.BusinessException;
+import com.example.loanova.exception.ResourceNotFoundException;
+import com.example.loanova.repository.UploadSessionRepository;
+import com.example.loanova.repository.UserRepository;
+import com.example.loanova.storage.DocumentPaths;
+import com.example.loanova.storage.DocumentStorage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * UPLOAD SESSION SERVICE - Upload dokumen pinjaman secara bertahap (resumable).
+ *
+ * <p>Alur: buat sesi → kirim chunk dengan offset (boleh diulang/dilanjutkan) → complete dengan
+ * checksum SHA-256 → uploadId dipakai saat submit pinjaman. Chunk ditulis ke file sementara
+ * dengan positional write (FileChannel) sehingga retry chunk yang sama tidak merusak isi file.
+ * Transfer chunk tidak memegang transaksi database; progres dicatat dengan update singkat.
+ *
+ * <p>Complete lebih dulu memindahkan sesi ke COMPLETING dengan compare-and-set: chunk baru ditolak
+ * dan hanya satu request complete yang lanjut. Checksum dihitung dari stream yang sama dengan
+ * yang disalin ke storage sehingga file yang tersimpan selalu file yang diverifikasi; magic bytes
+ * (JPEG/PNG) juga dicek. Jumlah sesi terbuka per user dibatasi {@code
+ * file.upload-session.max-open-per-user} agar satu akun tidak memenuhi storage dengan sesi yang
+ * ditinggalkan.
+ *
+ * <p>Direktori sementara ({@code file.upload-session.dir}) harus berupa volume bersama jika
+ * aplikasi dijalankan lebih dari satu instance.
+ */
+@Slf4j
+@Service
+public class UploadSessionService {
+
+  public static final String EXPIRE_LOCK_KEY = "upload_session:expire_lock";
+
+  private static final String SUB_DIR = "loan-documents";
+  private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+  private static final byte[] PNG_MAGIC = {
+    (byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A
+  };
+
+  private final UploadSessionRepository uploadSessionRepository;
+  private final UserRepository userRepository;
+  private final DocumentStorage documentStorage;
+  private final TransactionTemplate transactionTemplate;
+  private final StringRedisTemplate redisTemplate;
+  private final Path tempDir;
+  private final long maxSize;
+  private final Duration ttl;
+  private final int maxOpenPerUser;
+
+  public UploadSessionService(
+      UploadSessionRepository uploadSessionRepository,
+      UserRepository userRepository,
+      DocumentStorage documentStorage,
+      TransactionTemplate transactionTemplate,
+      StringRedisTemplate redisTemplate,
+      @Value("${file.upload-session.dir:./upload-sessions}") String tempDir,
+      @Value("${file.upload-session.max-size:3145728}") long maxSize,
+      @Value("${file.upload-session.ttl:PT24H}") Duration ttl,
+      @Value("${file.upload-session.max-open-per-user:10}") int maxOpenPerUser) {
+    this.uploadSessionRepository = uploadSessionRepository;
+    this.userRepository = userRepository;
+    this.documentStorage = documentStorage;
+    this.transactionTemplate = transactionTemplate;
+    this.redisTemplate = redisTemplate;
+    this.tempDir = Paths.get(tempDir).toAbsolutePath().normalize();
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.maxOpenPerUser = maxOpenPerUser;
+  }
+
+  /** BUAT SESI - Validasi metadata file lalu siapkan file sementara kosong. */
+  @Transactional
+  public UploadSessionResponse createSession(String username, UploadSessionRequest request) {
+    User user =
+        userRepository
+            .findByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User tidak ditemukan"));
+
+    if (!request.getContentType().startsWith("image/")) {
+      throw new BusinessException("File harus berupa gambar (JPG/PNG)");
+    }
+    if (request.getTotalSize() > maxSize) {
+      throw new BusinessException(
+          "Ukuran file terlalu besar. Maksimal " + (maxSize / (1024 * 1024)) + "MB");
+    }
+    if (uploadSessionRepository.countOpenByUserId(user.getId(), LocalDateTime.now())
+        >= maxOpenPerUser) {
+      throw new BusinessException(
+          "Terlalu banyak sesi upload terbuka. Selesaikan atau tunggu sesi lama kadaluarsa");
+    }
+
+    UploadSession session =
+        UploadSession.builder()
+            .uploadId(UUID.randomUUID().toString())
+            .user(user)
+            .fileName(request.getFileName())
+            .contentType(request.getContentType())
+            .totalSize(request.getTotalSize())
+            .receivedBytes(0L)
+            .status(UploadSessionStatus.IN_PROGRESS.name())
+            .expiresAt(LocalDateTime.now().plus(ttl))
+            .build();
+
+    try {
+      Files.createDirectories(tempDir);
+      Files.deleteIfExists(tempFile(session.getUploadId()));
+      Files.createFile(tempFile(session.getUploadId()));
+    } catch (IOException e) {
+      throw new BusinessException("Gagal menyiapkan sesi upload: " + e.getMessage());
+    }
+
+    return toResponse(uploadSessionRepository.save(session));
+  }
+
+  /** STATUS SESI - Dipakai client untuk mengetahui offset saat melanjutkan upload. */
+  @Transactional(readOnly = true)
+  public UploadSessionResponse getSession(String username, String uploadId) {
+    return toResponse(findSession(username, uploadId));
+  }
+
+  /**
+   * KIRIM CHUNK - Menulis isi body ke file sementara mulai dari offset. Offset tidak boleh
+   * melewati jumlah byte yang sudah diterima (tidak boleh ada lubang), tapi boleh lebih kecil
+   * untuk mengulang chunk yang gagal.
+   */
+  public UploadSessionResponse appendChunk(
+      String username, String uploadId, long offset, InputStream body) {
+    UploadSession session = findSession(username, uploadId);
+    ensureInProgress(session);
+
+    if (offset < 0 || offset > session.getReceivedBytes()) {
+      throw new BusinessException(
+          "Offset tidak valid. Lanjutkan upload dari offset " + session.getReceivedBytes());
+    }
+
+    long end;
+    try (FileChannel channel = FileChannel.open(tempFile(uploadId), StandardOpenOption.WRITE)) {
+      end = writeAt(channel, body, offset, session.getTotalSize());
+    } catch (IOException e) {
+      throw new BusinessException("Gagal menyimpan chunk: " + e.getMessage());
+    }
+
+    final long chunkEnd = end;
+    Integer advanced =
+        transactionTemplate.execute(
+            status -> uploadSessionRepository.advanceReceivedBytes(session.getId(), chunkEnd));
+    if (advanced == null || advanced == 0) {
+      // Tidak maju: retry chunk lama, atau sesi sudah masuk COMPLETING di tengah transfer
+      UploadSession current = findSession(username, uploadId);
+      ensureInProgress(current);
+      return toResponse(current);
+    }
+    session.setReceivedBytes(chunkEnd);
+    return toResponse(session);
+  }
+
+  /**
+   * COMPLETE - Kunci sesi (COMPLETING), salin file ke DocumentStorage sambil menghitung SHA-256,
+   * lalu verifikasi checksum dan magic bytes. Idempotent: memanggil ulang sesi yang sudah
+   * COMPLETED mengembalikan status yang sama.
+   */
+  public UploadSessionResponse complete(
+      String username, String uploadId, UploadCompleteRequest request) {
+    UploadSession session = findSession(username, uploadId);
+    if (UploadSessionStatus.COMPLETED.name().equals(session.getStatus())) {
+      return toResponse(session);
+    }
+    ensureInProgress(session);
+
+    if (session.getReceivedBytes() < session.getTotalSize()) {
+      throw new BusinessException(
+          "Upload belum lengkap: "
+              + session.getReceivedBytes()
+              + " dari "
+              + session.getTotalSize()
+              + " bytes");
+    }
+
+    Integer locked =
+        transactionTemplate.execute(
+            status -> uploadSessionRepository.beginCompletion(session.getId()));
+    if (locked == null || locked == 0) {
+      // Complete lain sedang / sudah berjalan
+      UploadSession current = findSession(username, uploadId);
+      if (UploadSessionStatus.COMPLETED.name().equals(current.getStatus())) {
+        return toResponse(current);
+      }
+      throw new BusinessException("Sesi upload sedang diselesaikan, silakan cek status sesi");
+    }
+
+    Path temp = tempFile(uploadId);
+    String storagePath;
+    try {
+      // Checksum dari stream yang sama dengan yang disalin: file tersimpan = file terverifikasi
+      MessageDigest digest = sha256();
+      String fileName = DocumentPaths.randomFileName("", session.getFileName());
+      try (InputStream content = new DigestInputStream(Files.newInputStream(temp), digest)) {
+        storagePath = documentStorage.save(content, session.getTotalSize(), SUB_DIR, fileName);
+      }
+
+      String checksum = HexFormat.of().formatHex(digest.digest());
+      if (!checksum.equalsIgnoreCase(request.getSha256())) {
+        // Isi file rusak: reset sesi agar client mengulang dari awal
+        documentStorage.deleteFile(storagePath);
+        resetSession(session, temp);
+        throw new BusinessException("Checksum tidak cocok, silakan ulangi upload dari offset 0");
+      }
+      if (!isImage(documentStorage.readRange(storagePath, 0, PNG_MAGIC.length))) {
+        documentStorage.deleteFile(storagePath);
+        resetSession(session, temp);
+        throw new BusinessException("Isi file bukan gambar JPG/PNG yang valid");
+      }
+    } catch (IOException e) {
+      abortCompletion(session.getId(), session.getReceivedBytes());
+      throw new BusinessException("Gagal menyelesaikan upload: " + e.getMessage());
+    }
+
+    Integer updated =
+        transactionTemplate.execute(
+            status -> uploadSessionRepository.markCompleted(session.getId(), storagePath));
+    if (updated == null || updated == 0) {
+      // Sesi kadaluarsa di tengah penyelesaian: buang salinan milik request ini
+      documentStorage.deleteFile(storagePath);
+      throw new BusinessException("Sesi upload sudah kadaluarsa");
+    }
+
+    try {
+      Files.deleteIfExists(temp);
+    } catch (IOException e) {
+      log.warn("Gagal menghapus file sesi upload {}: {}", uploadId, e.getMessage());
+    }
+    session.setStatus(UploadSessionStatus.COMPLETED.name());
+    session.setStoragePath(storagePath);
+    return toResponse(session);
+  }
+
+  /**
+   * Menandai sesi sudah dipakai pengajuan pinjaman dan mengembalikan path dokumennya. Harus
+   * dipanggil di dalam transaksi submit agar rollback ikut membatalkan konsumsi sesi.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public String consume(String username, String uploadId) {
+    UploadSession session =
+        uploadSessionRepository
+            .findByUploadIdAndUsernameForUpdate(uploadId, username)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("Sesi upload tidak ditemukan: " + uploadId));
+
+    if (!UploadSessionStatus.COMPLETED.name().equals(session.getStatus())
+        || session.getExpiresAt().isBefore(LocalDateTime.now())) {
+      throw new BusinessException("Dokumen dengan upload ID " + uploadId + " belum siap dipakai");
+    }
+
+    session.setStatus(UploadSessionStatus.CONSUMED.name());
+    uploadSessionRepository.save(session);
+    return session.getStoragePath();
+  }
+
+  /** Membersihkan sesi kadaluarsa beserta file sementara / file yang tidak jadi dipakai. */
+  @Scheduled(fixedDelayString = "${file.upload-session.cleanup-interval:PT15M}")
+  public void expireSessions() {
+    String owner = UUID.randomUUID().toString();
+    Boolean acquired =
+        redisTemplate.opsForValue().setIfAbsent(EXPIRE_LOCK_KEY, owner, Duration.ofMinutes(15));
+    if (!Boolean.TRUE.equals(acquired)) {
+      log.debug("Pembersihan sesi upload sedang berjalan di instance lain, skip");
+      return;
+    }
+
+    try {
+      expireBatches();
+    } finally {
+      CacheLoadSupport.releaseLock(redisTemplate, EXPIRE_LOCK_KEY, owner);
+    }
+  }
+
+  private void expireBatches() {
+    List<UploadSession> expired;
+    do {
+      expired = uploadSessionRepository.findExpired(LocalDateTime.now(), PageRequest.of(0, 200));
+      for (UploadSession session : expired) {
+        try {
+          Files.deleteIfExists(tempFile(session.getUploadId()));
+        } catch (IOException e) {
+          log.warn(
+              "Gagal menghapus file sesi upload {}: {}", session.getUploadId(), e.getMessage());
+        }
+        if (session.getStoragePath() != null) {
+          documentStorage.deleteFile(session.getStoragePath());
+        }
+        session.setStatus(UploadSessionStatus.EXPIRED.name());
+      }
+      List<UploadSession> batch = expired;
+      transactionTemplate.executeWithoutResult(
+          status -> uploadSessionRepository.saveAll(batch));
+    } while (!expired.isEmpty());
+  }
+
+  private UploadSession findSession(String username, String uploadId) {
+    return uploadSessionRepository
+        .findByUploadIdAndUsername(uploadId, username)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Sesi upload tidak ditemukan: " + uploadId));
+  }
+
+  private void ensureInProgress(UploadSession session) {
+    if (!UploadSessionStatus.IN_PROGRESS.name().equals(session.getStatus())) {
+      throw new BusinessException("Sesi upload sudah " + session.getStatus());
+    }
+    if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+      throw new BusinessException("Sesi upload sudah kadaluarsa");
+    }
+  }
+
+  private void resetSession(UploadSession session, Path temp) throws IOException {
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+      channel.truncate(0);
+    }
+    abortCompletion(session.getId(), 0L);
+  }
+
+  private void abortCompletion(Long sessionId, long receivedBytes) {
+    transactionTemplate.executeWithoutResult(
+        status -> uploadSessionRepository.abortCompletion(sessionId, receivedBytes));
+  }
+
+  /** Positional write dari stream ke channel; menolak data yang melewati ukuran total. */
+  private static long writeAt(FileChannel channel, InputStream body, long offset, long totalSize)
+      throws IOException {
+    byte[] buffer = new byte[64 * 1024];
+    long position = offset;
+    int read;
+    while ((read = body.read(buffer)) != -1) {
+      if (position + read > totalSize) {
+        throw new BusinessException("Chunk melebihi ukuran file yang dideklarasikan");
+      }
+      ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+      while (chunk.hasRemaining()) {
+        position += channel.write(chunk, position);
+      }
+    }
+    return position;
+  }
+
+  /** Cek magic bytes JPEG/PNG; content type dari client tidak bisa dipercaya. */
+  private static boolean isImage(byte[] head) {
+    return startsWith(head, JPEG_MAGIC) || startsWith(head, PNG_MAGIC);
+  }
+
+  private static boolean startsWith(byte[] data, byte[] prefix) {
+    return data.length >= prefix.length
+        && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 tidak tersedia di JVM", e);
+    }
+  }
+
+  private Path tempFile(String uploadId) {
+    // uploadId selalu UUID dari server, aman dipakai sebagai nama file
+    return tempDir.resolve(uploadId + ".part");
+  }
+
+  private UploadSessionResponse toResponse(UploadSession session) {
+    return UploadSessionResponse.builder()
+        .uploadId(session.getUploadId())
+        .fileName(session.getFileName())
+        .contentType(session.getContentType())
+        .totalSize(session.getTotalSize())
+        .receivedBytes(session.getReceivedBytes())
+        .status(session.getStatus())
+        .expiresAt(session.getExpiresAt())
+        .build();
+  }
+}
@@ -9,7 +9,8 @@ import com.example.loanova.exception.BusinessException;
 import com.example.loanova.exception.ResourceNotFoundException;
 import com.example.loanova.repository.UserProfileRepository;
 import com.example.loanova.repository.UserRepository;
-import com.example.loanova.util.FileStorageUtil;
+import com.example.loanova.storage.DocumentStorage;
+import com.example.loanova.storage.ImageDerivativeProcessor;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -22,7 +23,8 @@ public class UserProfileService {
 
   private final UserProfileRepository userProfileRepository;
   private final UserRepository userRepository;
-  private final FileStorageUtil fileStorageUtil;
+  private final DocumentStorage documentStorage;
+  private final ImageDerivativeProcessor imageDerivativeProcessor;
 
   /** LENGKAPI PROFIL - Untuk pengguna role CUSTOMER yang baru mendaftar. */
   @Transactional
@@ -43,11 +45,11 @@ public class UserProfileService {
 
     try {
       // 4. Simpan file-file foto
-      String ktpPath = fileStorageUtil.saveFile(request.getKtpPhoto(), "ktp");
-      String profilePath = fileStorageUtil.saveFile(request.getProfilePhoto(), "profiles");
+      String ktpPath = documentStorage.saveFile(request.getKtpPhoto(), "ktp");
+      String profilePath = documentStorage.saveFile(request.getProfilePhoto(), "profiles");
       String npwpPath = null;
       if (request.getNpwpPhoto() != null && !request.getNpwpPhoto().isEmpty()) {
-        npwpPath = fileStorageUtil.saveFile(request.getNpwpPhoto(), "npwp");
+        npwpPath = documentStorage.saveFile(request.getNpwpPhoto(), "npwp");
       }
 
       // 5. Buat entity UserProfile
@@ -65,6 +67,11 @@ public class UserProfileService {
           .build();
 
       UserProfile savedProfile = userProfileRepository.save(userProfile);
+
+      // Buat thumbnail & versi ternormalisasi setelah commit (asinkron)
+      imageDerivativeProcessor.submit(ktpPath);
+      imageDerivativeProcessor.submit(profilePath);
+      imageDerivativeProcessor.submit(npwpPath);
       return toResponse(savedProfile);
 
     } catch (IOException e) {
@@ -101,21 +108,24 @@ public class UserProfileService {
       // Update foto jika ada yang diunggah baru (opsional)
       if (request.getKtpPhoto() != null && !request.getKtpPhoto().isEmpty()) {
         // Hapus file lama sebelum save file baru
-        fileStorageUtil.deleteFile(userProfile.getKtpPhoto());
-        userProfile.setKtpPhoto(fileStorageUtil.saveFile(request.getKtpPhoto(), "ktp"));
+        documentStorage.deleteFile(userProfile.getKtpPhoto());
+        userProfile.setKtpPhoto(documentStorage.saveFile(request.getKtpPhoto(), "ktp"));
+        imageDerivativeProcessor.submit(userProfile.getKtpPhoto());
       }
       if (request.getProfilePhoto() != null && !request.getProfilePhoto().isEmpty()) {
         // Hapus file lama sebelum save file baru
-        fileStorageUtil.deleteFile(userProfile.getProfilePhoto());
+        documentStorage.deleteFile(userProfile.getProfilePhoto());
         userProfile.setProfilePhoto(
-            fileStorageUtil.saveFile(request.getProfilePhoto(), "profiles"));
+            documentStorage.saveFile(request.getProfilePhoto(), "profiles"));
+        imageDerivativeProcessor.submit(userProfile.getProfilePhoto());
       }
       if (request.getNpwpPhoto() != null && !request.getNpwpPhoto().isEmpty()) {
         // Hapus file lama sebelum save file baru (jika ada)
         if (userProfile.getNpwpPhoto() != null) {
-          fileStorageUtil.deleteFile(userProfile.getNpwpPhoto());
+          documentStorage.deleteFile(userProfile.getNpwpPhoto());
         }
-        userProfile.setNpwpPhoto(fileStorageUtil.saveFile(request.getNpwpPhoto(), "npwp"));
+        userProfile.setNpwpPhoto(documentStorage.saveFile(request.getNpwpPhoto(), "npwp"));
+        imageDerivativeProcessor.submit(userProfile.getNpwpPhoto());
       }
 
       UserProfile updatedProfile = userProfileRepository.save(userProfile);
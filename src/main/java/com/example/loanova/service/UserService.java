@@ -1,5 +1,6 @@
 package com.example.loanova.service;
 
+import com.example.loanova.cache.CacheEntryWriter;
 import com.example.loanova.dto.request.UserRequest;
 import com.example.loanova.dto.request.UserUpdateRequest;
 import com.example.loanova.dto.response.UserResponse;
@@ -20,6 +21,7 @@ import com.example.loanova.repository.LoanApplicationRepository;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +36,7 @@ public class UserService {
   private final PlafondRepository plafondRepository;
   private final PasswordEncoder passwordEncoder;
   private final LoanApplicationRepository loanApplicationRepository;
+  private final CacheEntryWriter cacheEntryWriter;
 
   public UserService(
       UserRepository userRepository,
@@ -42,7 +45,8 @@ public class UserService {
       UserPlafondRepository userPlafondRepository,
       PlafondRepository plafondRepository,
       PasswordEncoder passwordEncoder,
-      LoanApplicationRepository loanApplicationRepository) {
+      LoanApplicationRepository loanApplicationRepository,
+      CacheEntryWriter cacheEntryWriter) {
     this.userRepository = userRepository;
     this.branchRepository = branchRepository;
     this.roleRepository = roleRepository;
@@ -50,18 +54,23 @@ public class UserService {
     this.plafondRepository = plafondRepository;
     this.passwordEncoder = passwordEncoder;
     this.loanApplicationRepository = loanApplicationRepository;
+    this.cacheEntryWriter = cacheEntryWriter;
   }
 
   /*
    * Mendapatkan semua User yang ada di sistem (auto exclude deleted via @Where)
    */
+  @Cacheable(value = "users", sync = true)
   public List<UserResponse> getAllUser() {
-    return userRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+    return userRepository.findAll().stream()
+        .map(UserService::toResponse)
+        .collect(Collectors.toList());
   }
 
   /*
    * Mendapatkan User berdasarkan ID
    */
+  @Cacheable(value = "user", key = "#id", sync = true)
   public UserResponse getUserById(Long id) {
     User user = userRepository
         .findById(id)
@@ -118,7 +127,7 @@ public class UserService {
       createDefaultUserPlafondIfNotExists(savedUser);
     }
 
-    return toResponse(savedUser);
+    return cacheUser(savedUser);
   }
 
   /* Mengupdate data user */
@@ -164,6 +173,11 @@ public class UserService {
           .orElseThrow(() -> new ResourceNotFoundException("Branch tidak ditemukan"));
     }
 
+    // Branch dan id user di-cache per username (lama dan baru)
+    List<String> usernames = List.of(user.getUsername(), request.getUsername());
+    cacheEntryWriter.evict("user-branch", usernames);
+    cacheEntryWriter.evict("user-id", usernames);
+
     // update field tanpa password
     user.setUsername(request.getUsername());
     user.setEmail(request.getEmail());
@@ -179,7 +193,7 @@ public class UserService {
       createDefaultUserPlafondIfNotExists(savedUser);
     }
 
-    return toResponse(savedUser);
+    return cacheUser(savedUser);
   }
 
   /* Soft delete - menandai user sebagai deleted tanpa menghapus dari database */
@@ -209,6 +223,16 @@ public class UserService {
     user.setIsActive(false); // Otomatis nonaktifkan saat didelete
     user.softDelete();
     userRepository.save(user);
+    cacheEntryWriter.remove("user", "users", id);
+    cacheEntryWriter.evict("user-branch", List.of(user.getUsername()));
+    cacheEntryWriter.evict("user-id", List.of(user.getUsername()));
+  }
+
+  /* Update entry cache user ini (per id dan di dalam list) setelah commit */
+  private UserResponse cacheUser(User user) {
+    UserResponse response = toResponse(user);
+    cacheEntryWriter.upsert("user", "users", response.getId(), response);
+    return response;
   }
 
   /**
@@ -255,8 +279,8 @@ public class UserService {
     userPlafondRepository.save(userPlafond);
   }
 
-  /* Method helper untuk membantu mapping Entity ke DTO */
-  private UserResponse toResponse(User user) {
+  /* Method helper untuk membantu mapping Entity ke DTO (juga dipakai AuthService saat register) */
+  static UserResponse toResponse(User user) {
     return UserResponse.builder()
         .id(user.getId())
         .username(user.getUsername())
@@ -0,0 +1,256 @@
+package com.example.loanova.startup;
+
+import com.example.loanova.base.ApiResponse;
+import com.example.loanova.cache.Catalog;
+import com.example.loanova.cache.CatalogVersions;
+import com.example.loanova.dto.request.LoginRequest;
+import com.example.loanova.dto.response.BranchResponse;
+import com.example.loanova.dto.response.PlafondResponse;
+import com.example.loanova.repository.PlafondRepository;
+import com.example.loanova.repository.RoleRepository;
+import com.example.loanova.service.BranchService;
+import com.example.loanova.service.JwtService;
+import com.example.loanova.service.PermissionService;
+import com.example.loanova.service.PlafondService;
+import com.example.loanova.service.RoleService;
+import com.example.loanova.util.ResponseUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * WARMUP RUNNER - Fase warm-up setelah startup, sebelum readiness probe actuator melaporkan UP.
+ *
+ * <p>Spring Boot baru mengubah readiness menjadi ACCEPTING_TRAFFIC setelah semua ApplicationRunner
+ * selesai, jadi selama runner ini berjalan pod belum menerima traffic. Yang di-warm:
+ *
+ * <ul>
+ *   <li>Pool JDBC: buka beberapa koneksi sekaligus dan validasi.
+ *   <li>Catalog plafond, branch, role, permission: isi cache Redis/L1, Hibernate L2 + query cache
+ *       (lookup natural key) dan versi catalog.
+ *   <li>JWT: sign, parse, dan cek blacklist berulang agar path filter autentikasi ter-JIT.
+ *   <li>Jackson: serialisasi/deserialisasi DTO representatif berulang.
+ *   <li>BCrypt: beberapa kali encode/matches (sengaja sedikit, BCrypt memang mahal).
+ * </ul>
+ *
+ * <p>Seluruh fase dibatasi {@code warmup.budget}; task yang melewati sisa budget dibatalkan dan
+ * task berikutnya di-skip. Gagal warm-up tidak pernah menggagalkan startup. Durasi dan hasil per
+ * task tersedia di metric {@code startup.warmup} (tag task, outcome).
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+  private final DataSource dataSource;
+  private final PlafondService plafondService;
+  private final BranchService branchService;
+  private final RoleService roleService;
+  private final PermissionService permissionService;
+  private final PlafondRepository plafondRepository;
+  private final RoleRepository roleRepository;
+  private final CatalogVersions catalogVersions;
+  private final JwtService jwtService;
+  private final PasswordEncoder passwordEncoder;
+  private final JsonMapper jsonMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${warmup.budget:PT30S}")
+  private Duration budget;
+
+  @Value("${warmup.iterations:500}")
+  private int iterations;
+
+  @Value("${warmup.jdbc-connections:4}")
+  private int jdbcConnections;
+
+  public WarmupRunner(
+      DataSource dataSource,
+      PlafondService plafondService,
+      BranchService branchService,
+      RoleService roleService,
+      PermissionService permissionService,
+      PlafondRepository plafondRepository,
+      RoleRepository roleRepository,
+      CatalogVersions catalogVersions,
+      JwtService jwtService,
+      PasswordEncoder passwordEncoder,
+      JsonMapper jsonMapper,
+      MeterRegistry meterRegistry) {
+    this.dataSource = dataSource;
+    this.plafondService = plafondService;
+    this.branchService = branchService;
+    this.roleService = roleService;
+    this.permissionService = permissionService;
+    this.plafondRepository = plafondRepository;
+    this.roleRepository = roleRepository;
+    this.catalogVersions = catalogVersions;
+    this.jwtService = jwtService;
+    this.passwordEncoder = passwordEncoder;
+    this.jsonMapper = jsonMapper;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    Map<String, Runnable> tasks = new LinkedHashMap<>();
+    tasks.put("jdbc-pool", this::primeConnectionPool);
+    tasks.put("catalogs", this::preloadCatalogs);
+    tasks.put("jwt", this::exerciseJwt);
+    tasks.put("json", this::exerciseJson);
+    tasks.put("bcrypt", this::exerciseBcrypt);
+
+    long start = System.nanoTime();
+    long deadline = start + budget.toNanos();
+    ExecutorService executor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "warmup");
+              thread.setDaemon(true);
+              return thread;
+            });
+    Map<String, String> outcomes = new LinkedHashMap<>();
+    try {
+      tasks.forEach((name, task) -> outcomes.put(name, runTask(name, task, deadline, executor)));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    long elapsed = System.nanoTime() - start;
+    timer("total", outcomes.containsValue("success") ? "success" : "failure")
+        .record(elapsed, TimeUnit.NANOSECONDS);
+    log.info("Warm-up selesai dalam {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsed), outcomes);
+  }
+
+  private String runTask(String name, Runnable task, long deadline, ExecutorService executor) {
+    long remaining = deadline - System.nanoTime();
+    if (remaining <= 0) {
+      timer(name, "skipped").record(0, TimeUnit.NANOSECONDS);
+      return "skipped";
+    }
+
+    long start = System.nanoTime();
+    Future<?> future = executor.submit(task);
+    String outcome;
+    try {
+      future.get(remaining, TimeUnit.NANOSECONDS);
+      outcome = "success";
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      outcome = "timeout";
+    } catch (ExecutionException e) {
+      log.warn("Warm-up {} gagal: {}", name, e.getCause().getMessage());
+      outcome = "failure";
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      outcome = "interrupted";
+    }
+    timer(name, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return outcome;
+  }
+
+  /** Buka beberapa koneksi bersamaan agar pool tidak membuat koneksi saat request pertama. */
+  private void primeConnectionPool() {
+    List<Connection> connections = new ArrayList<>();
+    try {
+      for (int i = 0; i < jdbcConnections; i++) {
+        Connection connection = dataSource.getConnection();
+        connections.add(connection);
+        connection.isValid(2);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    } finally {
+      for (Connection connection : connections) {
+        try {
+          connection.close();
+        } catch (SQLException ignored) {
+          // koneksi dikembalikan ke pool, gagal close tidak mempengaruhi warm-up
+        }
+      }
+    }
+  }
+
+  /** Lewat service (proxy @Cacheable) agar Redis, L1, Hibernate L2 dan query cache terisi. */
+  private void preloadCatalogs() {
+    for (Catalog catalog : Catalog.values()) {
+      catalogVersions.current(catalog);
+    }
+    for (PlafondResponse plafond : plafondService.getAllPlafonds()) {
+      plafondService.getPlafondById(plafond.getId());
+    }
+    for (BranchResponse branch : branchService.getAllBranches()) {
+      branchService.getBranchById(branch.getId());
+    }
+    roleService.getAllRoles();
+    permissionService.getAllPermissions();
+
+    // Lookup natural key di jalur register
+    roleRepository.findByRoleName("CUSTOMER");
+    plafondRepository.findByName("BRONZE");
+  }
+
+  private void exerciseJwt() {
+    UserDetails user =
+        User.withUsername("warmup").password("").authorities("LOAN:READ_MY").build();
+    for (int i = 0; i < iterations && !Thread.currentThread().isInterrupted(); i++) {
+      String token = jwtService.generateAccessToken(user);
+      jwtService.isTokenValid(token, user);
+      jwtService.isTokenBlacklisted(token);
+    }
+  }
+
+  private void exerciseJson() {
+    ApiResponse<List<PlafondResponse>> response =
+        ResponseUtil.ok(plafondService.getAllPlafonds(), "warmup").getBody();
+    byte[] loginJson =
+        "{\"username\":\"warmup\",\"password\":\"warmup\"}".getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < iterations && !Thread.currentThread().isInterrupted(); i++) {
+      jsonMapper.writeValueAsBytes(response);
+      jsonMapper.readValue(loginJson, LoginRequest.class);
+    }
+  }
+
+  private void exerciseBcrypt() {
+    String hash = passwordEncoder.encode("warmup-password");
+    for (int i = 0; i < 3 && !Thread.currentThread().isInterrupted(); i++) {
+      passwordEncoder.matches("warmup-password", hash);
+    }
+  }
+
+  private Timer timer(String task, String outcome) {
+    return Timer.builder("startup.warmup")
+        .description("Durasi fase warm-up per task sebelum readiness UP")
+        .tag("task", task)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,214 @@
+package com.example.loanova.storage;
+
+import com.example.loanova.entity.ArchivedDocument;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * DOCUMENT ARCHIVE - Penyimpanan cold tier berbasis pack file append-only.
+ *
+ * <p>Setiap dokumen dikompresi (deflate) secara independen lalu di-append ke pack aktif dengan
+ * header kecil (path, panjang, CRC32) sehingga pack tetap self-describing dan index bisa dibangun
+ * ulang jika perlu. Pack disusun di direktori staging lokal, lalu saat {@link #flush()} ditutup
+ * dan diunggah utuh ke DocumentStorage di bawah {@code archive/} sehingga cold tier ikut backend
+ * storage yang dikonfigurasi (lokal atau S3). Pack tidak pernah ditulis ulang. Pemanggil menutup
+ * pack saat {@link #isFull()} ({@code file.archive.max-pack-bytes}) atau di akhir run, sehingga
+ * satu pack berisi banyak batch. Path di bawah {@code archive/} bukan dokumen dan tidak boleh
+ * disajikan langsung (lihat {@link #isPackPath(String)}).
+ *
+ * <p>Pembacaan memakai range read (offset + length dari index) dan memverifikasi CRC32 serta
+ * panjang asli sebelum isi dokumen dikembalikan.
+ */
+@Slf4j
+@Component
+public class DocumentArchive {
+
+  private static final int ENTRY_MAGIC = 0x4C4E4131; // "LNA1"
+  public static final String PACK_SUB_DIR = "archive";
+
+  private static final DateTimeFormatter PACK_DATE = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+  private final DocumentStorage documentStorage;
+  private final Path stagingDir;
+  private final long maxPackBytes;
+  private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+  private FileChannel activePack;
+  private String activePackName;
+
+  public DocumentArchive(
+      DocumentStorage documentStorage,
+      @Value("${file.archive.staging-dir:./archive-staging}") String stagingDir,
+      @Value("${file.archive.max-pack-bytes:1073741824}") long maxPackBytes) {
+    this.documentStorage = documentStorage;
+    this.stagingDir = Paths.get(stagingDir).toAbsolutePath().normalize();
+    this.maxPackBytes = maxPackBytes;
+  }
+
+  /**
+   * Menambahkan satu dokumen ke pack aktif.
+   *
+   * @return Entry index (belum disimpan ke database) yang menunjuk ke data terkompresi
+   */
+  public synchronized ArchivedDocument append(String path, InputStream content)
+      throws IOException {
+    CRC32 crc = new CRC32();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    long originalLength = 0;
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = content.read(buffer)) != -1) {
+        crc.update(buffer, 0, read);
+        out.write(buffer, 0, read);
+        originalLength += read;
+      }
+    } finally {
+      deflater.end();
+    }
+
+    byte[] data = compressed.toByteArray();
+    byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer header = ByteBuffer.allocate(4 + 2 + pathBytes.length + 8 + 4 + 8);
+    header
+        .putInt(ENTRY_MAGIC)
+        .putShort((short) pathBytes.length)
+        .put(pathBytes)
+        .putLong(originalLength)
+        .putInt(data.length)
+        .putLong(crc.getValue())
+        .flip();
+
+    FileChannel pack = activePack();
+    long dataOffset = pack.size() + header.remaining();
+    writeFully(pack, header);
+    writeFully(pack, ByteBuffer.wrap(data));
+
+    return ArchivedDocument.builder()
+        .path(path)
+        .packName(activePackName)
+        .packOffset(dataOffset)
+        .storedLength(data.length)
+        .originalLength(originalLength)
+        .crc32(crc.getValue())
+        .build();
+  }
+
+  /** Pack aktif sudah mencapai {@code file.archive.max-pack-bytes} dan sebaiknya di-flush. */
+  public synchronized boolean isFull() throws IOException {
+    return activePack != null && activePack.size() >= maxPackBytes;
+  }
+
+  /** Path logis berada di bawah direktori pack arsip (bukan dokumen). */
+  public static boolean isPackPath(String path) {
+    return PACK_SUB_DIR.equals(DocumentPaths.subDir(path));
+  }
+
+  /**
+   * Menutup pack aktif dan mengunggahnya ke DocumentStorage. Wajib dipanggil sebelum index
+   * di-commit ke database; append berikutnya membuat pack baru.
+   */
+  public synchronized void flush() throws IOException {
+    if (activePack == null) {
+      return;
+    }
+    activePack.force(true);
+    activePack.close();
+    activePack = null;
+
+    Path staged = stagingDir.resolve(activePackName);
+    try (InputStream content = Files.newInputStream(staged)) {
+      documentStorage.write(content, Files.size(staged), packPath(activePackName));
+    }
+    Files.deleteIfExists(staged);
+    log.info("Pack arsip diunggah: {}", activePackName);
+  }
+
+  /**
+   * Membuka isi dokumen arsip (sudah didekompresi) dengan range read pada pack.
+   *
+   * @throws IOException Jika entry rusak (CRC32 atau panjang asli tidak cocok)
+   */
+  public InputStream open(ArchivedDocument document) throws IOException {
+    byte[] data =
+        documentStorage.readRange(
+            packPath(document.getPackName()), document.getPackOffset(), document.getStoredLength());
+
+    ByteArrayOutputStream inflated =
+        new ByteArrayOutputStream((int) Math.min(document.getOriginalLength(), Integer.MAX_VALUE));
+    Inflater inflater = new Inflater(true);
+    try (OutputStream out = new InflaterOutputStream(inflated, inflater)) {
+      out.write(data);
+    } finally {
+      inflater.end();
+    }
+
+    byte[] content = inflated.toByteArray();
+    CRC32 crc = new CRC32();
+    crc.update(content);
+    if (content.length != document.getOriginalLength()
+        || crc.getValue() != document.getCrc32()) {
+      throw new IOException("Entry arsip rusak (checksum tidak cocok): " + document.getPath());
+    }
+    return new ByteArrayInputStream(content);
+  }
+
+  /** Entry yang belum di-flush belum punya index di database, cukup buang pack staging. */
+  @PreDestroy
+  public synchronized void close() throws IOException {
+    if (activePack != null) {
+      activePack.close();
+      activePack = null;
+      Files.deleteIfExists(stagingDir.resolve(activePackName));
+    }
+  }
+
+  private FileChannel activePack() throws IOException {
+    if (activePack == null) {
+      Files.createDirectories(stagingDir);
+      activePackName =
+          "pack-" + LocalDateTime.now().format(PACK_DATE) + "-" + instanceId + ".pack";
+      activePack =
+          FileChannel.open(
+              stagingDir.resolve(activePackName),
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.APPEND);
+      log.info("Pack arsip baru dibuat: {}", activePackName);
+    }
+    return activePack;
+  }
+
+  private static String packPath(String packName) {
+    return PACK_SUB_DIR + "/" + packName;
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package com.example.loanova.storage;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.entity.ArchivedDocument;
+import com.example.loanova.repository.ArchivedDocumentRepository;
+import com.example.loanova.repository.LoanApplicationRepository;
+import com.example.loanova.repository.LoanApplicationRepository.DocumentPathsView;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * DOCUMENT ARCHIVER - Memindahkan dokumen aplikasi pinjaman yang sudah selesai (DISBURSED /
+ * REJECTED) dan tidak berubah selama N bulan dari hot storage ke pack file cold tier.
+ *
+ * <p>Dokumen beberapa batch di-append ke pack yang sama sampai pack mencapai {@code
+ * file.archive.max-pack-bytes} (atau run selesai). Urutan per pack: (1) pack ditutup, di-fsync,
+ * dan diunggah, (2) index {@code archived_documents} dan penanda {@code documents_archived_at}
+ * semua aplikasinya di-commit dalam satu transaksi, (3) setelah commit file hot dihapus. Path
+ * logis di kolom dokumen tidak berubah sehingga URL download tetap sama. Jika proses gagal sebelum commit, entry di pack hanya menjadi sampah
+ * (pack bersifat append-only) dan aplikasi akan diproses ulang di run berikutnya. File turunan
+ * (thumbnail / large) ikut diarsipkan dengan path logisnya sendiri.
+ *
+ * <p>Jika proses berhenti setelah commit tapi sebelum file hot terhapus, sweep di akhir setiap run
+ * menghapus file hot yang sudah punya baris di {@code archived_documents} (keyset dari checkpoint
+ * Redis) sehingga tidak ada dokumen yang tertinggal di dua tier.
+ *
+ * <p>Aktif hanya jika {@code file.archive.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.archive.enabled", havingValue = "true")
+public class DocumentArchiver {
+
+  public static final String LOCK_KEY = "document_archive:lock";
+  public static final String SWEEP_CHECKPOINT_KEY = "document_archive:sweep_checkpoint";
+
+  private final LoanApplicationRepository loanApplicationRepository;
+  private final ArchivedDocumentRepository archivedDocumentRepository;
+  private final DocumentStorage documentStorage;
+  private final DocumentArchive documentArchive;
+  private final StringRedisTemplate redisTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int ageMonths;
+  private final int batchSize;
+
+  public DocumentArchiver(
+      LoanApplicationRepository loanApplicationRepository,
+      ArchivedDocumentRepository archivedDocumentRepository,
+      DocumentStorage documentStorage,
+      DocumentArchive documentArchive,
+      StringRedisTemplate redisTemplate,
+      TransactionTemplate transactionTemplate,
+      @Value("${file.archive.age-months:6}") int ageMonths,
+      @Value("${file.archive.batch-size:100}") int batchSize) {
+    this.loanApplicationRepository = loanApplicationRepository;
+    this.archivedDocumentRepository = archivedDocumentRepository;
+    this.documentStorage = documentStorage;
+    this.documentArchive = documentArchive;
+    this.redisTemplate = redisTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.ageMonths = ageMonths;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(cron = "${file.archive.cron:0 0 2 * * *}")
+  public void archive() {
+    String owner = UUID.randomUUID().toString();
+    Boolean acquired =
+        redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, Duration.ofHours(6));
+    if (!Boolean.TRUE.equals(acquired)) {
+      log.debug("Arsip dokumen sedang berjalan di instance lain, skip");
+      return;
+    }
+
+    try {
+      runOnce();
+      sweepHotCopies();
+    } catch (IOException e) {
+      log.error("Arsip dokumen berhenti: {}", e.getMessage());
+    } finally {
+      CacheLoadSupport.releaseLock(redisTemplate, LOCK_KEY, owner);
+    }
+  }
+
+  private void runOnce() throws IOException {
+    LocalDateTime cutoff = LocalDateTime.now().minusMonths(ageMonths);
+    long afterId = 0L;
+    int applications = 0;
+    int documents = 0;
+    List<ArchivedDocument> pendingEntries = new ArrayList<>();
+    List<Long> pendingIds = new ArrayList<>();
+
+    while (true) {
+      List<DocumentPathsView> batch =
+          loanApplicationRepository.findArchivableDocumentPathsAfter(
+              afterId, cutoff, PageRequest.of(0, batchSize));
+      if (batch.isEmpty()) {
+        break;
+      }
+
+      for (DocumentPathsView row : batch) {
+        for (String path : documentPaths(row)) {
+          if (documentStorage.exists(path) && !archivedDocumentRepository.existsByPath(path)) {
+            try (InputStream content = documentStorage.open(path)) {
+              pendingEntries.add(documentArchive.append(path, content));
+            }
+          }
+        }
+        pendingIds.add(row.getId());
+      }
+      afterId = batch.get(batch.size() - 1).getId();
+
+      // Pack tetap terbuka lintas batch; ditutup hanya jika sudah penuh
+      if (documentArchive.isFull()) {
+        documents += commitPack(pendingEntries, pendingIds);
+      }
+      applications += batch.size();
+    }
+    documents += commitPack(pendingEntries, pendingIds);
+
+    log.info("Arsip dokumen selesai: {} aplikasi, {} dokumen dipindah", applications, documents);
+  }
+
+  /**
+   * Tutup dan unggah pack aktif, commit index + penanda arsip dalam satu transaksi, lalu kosongkan
+   * hot tier. Mengembalikan jumlah dokumen yang dipindah; daftar pending dikosongkan.
+   */
+  private int commitPack(List<ArchivedDocument> entries, List<Long> ids) throws IOException {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    // 1. Pack ditutup dan diunggah sebelum index di-commit
+    documentArchive.flush();
+
+    // 2. Index + penanda arsip dalam satu transaksi
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          archivedDocumentRepository.saveAll(entries);
+          loanApplicationRepository.markDocumentsArchived(ids, LocalDateTime.now());
+        });
+
+    // 3. Setelah commit: kosongkan hot tier
+    entries.forEach(entry -> documentStorage.deleteFile(entry.getPath()));
+
+    int moved = entries.size();
+    entries.clear();
+    ids.clear();
+    return moved;
+  }
+
+  private static List<String> documentPaths(DocumentPathsView row) {
+    return Stream.of(
+            row.getKtpPhotoSnapshot(),
+            row.getNpwpPhotoSnapshot(),
+            row.getSavingBookCover(),
+            row.getPayslipPhoto())
+        .filter(Objects::nonNull)
+        .filter(path -> !path.isEmpty())
+        .flatMap(
+            path ->
+                Stream.concat(
+                    Stream.of(path),
+                    Arrays.stream(ImageVariant.values())
+                        .map(variant -> DocumentPaths.derivative(path, variant))))
+        .toList();
+  }
+
+  /** Hapus file hot yang index arsipnya sudah ter-commit sejak checkpoint sweep terakhir. */
+  private void sweepHotCopies() {
+    String checkpoint = redisTemplate.opsForValue().get(SWEEP_CHECKPOINT_KEY);
+    long afterId = checkpoint == null ? 0L : Long.parseLong(checkpoint);
+    int removed = 0;
+
+    while (true) {
+      List<ArchivedDocument> batch =
+          archivedDocumentRepository.findByIdGreaterThanOrderByIdAsc(
+              afterId, PageRequest.of(0, batchSize));
+      if (batch.isEmpty()) {
+        break;
+      }
+      for (ArchivedDocument entry : batch) {
+        if (documentStorage.deleteFile(entry.getPath())) {
+          removed++;
+        }
+      }
+      afterId = batch.get(batch.size() - 1).getId();
+      redisTemplate.opsForValue().set(SWEEP_CHECKPOINT_KEY, String.valueOf(afterId));
+    }
+
+    if (removed > 0) {
+      log.info("Sweep arsip menghapus {} file hot yang tertinggal", removed);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.example.loanova.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * DOCUMENT PATHS - Helper untuk membentuk path logis dokumen dengan layout sharded.
+ *
+ * <p>Layout: {@code subDir/xx/yy/fileName} dimana xx dan yy adalah 4 karakter hex pertama dari
+ * hash MD5 nama file. Dengan 65.536 bucket per kategori, jutaan file tersebar merata sehingga
+ * lookup direktori dan backup tidak lagi melambat seperti pada layout flat lama ({@code
+ * subDir/fileName}).
+ */
+public final class DocumentPaths {
+
+  private DocumentPaths() {
+    // Private constructor to prevent instantiation
+  }
+
+  /** Membentuk path logis sharded dari kategori dan nama file. */
+  public static String sharded(String subDir, String fileName) {
+    String hash = md5Hex(fileName);
+    return subDir + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + fileName;
+  }
+
+  /** Cek apakah path sudah memakai layout sharded (subDir/xx/yy/fileName). */
+  public static boolean isSharded(String path) {
+    if (path == null) {
+      return false;
+    }
+    String[] parts = path.split("/");
+    if (parts.length != 4) {
+      return false;
+    }
+    return sharded(parts[0], parts[3]).equals(path);
+  }
+
+  /** Mengambil nama file (segmen terakhir) dari path logis. */
+  public static String fileName(String path) {
+    return path.substring(path.lastIndexOf('/') + 1);
+  }
+
+  /** Mengambil kategori (segmen pertama) dari path logis. */
+  public static String subDir(String path) {
+    int idx = path.indexOf('/');
+    return idx < 0 ? "" : path.substring(0, idx);
+  }
+
+  /** Mengambil ekstensi (termasuk titik) dari nama file, atau string kosong. */
+  public static String extension(String fileName) {
+    if (fileName == null || !fileName.contains(".")) {
+      return "";
+    }
+    return fileName.substring(fileName.lastIndexOf("."));
+  }
+
+  /** Generate nama file acak (UUID) dengan prefix opsional dan ekstensi dari nama asli. */
+  public static String randomFileName(String prefix, String originalFilename) {
+    return prefix + UUID.randomUUID() + extension(originalFilename);
+  }
+
+  /**
+   * Validasi path logis dari input luar (URL). Menolak path absolut dan traversal ("..") agar
+   * tidak bisa keluar dari root storage.
+   */
+  public static boolean isSafe(String path) {
+    if (path == null || path.isBlank() || path.startsWith("/") || path.contains("\\")) {
+      return false;
+    }
+    for (String segment : path.split("/")) {
+      if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Membandingkan dua path per segmen (bukan per karakter) agar konsisten dengan urutan traversal
+   * direktori: "loan/x" selalu sebelum "loan-documents/y" karena segmen "loan" lebih kecil.
+   */
+  public static int compareSegments(String a, String b) {
+    String[] left = a.split("/");
+    String[] right = b.split("/");
+    for (int i = 0; i < Math.min(left.length, right.length); i++) {
+      int cmp = left[i].compareTo(right[i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return Integer.compare(left.length, right.length);
+  }
+
+  /**
+   * Path file turunan (misal thumbnail) yang disimpan di samping file asli: {@code
+   * ktp/3f/a2/uuid.png} menjadi {@code ktp/3f/a2/uuid.png.thumb.jpg}. Nama asli tetap utuh
+   * sehingga file asli selalu bisa diturunkan kembali dari path turunan.
+   */
+  public static String derivative(String path, ImageVariant variant) {
+    return path + variant.suffix();
+  }
+
+  /** Path file asli dari path turunan; path yang bukan turunan dikembalikan apa adanya. */
+  public static String originalOf(String path) {
+    for (ImageVariant variant : ImageVariant.values()) {
+      if (path.endsWith(variant.suffix())) {
+        return path.substring(0, path.length() - variant.suffix().length());
+      }
+    }
+    return path;
+  }
+
+  private static String md5Hex(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("MD5");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("MD5 tidak tersedia di JVM", e);
+    }
+  }
+}
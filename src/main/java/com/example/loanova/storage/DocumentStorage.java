@@ -0,0 +1,112 @@
+package com.example.loanova.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * DOCUMENT STORAGE - Kontrak penyimpanan dokumen upload (KTP, NPWP, foto profil, dokumen
+ * pinjaman).
+ *
+ * <p>Semua path yang dikembalikan adalah path logis relatif (contoh: "ktp/3f/a2/uuid.jpg") yang
+ * disimpan di kolom database. Implementasi bebas menentukan media fisiknya (filesystem lokal, S3,
+ * MinIO, dll) selama path logis tetap sama.
+ */
+public interface DocumentStorage {
+
+  /**
+   * Menyimpan file upload dengan nama acak (UUID) di sub-direktori tertentu.
+   *
+   * @param file MultipartFile yang diunggah
+   * @param subDir Kategori dokumen (misal: "profiles", "ktp", "loan-documents")
+   * @return Path logis file yang disimpan
+   * @throws IOException Jika terjadi kesalahan saat menyimpan file
+   */
+  default String saveFile(MultipartFile file, String subDir) throws IOException {
+    String fileName = DocumentPaths.randomFileName("", file.getOriginalFilename());
+    try (InputStream content = file.getInputStream()) {
+      return save(content, file.getSize(), subDir, fileName);
+    }
+  }
+
+  /**
+   * Menyimpan konten ke path logis hasil sharding dari subDir + fileName.
+   *
+   * @param content Stream konten file (tidak ditutup oleh method ini)
+   * @param contentLength Ukuran konten dalam bytes, -1 jika tidak diketahui
+   * @param subDir Kategori dokumen
+   * @param fileName Nama file akhir (sudah unik)
+   * @return Path logis file yang disimpan
+   */
+  default String save(InputStream content, long contentLength, String subDir, String fileName)
+      throws IOException {
+    String path = DocumentPaths.sharded(subDir, fileName);
+    write(content, contentLength, path);
+    return path;
+  }
+
+  /**
+   * Menulis konten tepat di path logis tertentu (menimpa jika sudah ada). Dipakai untuk file
+   * turunan yang harus berada di samping file asli, misal thumbnail.
+   *
+   * @param content Stream konten file (tidak ditutup oleh method ini)
+   * @param contentLength Ukuran konten dalam bytes, -1 jika tidak diketahui
+   * @param path Path logis tujuan
+   */
+  void write(InputStream content, long contentLength, String path) throws IOException;
+
+  /**
+   * Menyalin file yang sudah ada ke sub-direktori lain dengan nama baru.
+   *
+   * @param sourcePath Path logis file sumber
+   * @param subDir Sub-direktori tujuan
+   * @param namePrefix Prefix nama file baru (misal: "ktp_")
+   * @return Path logis salinan, atau null jika file sumber tidak ada
+   */
+  String copy(String sourcePath, String subDir, String namePrefix) throws IOException;
+
+  /** Membuka stream untuk membaca isi file. Pemanggil wajib menutup stream. */
+  InputStream open(String path) throws IOException;
+
+  /**
+   * Membaca sebagian isi file (range byte). Dipakai cold tier untuk membaca satu entry dari pack
+   * tanpa mengunduh seluruh pack. Implementasi default membaca stream secara berurutan.
+   *
+   * @param path Path logis file
+   * @param offset Posisi byte awal
+   * @param length Jumlah byte yang dibaca
+   * @throws IOException Jika file tidak ada atau lebih pendek dari range yang diminta
+   */
+  default byte[] readRange(String path, long offset, int length) throws IOException {
+    try (InputStream in = open(path)) {
+      in.skipNBytes(offset);
+      byte[] data = in.readNBytes(length);
+      if (data.length != length) {
+        throw new IOException("File terpotong: " + path);
+      }
+      return data;
+    }
+  }
+
+  /** Cek apakah file dengan path logis tersebut ada di storage. */
+  boolean exists(String path);
+
+  /**
+   * Menghapus file dari storage.
+   *
+   * @param path Path logis file
+   * @return true jika berhasil dihapus, false jika file tidak ada atau gagal
+   */
+  boolean deleteFile(String path);
+
+  /**
+   * Listing file secara inkremental. Urutan iterasi stabil per implementasi sehingga path terakhir
+   * dari satu halaman bisa dipakai sebagai checkpoint untuk halaman berikutnya.
+   *
+   * @param startAfter Path terakhir yang sudah diproses, null untuk mulai dari awal
+   * @param limit Jumlah maksimal entry yang dikembalikan
+   * @return Entry setelah startAfter; list kosong berarti listing sudah selesai
+   */
+  List<StoredDocument> listAfter(String startAfter, int limit) throws IOException;
+}
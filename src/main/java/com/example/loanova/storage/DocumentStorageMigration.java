@@ -0,0 +1,264 @@
+package com.example.loanova.storage;
+
+import com.example.loanova.repository.LoanApplicationRepository;
+import com.example.loanova.repository.UserProfileRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * DOCUMENT STORAGE MIGRATION - Memindahkan file dari layout flat lama ({@code subDir/uuid.jpg}) ke
+ * layout sharded DocumentStorage dan menulis ulang path di kolom {@code users_profiles} dan
+ * {@code loan_applications}.
+ *
+ * <p>Aktif hanya jika {@code file.storage.migration.enabled=true}. Proses berjalan per batch
+ * (keyset by id): file dalam satu batch disalin paralel, lalu path di-update dalam satu transaksi,
+ * lalu checkpoint (id terakhir) disimpan di Redis. Jika proses berhenti di tengah jalan,
+ * menjalankan ulang akan melanjutkan dari checkpoint; path yang sudah sharded selalu di-skip
+ * sehingga aman diulang.
+ *
+ * <p>Migrasi berjalan di thread terpisah setelah aplikasi siap sehingga startup tidak tertahan.
+ * Update path memakai compare-and-set per baris: baris yang path-nya berubah sejak batch dibaca
+ * (mis. user mengganti foto) di-skip utuh, file lamanya tidak dihapus, dan salinan sharded-nya
+ * menjadi orphan yang dibersihkan collector. Kolom legacy yang tersisa di baris tersebut ikut
+ * dimigrasi jika checkpoint di-reset dan migrasi dijalankan ulang.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.migration.enabled", havingValue = "true")
+public class DocumentStorageMigration {
+
+  public static final String CHECKPOINT_PREFIX = "storage_migration:checkpoint:";
+
+  private final UserProfileRepository userProfileRepository;
+  private final LoanApplicationRepository loanApplicationRepository;
+  private final DocumentStorage documentStorage;
+  private final StringRedisTemplate redisTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Path legacyRoot;
+  private final int batchSize;
+  private final int parallelism;
+
+  public DocumentStorageMigration(
+      UserProfileRepository userProfileRepository,
+      LoanApplicationRepository loanApplicationRepository,
+      DocumentStorage documentStorage,
+      StringRedisTemplate redisTemplate,
+      TransactionTemplate transactionTemplate,
+      @Value("${file.upload-dir}") String uploadDir,
+      @Value("${file.storage.migration.batch-size:500}") int batchSize,
+      @Value("${file.storage.migration.parallelism:8}") int parallelism) {
+    this.userProfileRepository = userProfileRepository;
+    this.loanApplicationRepository = loanApplicationRepository;
+    this.documentStorage = documentStorage;
+    this.redisTemplate = redisTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.legacyRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
+    this.batchSize = batchSize;
+    this.parallelism = parallelism;
+  }
+
+  /** Jalankan migrasi di background agar tidak memblokir thread startup. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    Thread.ofPlatform().name("storage-migration").daemon().start(this::migrate);
+  }
+
+  private void migrate() {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      migrateTable(
+          "users_profiles",
+          afterId ->
+              userProfileRepository.findDocumentPathsAfter(afterId, PageRequest.of(0, batchSize))
+                  .stream()
+                  .map(
+                      p ->
+                          new PathRow(
+                              p.getId(), p.getKtpPhoto(), p.getProfilePhoto(), p.getNpwpPhoto()))
+                  .toList(),
+          (before, after) ->
+              userProfileRepository.updateDocumentPaths(
+                  before.id(),
+                  before.paths().get(0),
+                  after.paths().get(0),
+                  before.paths().get(1),
+                  after.paths().get(1),
+                  before.paths().get(2),
+                  after.paths().get(2)),
+          executor);
+
+      migrateTable(
+          "loan_applications",
+          afterId ->
+              loanApplicationRepository
+                  .findDocumentPathsAfter(afterId, PageRequest.of(0, batchSize))
+                  .stream()
+                  .map(
+                      la ->
+                          new PathRow(
+                              la.getId(),
+                              la.getKtpPhotoSnapshot(),
+                              la.getNpwpPhotoSnapshot(),
+                              la.getSavingBookCover(),
+                              la.getPayslipPhoto()))
+                  .toList(),
+          (before, after) ->
+              loanApplicationRepository.updateDocumentPaths(
+                  before.id(),
+                  before.paths().get(0),
+                  after.paths().get(0),
+                  before.paths().get(1),
+                  after.paths().get(1),
+                  before.paths().get(2),
+                  after.paths().get(2),
+                  before.paths().get(3),
+                  after.paths().get(3)),
+          executor);
+    } catch (RuntimeException e) {
+      log.error("Migrasi storage gagal, lanjut dari checkpoint di run berikutnya", e);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** Migrasi satu tabel dari checkpoint terakhir sampai habis. */
+  private void migrateTable(
+      String table,
+      Function<Long, List<PathRow>> fetchBatch,
+      ToIntBiFunction<PathRow, PathRow> updateRow,
+      ExecutorService executor) {
+    long afterId = readCheckpoint(table);
+    long migratedRows = 0;
+    log.info("Migrasi storage {} dimulai dari id > {}", table, afterId);
+
+    while (true) {
+      List<PathRow> batch = fetchBatch.apply(afterId);
+      if (batch.isEmpty()) {
+        break;
+      }
+
+      // 1. Salin file paralel (I/O bound). Gagal satu file = batch diulang di run berikutnya.
+      List<CompletableFuture<PathRow>> futures =
+          batch.stream()
+              .map(row -> CompletableFuture.supplyAsync(() -> rehome(row), executor))
+              .toList();
+      List<PathRow> rehomed;
+      try {
+        rehomed = futures.stream().map(CompletableFuture::join).toList();
+      } catch (CompletionException e) {
+        log.error("Migrasi storage {} berhenti di id > {}: {}", table, afterId, e.getMessage());
+        return;
+      }
+
+      // 2. Tulis ulang path yang berubah dalam satu transaksi (compare-and-set per baris)
+      List<Integer> changed = new ArrayList<>();
+      for (int i = 0; i < batch.size(); i++) {
+        if (!batch.get(i).paths().equals(rehomed.get(i).paths())) {
+          changed.add(i);
+        }
+      }
+      List<Integer> updated = new ArrayList<>();
+      transactionTemplate.executeWithoutResult(
+          status ->
+              changed.forEach(
+                  i -> {
+                    if (updateRow.applyAsInt(batch.get(i), rehomed.get(i)) > 0) {
+                      updated.add(i);
+                    }
+                  }));
+      if (updated.size() < changed.size()) {
+        log.warn(
+            "Migrasi storage {}: {} baris berubah sejak dibaca, di-skip",
+            table,
+            changed.size() - updated.size());
+      }
+
+      // 3. Setelah commit: hapus file lama hanya untuk baris yang ter-update, simpan checkpoint
+      for (int i : updated) {
+        deleteLegacyFiles(batch.get(i), rehomed.get(i));
+      }
+      afterId = batch.get(batch.size() - 1).id();
+      redisTemplate.opsForValue().set(CHECKPOINT_PREFIX + table, String.valueOf(afterId));
+      migratedRows += updated.size();
+    }
+
+    log.info("Migrasi storage {} selesai, {} baris di-update", table, migratedRows);
+  }
+
+  /** Memindahkan semua path dalam satu baris ke layout sharded. */
+  private PathRow rehome(PathRow row) {
+    List<String> paths = row.paths().stream().map(this::rehome).toList();
+    return new PathRow(row.id(), paths);
+  }
+
+  private String rehome(String path) {
+    if (path == null || path.isEmpty() || DocumentPaths.isSharded(path)) {
+      return path;
+    }
+
+    Path legacyFile = legacyRoot.resolve(path).normalize();
+    if (!legacyFile.startsWith(legacyRoot) || !Files.isRegularFile(legacyFile)) {
+      // File lama tidak ada (data dummy) - biarkan path apa adanya
+      log.warn("File legacy tidak ditemukan, path tidak dimigrasi: {}", path);
+      return path;
+    }
+
+    try (InputStream content = Files.newInputStream(legacyFile)) {
+      return documentStorage.save(
+          content,
+          Files.size(legacyFile),
+          DocumentPaths.subDir(path),
+          DocumentPaths.fileName(path));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Gagal migrasi file " + path, e);
+    }
+  }
+
+  private void deleteLegacyFiles(PathRow before, PathRow after) {
+    for (int i = 0; i < before.paths().size(); i++) {
+      String oldPath = before.paths().get(i);
+      if (oldPath != null && !Objects.equals(oldPath, after.paths().get(i))) {
+        try {
+          Files.deleteIfExists(legacyRoot.resolve(oldPath).normalize());
+        } catch (IOException e) {
+          log.warn("Gagal menghapus file legacy: {} - {}", oldPath, e.getMessage());
+        }
+      }
+    }
+  }
+
+  private long readCheckpoint(String table) {
+    String value = redisTemplate.opsForValue().get(CHECKPOINT_PREFIX + table);
+    return value == null ? 0L : Long.parseLong(value);
+  }
+
+  /** Satu baris tabel beserta kolom-kolom path dokumennya (urutan kolom tetap). */
+  private record PathRow(Long id, List<String> paths) {
+    PathRow(Long id, String... paths) {
+      this(id, Arrays.asList(paths));
+    }
+  }
+}
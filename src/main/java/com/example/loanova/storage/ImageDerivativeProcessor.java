@@ -0,0 +1,329 @@
+package com.example.loanova.storage;
+
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * IMAGE DERIVATIVE PROCESSOR - Pipeline asinkron untuk foto dokumen yang diupload.
+ *
+ * <p>Untuk setiap foto dibuat dua file turunan di samping file asli (lihat {@link ImageVariant}):
+ * versi LARGE dengan resolusi dan kualitas dibatasi, serta THUMB untuk preview. Keduanya
+ * di-encode ulang dari pixel saja sehingga metadata EXIF (lokasi GPS, info perangkat) ikut
+ * terbuang; orientasi EXIF diterapkan lebih dulu agar foto tidak miring.
+ *
+ * <p>File asli juga ditimpa dengan hasil encode ulang (format sama, resolusi dibatasi {@code
+ * file.image.max-dimension}, orientasi sudah diterapkan) sehingga tidak ada lagi versi ber-EXIF
+ * yang bisa diunduh lewat URL asli maupun tersalin ke snapshot pinjaman, dan foto kamera beresolusi
+ * tinggi tidak memenuhi storage. Alpha PNG dipertahankan.
+ *
+ * <p>Pekerjaan dijalankan di worker pool terbatas (bukan thread request) dan baru dijadwalkan
+ * setelah transaksi commit. Jika antrian penuh, foto di-skip dan endpoint download tetap
+ * menyajikan file asli.
+ */
+@Slf4j
+@Component
+public class ImageDerivativeProcessor {
+
+  private static final Set<String> SUPPORTED_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png");
+
+  private final DocumentStorage documentStorage;
+  private final ThreadPoolExecutor executor;
+  private final int maxDimension;
+  private final int thumbnailSize;
+  private final float quality;
+  private final float originalQuality;
+
+  public ImageDerivativeProcessor(
+      DocumentStorage documentStorage,
+      @Value("${file.image.max-dimension:1600}") int maxDimension,
+      @Value("${file.image.thumbnail-size:320}") int thumbnailSize,
+      @Value("${file.image.quality:0.8}") float quality,
+      @Value("${file.image.original-quality:0.92}") float originalQuality,
+      @Value("${file.image.workers:2}") int workers,
+      @Value("${file.image.queue-capacity:500}") int queueCapacity) {
+    this.documentStorage = documentStorage;
+    this.maxDimension = maxDimension;
+    this.thumbnailSize = thumbnailSize;
+    this.quality = quality;
+    this.originalQuality = originalQuality;
+
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            workers,
+            workers,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "image-worker-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Menjadwalkan pembuatan file turunan. Jika dipanggil di dalam transaksi, pekerjaan baru masuk
+   * antrian setelah commit sehingga rollback tidak menghasilkan turunan untuk file orphan.
+   */
+  public void submit(String path) {
+    if (path == null
+        || !SUPPORTED_EXTENSIONS.contains(DocumentPaths.extension(path).toLowerCase())) {
+      return;
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              enqueue(path);
+            }
+          });
+    } else {
+      enqueue(path);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private void enqueue(String path) {
+    try {
+      executor.execute(() -> process(path));
+    } catch (RejectedExecutionException e) {
+      log.warn("Antrian pipeline gambar penuh, turunan di-skip: {}", path);
+    }
+  }
+
+  private void process(String path) {
+    try {
+      byte[] original;
+      try (InputStream content = documentStorage.open(path)) {
+        original = content.readAllBytes();
+      }
+
+      BufferedImage decoded = decode(original, maxDimension);
+      if (decoded == null) {
+        log.warn("Format gambar tidak dikenali, turunan di-skip: {}", path);
+        return;
+      }
+
+      BufferedImage oriented = orient(decoded, readExifOrientation(original));
+      BufferedImage large = scale(oriented, maxDimension, false);
+      store(DocumentPaths.derivative(path, ImageVariant.LARGE), large, "jpeg", quality);
+      store(
+          DocumentPaths.derivative(path, ImageVariant.THUMB),
+          scale(large, thumbnailSize, false),
+          "jpeg",
+          quality);
+
+      // Timpa file asli dengan versi terbatas tanpa metadata (PNG tetap PNG, alpha dipertahankan)
+      boolean png = DocumentPaths.extension(path).equalsIgnoreCase(".png");
+      if (png) {
+        boolean alpha = oriented.getColorModel().hasAlpha();
+        store(path, alpha ? scale(oriented, maxDimension, true) : large, "png", originalQuality);
+      } else {
+        store(path, large, "jpeg", originalQuality);
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("Gagal membuat turunan gambar {}: {}", path, e.getMessage());
+    }
+  }
+
+  /**
+   * Decode dengan subsampling agar foto kamera 12MP+ tidak perlu di-decode penuh ke memori
+   * sebelum diperkecil ke {@code targetDimension}.
+   */
+  private static BufferedImage decode(byte[] bytes, int targetDimension) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+        int subsampling = Math.max(1, longest / targetDimension);
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Perkecil (tidak pernah memperbesar) ke sisi terpanjang maksimal. Tanpa {@code alpha} output RGB
+   * dengan latar putih (untuk JPEG).
+   */
+  private static BufferedImage scale(BufferedImage source, int maxSide, boolean alpha) {
+    int longest = Math.max(source.getWidth(), source.getHeight());
+    double ratio = Math.min(1.0, (double) maxSide / longest);
+    int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+    int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+    BufferedImage target =
+        new BufferedImage(
+            width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = target.createGraphics();
+    try {
+      g.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      if (!alpha) {
+        // PNG transparan diberi latar putih karena JPEG tidak punya alpha
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+      }
+      g.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      g.dispose();
+    }
+    return target;
+  }
+
+  /** Terapkan orientasi EXIF (1-8) ke pixel; alpha sumber (PNG) dipertahankan. */
+  private static BufferedImage orient(BufferedImage source, int orientation) {
+    if (orientation <= 1 || orientation > 8) {
+      return source;
+    }
+
+    int w = source.getWidth();
+    int h = source.getHeight();
+    boolean swap = orientation >= 5;
+    AffineTransform t = new AffineTransform();
+    switch (orientation) {
+      case 2 -> t.setTransform(-1, 0, 0, 1, w, 0);
+      case 3 -> t.setTransform(-1, 0, 0, -1, w, h);
+      case 4 -> t.setTransform(1, 0, 0, -1, 0, h);
+      case 5 -> t.setTransform(0, 1, 1, 0, 0, 0);
+      case 6 -> t.setTransform(0, 1, -1, 0, h, 0);
+      case 7 -> t.setTransform(0, -1, -1, 0, h, w);
+      case 8 -> t.setTransform(0, -1, 1, 0, 0, w);
+      default -> {
+        return source;
+      }
+    }
+
+    int type =
+        source.getColorModel().hasAlpha()
+            ? BufferedImage.TYPE_INT_ARGB
+            : BufferedImage.TYPE_INT_RGB;
+    BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, type);
+    Graphics2D g = target.createGraphics();
+    try {
+      g.drawImage(source, t, null);
+    } finally {
+      g.dispose();
+    }
+    return target;
+  }
+
+  /**
+   * Membaca tag Orientation (0x0112) dari segmen APP1 Exif sebuah JPEG. Mengembalikan 1 (normal)
+   * jika tidak ada atau bukan JPEG.
+   */
+  static int readExifOrientation(byte[] jpeg) {
+    ByteBuffer buf = ByteBuffer.wrap(jpeg);
+    if (jpeg.length < 4 || (buf.getShort(0) & 0xFFFF) != 0xFFD8) {
+      return 1;
+    }
+
+    int pos = 2;
+    while (pos + 4 <= jpeg.length) {
+      int marker = buf.getShort(pos) & 0xFFFF;
+      int length = buf.getShort(pos + 2) & 0xFFFF;
+      if (marker == 0xFFE1
+          && pos + 10 <= jpeg.length
+          && buf.getInt(pos + 4) == 0x45786966) { // "Exif"
+        return readTiffOrientation(jpeg, pos + 10, length - 8);
+      }
+      if (marker == 0xFFDA || (marker & 0xFF00) != 0xFF00) {
+        break; // Start of scan: tidak ada lagi metadata
+      }
+      pos += 2 + length;
+    }
+    return 1;
+  }
+
+  private static int readTiffOrientation(byte[] data, int tiffStart, int tiffLength) {
+    if (tiffLength < 8 || tiffStart + tiffLength > data.length) {
+      return 1;
+    }
+    ByteBuffer tiff = ByteBuffer.wrap(data, tiffStart, tiffLength).slice();
+    tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+    int ifd = tiff.getInt(4);
+    if (ifd < 0 || ifd + 2 > tiffLength) {
+      return 1;
+    }
+    int entries = tiff.getShort(ifd) & 0xFFFF;
+    for (int i = 0; i < entries; i++) {
+      int entry = ifd + 2 + i * 12;
+      if (entry + 12 > tiffLength) {
+        break;
+      }
+      if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+        return tiff.getShort(entry + 8) & 0xFFFF;
+      }
+    }
+    return 1;
+  }
+
+  /** Encode tanpa metadata (IIOImage tanpa metadata) lalu tulis ke storage. */
+  private void store(String path, BufferedImage image, String format, float quality)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(output);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      if (param.canWriteCompressed() && "jpeg".equals(format)) {
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+      }
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+
+    byte[] bytes = out.toByteArray();
+    documentStorage.write(new ByteArrayInputStream(bytes), bytes.length, path);
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.loanova.storage;
+
+/**
+ * IMAGE VARIANT - Jenis file turunan foto dokumen yang dihasilkan pipeline gambar. Nilai dipakai
+ * langsung sebagai parameter {@code ?size=} di endpoint download.
+ */
+public enum ImageVariant {
+  /** Thumbnail kecil untuk list/preview reviewer. */
+  THUMB,
+  /** Versi ternormalisasi (resolusi dibatasi, tanpa EXIF) untuk layar detail. */
+  LARGE;
+
+  /** Suffix nama file turunan, misal ".thumb.jpg". */
+  public String suffix() {
+    return "." + name().toLowerCase() + ".jpg";
+  }
+
+  /** Parse parameter {@code ?size=} (case-insensitive); null jika kosong atau tidak dikenal. */
+  public static ImageVariant fromParam(String value) {
+    if (value == null) {
+      return null;
+    }
+    for (ImageVariant variant : values()) {
+      if (variant.name().equalsIgnoreCase(value.trim())) {
+        return variant;
+      }
+    }
+    return null;
+  }
+}
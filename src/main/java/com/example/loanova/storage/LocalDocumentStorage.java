@@ -0,0 +1,156 @@
+package com.example.loanova.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * LOCAL DOCUMENT STORAGE - Implementasi DocumentStorage di filesystem lokal dengan layout sharded
+ * (hash-prefix sub-direktori). Aktif secara default atau jika {@code file.storage.type=local}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalDocumentStorage implements DocumentStorage {
+
+  private final Path root;
+
+  public LocalDocumentStorage(@Value("${file.upload-dir}") String uploadDir) {
+    this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+  }
+
+  @Override
+  public void write(InputStream content, long contentLength, String path) throws IOException {
+    Path target = resolve(path);
+
+    // Buat direktori shard jika belum ada
+    Files.createDirectories(target.getParent());
+    Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @Override
+  public String copy(String sourcePath, String subDir, String namePrefix) throws IOException {
+    if (sourcePath == null || sourcePath.isEmpty()) {
+      return null;
+    }
+
+    Path source = resolve(sourcePath);
+    if (!Files.exists(source)) {
+      // File sumber tidak ada (misal data dummy), return null agar tidak error
+      return null;
+    }
+
+    String fileName = DocumentPaths.randomFileName(namePrefix, sourcePath);
+    String path = DocumentPaths.sharded(subDir, fileName);
+    Path target = resolve(path);
+    Files.createDirectories(target.getParent());
+    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    return path;
+  }
+
+  @Override
+  public InputStream open(String path) throws IOException {
+    return Files.newInputStream(resolve(path));
+  }
+
+  @Override
+  public byte[] readRange(String path, long offset, int length) throws IOException {
+    ByteBuffer data = ByteBuffer.allocate(length);
+    try (FileChannel channel = FileChannel.open(resolve(path))) {
+      long position = offset;
+      while (data.hasRemaining()) {
+        int read = channel.read(data, position);
+        if (read < 0) {
+          throw new IOException("File terpotong: " + path);
+        }
+        position += read;
+      }
+    }
+    return data.array();
+  }
+
+  @Override
+  public boolean exists(String path) {
+    return DocumentPaths.isSafe(path) && Files.isRegularFile(resolve(path));
+  }
+
+  @Override
+  public boolean deleteFile(String path) {
+    if (path == null || path.trim().isEmpty()) {
+      return false;
+    }
+
+    try {
+      return Files.deleteIfExists(resolve(path));
+    } catch (IOException | IllegalArgumentException e) {
+      // Log error tapi tidak throw exception
+      log.warn("Gagal menghapus file: {} - {}", path, e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Traversal DFS terurut (per nama) dengan pruning: sub-direktori yang seluruh isinya berada
+   * sebelum checkpoint tidak dibuka sama sekali, sehingga melanjutkan dari checkpoint tidak perlu
+   * men-scan ulang jutaan file yang sudah diproses.
+   */
+  @Override
+  public List<StoredDocument> listAfter(String startAfter, int limit) throws IOException {
+    List<StoredDocument> result = new ArrayList<>();
+    if (Files.isDirectory(root)) {
+      walk(root, "", startAfter, limit, result);
+    }
+    return result;
+  }
+
+  private void walk(
+      Path dir, String prefix, String startAfter, int limit, List<StoredDocument> result)
+      throws IOException {
+    List<Path> children;
+    try (Stream<Path> stream = Files.list(dir)) {
+      children = stream.sorted(Comparator.comparing(p -> p.getFileName().toString())).toList();
+    }
+
+    for (Path child : children) {
+      if (result.size() >= limit) {
+        return;
+      }
+      String name = child.getFileName().toString();
+      String path = prefix.isEmpty() ? name : prefix + "/" + name;
+
+      if (Files.isDirectory(child)) {
+        boolean containsCheckpoint = startAfter != null && startAfter.startsWith(path + "/");
+        if (startAfter != null
+            && !containsCheckpoint
+            && DocumentPaths.compareSegments(path, startAfter) < 0) {
+          continue;
+        }
+        walk(child, path, containsCheckpoint ? startAfter : null, limit, result);
+      } else if (startAfter == null || DocumentPaths.compareSegments(path, startAfter) > 0) {
+        result.add(new StoredDocument(path, Files.getLastModifiedTime(child).toInstant()));
+      }
+    }
+  }
+
+  /** Resolve path logis ke path fisik dan pastikan tetap di dalam root upload. */
+  Path resolve(String path) {
+    Path resolved = root.resolve(path).normalize();
+    if (!resolved.startsWith(root)) {
+      throw new IllegalArgumentException("Path di luar direktori upload: " + path);
+    }
+    return resolved;
+  }
+}
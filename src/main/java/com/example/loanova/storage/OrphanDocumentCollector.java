@@ -0,0 +1,156 @@
+package com.example.loanova.storage;
+
+import com.example.loanova.cache.CacheLoadSupport;
+import com.example.loanova.repository.LoanApplicationRepository;
+import com.example.loanova.repository.UploadSessionRepository;
+import com.example.loanova.repository.UserProfileRepository;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * ORPHAN DOCUMENT COLLECTOR - Garbage collector file upload yang tidak lagi direferensikan
+ * database.
+ *
+ * <p>File orphan muncul saat foto profil diganti, saat submit pinjaman gagal setelah file
+ * tersimpan, atau saat transaksi rollback setelah snapshot disalin. Job ini menelusuri storage
+ * secara inkremental (per halaman), mencocokkan path ke kolom dokumen {@code users_profiles} dan
+ * {@code loan_applications} dengan set lookup per batch, lalu menghapus file yang tidak
+ * direferensikan dan lebih tua dari grace period. File milik sesi upload COMPLETED yang belum
+ * dipakai pengajuan juga dianggap direferensikan, karena umur sesi bisa melebihi grace period.
+ *
+ * <p>Aktif hanya jika {@code file.gc.enabled=true}. Setiap run dibatasi jumlah file dan laju
+ * penghapusan; posisi terakhir disimpan di Redis sehingga run berikutnya melanjutkan dari sana.
+ * Lock Redis memastikan hanya satu instance yang berjalan.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.gc.enabled", havingValue = "true")
+public class OrphanDocumentCollector {
+
+  public static final String CHECKPOINT_KEY = "document_gc:checkpoint";
+  public static final String LOCK_KEY = "document_gc:lock";
+
+  /** Kategori yang dikelola GC; direktori lain di root upload tidak disentuh. */
+  private static final Set<String> MANAGED_SUB_DIRS =
+      Set.of("ktp", "profiles", "npwp", "loan-documents", "loan-snapshots");
+
+  private final UserProfileRepository userProfileRepository;
+  private final LoanApplicationRepository loanApplicationRepository;
+  private final UploadSessionRepository uploadSessionRepository;
+  private final DocumentStorage documentStorage;
+  private final StringRedisTemplate redisTemplate;
+  private final Duration gracePeriod;
+  private final int batchSize;
+  private final int maxFilesPerRun;
+  private final int deletesPerSecond;
+
+  public OrphanDocumentCollector(
+      UserProfileRepository userProfileRepository,
+      LoanApplicationRepository loanApplicationRepository,
+      UploadSessionRepository uploadSessionRepository,
+      DocumentStorage documentStorage,
+      StringRedisTemplate redisTemplate,
+      @Value("${file.gc.grace-period:PT24H}") Duration gracePeriod,
+      // SQL Server membatasi 2100 parameter per query; query lookup memakai list 3-4 kali
+      @Value("${file.gc.batch-size:400}") int batchSize,
+      @Value("${file.gc.max-files-per-run:100000}") int maxFilesPerRun,
+      @Value("${file.gc.deletes-per-second:50}") int deletesPerSecond) {
+    this.userProfileRepository = userProfileRepository;
+    this.loanApplicationRepository = loanApplicationRepository;
+    this.uploadSessionRepository = uploadSessionRepository;
+    this.documentStorage = documentStorage;
+    this.redisTemplate = redisTemplate;
+    this.gracePeriod = gracePeriod;
+    this.batchSize = batchSize;
+    this.maxFilesPerRun = maxFilesPerRun;
+    this.deletesPerSecond = deletesPerSecond;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${file.gc.interval:PT1H}",
+      initialDelayString = "${file.gc.initial-delay:PT10M}")
+  public void collect() {
+    String owner = UUID.randomUUID().toString();
+    Boolean acquired =
+        redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, Duration.ofHours(2));
+    if (!Boolean.TRUE.equals(acquired)) {
+      log.debug("GC dokumen sedang berjalan di instance lain, skip");
+      return;
+    }
+
+    try {
+      runOnce();
+    } catch (IOException e) {
+      log.error("GC dokumen berhenti: {}", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      CacheLoadSupport.releaseLock(redisTemplate, LOCK_KEY, owner);
+    }
+  }
+
+  private void runOnce() throws IOException, InterruptedException {
+    String checkpoint = redisTemplate.opsForValue().get(CHECKPOINT_KEY);
+    Instant cutoff = Instant.now().minus(gracePeriod);
+    long pauseMillis = deletesPerSecond > 0 ? 1000L / deletesPerSecond : 0;
+    int scanned = 0;
+    int deleted = 0;
+
+    log.info("GC dokumen dimulai dari checkpoint: {}", checkpoint == null ? "<awal>" : checkpoint);
+
+    while (scanned < maxFilesPerRun) {
+      List<StoredDocument> page = documentStorage.listAfter(checkpoint, batchSize);
+      if (page.isEmpty()) {
+        // Satu putaran penuh selesai, run berikutnya mulai dari awal lagi
+        redisTemplate.delete(CHECKPOINT_KEY);
+        log.info("GC dokumen menyelesaikan satu putaran penuh");
+        break;
+      }
+
+      List<String> candidates =
+          page.stream()
+              .filter(doc -> MANAGED_SUB_DIRS.contains(DocumentPaths.subDir(doc.path())))
+              .filter(doc -> doc.lastModified().isBefore(cutoff))
+              .map(StoredDocument::path)
+              .toList();
+
+      if (!candidates.isEmpty()) {
+        // File turunan (thumbnail) hidup selama file aslinya masih direferensikan
+        Set<String> lookup =
+            candidates.stream().map(DocumentPaths::originalOf).collect(Collectors.toSet());
+        Set<String> referenced = new HashSet<>();
+        referenced.addAll(userProfileRepository.findReferencedDocumentPaths(lookup));
+        referenced.addAll(loanApplicationRepository.findReferencedDocumentPaths(lookup));
+        referenced.addAll(uploadSessionRepository.findActiveStoragePaths(lookup));
+
+        for (String path : candidates) {
+          if (!referenced.contains(DocumentPaths.originalOf(path))
+              && documentStorage.deleteFile(path)) {
+            deleted++;
+            if (pauseMillis > 0) {
+              Thread.sleep(pauseMillis);
+            }
+          }
+        }
+      }
+
+      scanned += page.size();
+      checkpoint = page.get(page.size() - 1).path();
+      redisTemplate.opsForValue().set(CHECKPOINT_KEY, checkpoint);
+    }
+
+    log.info("GC dokumen selesai: {} file diperiksa, {} file orphan dihapus", scanned, deleted);
+  }
+}
@@ -0,0 +1,191 @@
+package com.example.loanova.storage;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * S3 DOCUMENT STORAGE - Implementasi DocumentStorage untuk object storage S3-compatible (AWS S3,
+ * MinIO). Aktif jika {@code file.storage.type=s3}.
+ *
+ * <p>Key object memakai layout sharded yang sama dengan storage lokal sehingga path logis di
+ * database tidak berubah saat pindah backend. Untuk development lokal gunakan MinIO dari
+ * docker-compose dengan {@code file.storage.s3.endpoint=http://localhost:9000} dan
+ * {@code file.storage.s3.path-style=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+public class S3DocumentStorage implements DocumentStorage {
+
+  private final S3Client s3Client;
+  private final String bucket;
+
+  public S3DocumentStorage(
+      @Value("${file.storage.s3.bucket}") String bucket,
+      @Value("${file.storage.s3.region:us-east-1}") String region,
+      @Value("${file.storage.s3.endpoint:}") String endpoint,
+      @Value("${file.storage.s3.path-style:false}") boolean pathStyle,
+      @Value("${file.storage.s3.access-key:}") String accessKey,
+      @Value("${file.storage.s3.secret-key:}") String secretKey) {
+    S3ClientBuilder builder =
+        S3Client.builder().region(Region.of(region)).forcePathStyle(pathStyle);
+    if (!endpoint.isBlank()) {
+      builder.endpointOverride(URI.create(endpoint));
+    }
+    if (!accessKey.isBlank()) {
+      builder.credentialsProvider(
+          StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+    }
+    this.s3Client = builder.build();
+    this.bucket = bucket;
+  }
+
+  @Override
+  public void write(InputStream content, long contentLength, String path) throws IOException {
+    try {
+      RequestBody body =
+          contentLength >= 0
+              ? RequestBody.fromInputStream(content, contentLength)
+              : RequestBody.fromBytes(content.readAllBytes());
+      s3Client.putObject(req -> req.bucket(bucket).key(path), body);
+    } catch (SdkException e) {
+      throw new IOException("Gagal upload ke object storage: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String copy(String sourcePath, String subDir, String namePrefix) throws IOException {
+    if (sourcePath == null || sourcePath.isEmpty() || !exists(sourcePath)) {
+      return null;
+    }
+
+    String fileName = DocumentPaths.randomFileName(namePrefix, sourcePath);
+    String path = DocumentPaths.sharded(subDir, fileName);
+    try {
+      // Server-side copy, konten tidak lewat aplikasi
+      s3Client.copyObject(
+          req ->
+              req.sourceBucket(bucket)
+                  .sourceKey(sourcePath)
+                  .destinationBucket(bucket)
+                  .destinationKey(path));
+      return path;
+    } catch (SdkException e) {
+      throw new IOException("Gagal menyalin object " + sourcePath + ": " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public InputStream open(String path) throws IOException {
+    try {
+      return s3Client.getObject(req -> req.bucket(bucket).key(path));
+    } catch (NoSuchKeyException e) {
+      throw new NoSuchFileException(path);
+    } catch (SdkException e) {
+      throw new IOException("Gagal membaca object " + path + ": " + e.getMessage(), e);
+    }
+  }
+
+  /** Range GET sehingga hanya entry yang diminta yang diunduh dari pack. */
+  @Override
+  public byte[] readRange(String path, long offset, int length) throws IOException {
+    try {
+      byte[] data =
+          s3Client
+              .getObjectAsBytes(
+                  req ->
+                      req.bucket(bucket)
+                          .key(path)
+                          .range("bytes=" + offset + "-" + (offset + length - 1)))
+              .asByteArray();
+      if (data.length != length) {
+        throw new IOException("Object terpotong: " + path);
+      }
+      return data;
+    } catch (NoSuchKeyException e) {
+      throw new NoSuchFileException(path);
+    } catch (SdkException e) {
+      throw new IOException("Gagal membaca object " + path + ": " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public boolean exists(String path) {
+    if (!DocumentPaths.isSafe(path)) {
+      return false;
+    }
+    try {
+      s3Client.headObject(req -> req.bucket(bucket).key(path));
+      return true;
+    } catch (NoSuchKeyException e) {
+      return false;
+    } catch (S3Exception e) {
+      if (e.statusCode() == 404) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean deleteFile(String path) {
+    if (path == null || path.trim().isEmpty()) {
+      return false;
+    }
+
+    try {
+      if (!exists(path)) {
+        return false;
+      }
+      s3Client.deleteObject(req -> req.bucket(bucket).key(path));
+      return true;
+    } catch (SdkException e) {
+      // Log error tapi tidak throw exception
+      log.warn("Gagal menghapus object: {} - {}", path, e.getMessage());
+      return false;
+    }
+  }
+
+  /** Listing memakai urutan key native S3 (UTF-8 binary) dengan parameter startAfter. */
+  @Override
+  public List<StoredDocument> listAfter(String startAfter, int limit) throws IOException {
+    try {
+      ListObjectsV2Response response =
+          s3Client.listObjectsV2(
+              req -> {
+                req.bucket(bucket).maxKeys(limit);
+                if (startAfter != null) {
+                  req.startAfter(startAfter);
+                }
+              });
+      return response.contents().stream()
+          .map(object -> new StoredDocument(object.key(), object.lastModified()))
+          .toList();
+    } catch (SdkException e) {
+      throw new IOException("Gagal listing object storage: " + e.getMessage(), e);
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    s3Client.close();
+  }
+}
@@ -0,0 +1,6 @@
+package com.example.loanova.storage;
+
+import java.time.Instant;
+
+/** STORED DOCUMENT - Entry hasil listing DocumentStorage (path logis + waktu modifikasi). */
+public record StoredDocument(String path, Instant lastModified) {}
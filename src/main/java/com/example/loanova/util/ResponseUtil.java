@@ -1,9 +1,12 @@
 package com.example.loanova.util;
 
 import com.example.loanova.base.ApiResponse;
+import com.example.loanova.cache.CatalogVersions.CatalogVersion;
 import java.time.Instant;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 public class ResponseUtil {
 
@@ -23,6 +26,29 @@ public class ResponseUtil {
     return ResponseEntity.ok(body);
   }
 
+  // Untuk data catalog yang memakai ETag: client wajib revalidasi sebelum memakai salinannya
+  public static <T> ResponseEntity<ApiResponse<T>> ok(
+      T data, String message, CacheControl cacheControl) {
+    ApiResponse<T> body =
+        ApiResponse.<T>builder()
+            .success(true)
+            .message(message)
+            .data(data)
+            .code(HttpStatus.OK.value())
+            .timestamp(Instant.now())
+            .build();
+    return ResponseEntity.ok().cacheControl(cacheControl).body(body);
+  }
+
+  /**
+   * Conditional GET berdasarkan versi catalog. Jika true, status 304 sudah di-set dan controller
+   * cukup return null tanpa memanggil service. Selain itu header ETag dan Last-Modified ikut
+   * dikirim bersama response 200.
+   */
+  public static boolean notModified(WebRequest request, CatalogVersion version) {
+    return version != null && request.checkNotModified(version.etag(), version.lastModified());
+  }
+
   // Untuk Autentikasi dan Authorisasi
   public static <T> ResponseEntity<ApiResponse<T>> success(
       T data, String message, HttpStatus status) {
@@ -0,0 +1,162 @@
+package com.example.loanova.cache;
+
+import com.example.loanova.config.RedisConfig;
+import com.example.loanova.dto.response.PlafondResponse;
+import com.example.loanova.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * CACHE SERIALIZATION BENCHMARK - Membandingkan encoding value cache lama (JSON + @class, default
+ * typing) dengan serializer typed (JSON/CBOR/SMILE, opsional LZ4) untuk list PlafondResponse dan
+ * UserResponse.
+ *
+ * <p>Jalankan: {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark=CacheSerializationBenchmark}. Ukuran payload selalu dicetak saat setup; tambahkan
+ * {@code -Dbenchmark.redis=redis://localhost:6379} (lewat MAVEN_OPTS atau argumen JMH {@code
+ * -jvmArgs}) untuk juga mengukur {@code MEMORY USAGE} di Redis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializationBenchmark {
+
+  @Param({"legacy", "json", "cbor", "smile", "smile-lz4"})
+  public String encoding;
+
+  @Param({"10", "200"})
+  public int size;
+
+  private RedisSerializer<Object> plafondSerializer;
+  private RedisSerializer<Object> userSerializer;
+  private List<PlafondResponse> plafonds;
+  private List<UserResponse> users;
+  private byte[] plafondBytes;
+  private byte[] userBytes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    plafonds = new ArrayList<>();
+    users = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      plafonds.add(
+          PlafondResponse.builder()
+              .id((long) i)
+              .name("PLAFOND_" + i)
+              .description("Paket plafond pinjaman nomor " + i + " untuk nasabah reguler")
+              .maxAmount(new BigDecimal("50000000.00"))
+              .interestRate(new BigDecimal("1.25"))
+              .tenorMin(3)
+              .tenorMax(36)
+              .build());
+      users.add(
+          UserResponse.builder()
+              .id((long) i)
+              .username("customer" + i)
+              .email("customer" + i + "@loanova.test")
+              .branchCode("BR" + (i % 20))
+              .isActive(true)
+              .roles(Set.of("CUSTOMER"))
+              .build());
+    }
+
+    plafondSerializer = serializer(PlafondResponse.class);
+    userSerializer = serializer(UserResponse.class);
+    plafondBytes = plafondSerializer.serialize(plafonds);
+    userBytes = userSerializer.serialize(users);
+
+    System.out.printf(
+        "%n[%s, size=%d] payload plafonds=%d bytes, users=%d bytes%s%n",
+        encoding, size, plafondBytes.length, userBytes.length, redisMemoryUsage());
+  }
+
+  @Benchmark
+  public byte[] serializePlafonds() {
+    return plafondSerializer.serialize(plafonds);
+  }
+
+  @Benchmark
+  public Object deserializePlafonds() {
+    return plafondSerializer.deserialize(plafondBytes);
+  }
+
+  @Benchmark
+  public byte[] serializeUsers() {
+    return userSerializer.serialize(users);
+  }
+
+  @Benchmark
+  public Object deserializeUsers() {
+    return userSerializer.deserialize(userBytes);
+  }
+
+  @SuppressWarnings("unchecked")
+  private RedisSerializer<Object> serializer(Class<?> elementType) {
+    if (encoding.equals("legacy")) {
+      return (RedisSerializer<Object>)
+          (RedisSerializer<?>)
+              RedisConfig.legacyValueSerializer();
+    }
+
+    boolean lz4 = encoding.endsWith("-lz4");
+    CacheValueCodec codec =
+        CacheValueCodec.valueOf(encoding.replace("-lz4", "").toUpperCase());
+    ObjectMapper mapper = codec.objectMapper();
+    return new TypedRedisSerializer<>(
+        mapper,
+        mapper.getTypeFactory().constructCollectionType(List.class, elementType),
+        lz4 ? 256 : -1);
+  }
+
+  /** Ukur MEMORY USAGE di Redis jika -Dbenchmark.redis diset, selain itu string kosong. */
+  private String redisMemoryUsage() {
+    String uri = System.getProperty("benchmark.redis");
+    if (uri == null) {
+      return "";
+    }
+
+    RedisClient client = RedisClient.create(uri);
+    try (StatefulRedisConnection<byte[], byte[]> connection =
+        client.connect(ByteArrayCodec.INSTANCE)) {
+      byte[] plafondKey = key("plafonds");
+      byte[] userKey = key("users");
+      connection.sync().set(plafondKey, plafondBytes);
+      connection.sync().set(userKey, userBytes);
+      Long plafondMemory = connection.sync().memoryUsage(plafondKey);
+      Long userMemory = connection.sync().memoryUsage(userKey);
+      connection.sync().del(plafondKey, userKey);
+      return String.format(
+          ", redis MEMORY USAGE plafonds=%d bytes, users=%d bytes", plafondMemory, userMemory);
+    } finally {
+      client.shutdown();
+    }
+  }
+
+  private byte[] key(String name) {
+    return ("benchmark:" + encoding + ":" + size + ":" + name).getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.loanova.controller;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.loanova.exception.GlobalExceptionHandler;
+import com.example.loanova.repository.ArchivedDocumentRepository;
+import com.example.loanova.storage.DocumentArchive;
+import com.example.loanova.storage.DocumentStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class DocumentControllerTest {
+
+  private DocumentStorage documentStorage;
+  private ArchivedDocumentRepository archivedDocumentRepository;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    documentStorage = mock(DocumentStorage.class);
+    archivedDocumentRepository = mock(ArchivedDocumentRepository.class);
+    DocumentController controller =
+        new DocumentController(
+            documentStorage, mock(DocumentArchive.class), archivedDocumentRepository);
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+  }
+
+  @Test
+  void archivePackIsNotServed() throws Exception {
+    // Pack ada di storage, tetap tidak boleh bisa diunduh lewat URL publik
+    when(documentStorage.exists(anyString())).thenReturn(true);
+
+    mockMvc
+        .perform(get("/uploads/archive/pack-20260101020000-1a2b3c4d.pack"))
+        .andExpect(status().isNotFound());
+    mockMvc
+        .perform(get("/uploads/archive/pack-20260101020000-1a2b3c4d.pack").param("size", "thumb"))
+        .andExpect(status().isNotFound());
+
+    verifyNoInteractions(documentStorage, archivedDocumentRepository);
+  }
+}